@@ -0,0 +1,85 @@
+package com.example.app.benchmark;
+
+import com.example.app.PropertyManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * ベンチマーク用にアプリケーションを起動し、実運用に近い件数のデータを投入します。
+ * 通常の起動と同じschema.sql／data.sqlに加えて、物件・入居者・契約・ユーザーを一括で追加します。
+ */
+final class BenchmarkContext {
+
+    static final int PROPERTIES = 20_000;
+    static final int TENANTS = 20_000;
+    static final int USERS = 10_000;
+
+    /** 契約履歴の長い物件に追加する契約の件数 */
+    static final int LONG_HISTORY_LEASES = 100;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PropertyManagementApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:jmh;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "app.mybatis.slow-statement-threshold=1h",
+                "logging.level.root=WARN")
+            .run();
+        seed(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class).encode("password"));
+        return context;
+    }
+
+    /**
+     * 物件ごとに終了済みの契約を2件ずつ、偶数IDの物件には有効な契約を1件追加します。
+     * ユーザーはすべて同じパスワードのハッシュを持ちます。
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, String passwordHash) {
+        jdbcTemplate.update("INSERT INTO properties (name, address, area, rooms) "
+            + "SELECT 'ベンチ物件 ' || x, '東京都千代田区' || x, '30.0', '1LDK' FROM SYSTEM_RANGE(1, ?)", PROPERTIES);
+        jdbcTemplate.update("INSERT INTO tenants (full_name, phone, email) "
+            + "SELECT 'ベンチ 入居者' || x, '090-0000-0000', 'tenant' || x || '@example.com' FROM SYSTEM_RANGE(1, ?)",
+            TENANTS);
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status) "
+            + "SELECT p.id, MOD(p.id + r.x, ?) + 1, 80000, DATEADD('YEAR', -2 * r.x, CURRENT_DATE), "
+            + "DATEADD('YEAR', 1 - 2 * r.x, CURRENT_DATE), 'ENDED' "
+            + "FROM properties p CROSS JOIN SYSTEM_RANGE(1, 2) r", TENANTS);
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, status) "
+            + "SELECT p.id, MOD(p.id, ?) + 1, 90000, CURRENT_DATE, 'ACTIVE' FROM properties p "
+            + "WHERE MOD(p.id, 2) = 0 AND NOT EXISTS ("
+            + "SELECT 1 FROM leases l WHERE l.property_id = p.id AND l.status = 'ACTIVE')", TENANTS);
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status) "
+            + "SELECT ?, MOD(x, ?) + 1, 70000, DATEADD('MONTH', -x - 1, CURRENT_DATE), "
+            + "DATEADD('MONTH', -x, CURRENT_DATE), 'ENDED' FROM SYSTEM_RANGE(1, ?)",
+            longHistoryPropertyId(jdbcTemplate), TENANTS, LONG_HISTORY_LEASES);
+        jdbcTemplate.update("INSERT INTO users (username, password, email) "
+            + "SELECT 'user' || x, ?, 'user' || x || '@example.com' FROM SYSTEM_RANGE(1, ?)", passwordHash, USERS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * 契約履歴の長い物件のIDを返します。
+     */
+    static long longHistoryPropertyId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM properties", Long.class);
+    }
+
+    /**
+     * 有効な契約のない物件のIDを返します。
+     */
+    static long vacantPropertyId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM properties p WHERE NOT EXISTS ("
+            + "SELECT 1 FROM leases l WHERE l.property_id = p.id AND l.status = 'ACTIVE')", Long.class);
+    }
+
+    /**
+     * 有効な契約のある物件のIDを返します。
+     */
+    static long occupiedPropertyId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT MAX(property_id) FROM leases WHERE status = 'ACTIVE'", Long.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.app.benchmark;
+
+import com.example.app.model.Lease;
+import com.example.app.service.LeaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 賃貸契約の登録・更新・削除と有効な契約の確認のベンチマーク。
+ * 登録・更新・削除はトランザクションをロールバックするため、計測中にデータは変わりません。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LeaseServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private LeaseService leaseService;
+    private TransactionTemplate transactionTemplate;
+    private long vacantPropertyId;
+    private long occupiedPropertyId;
+    private Lease activeLease;
+    private Lease endedLease;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        leaseService = context.getBean(LeaseService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        vacantPropertyId = BenchmarkContext.vacantPropertyId(jdbcTemplate);
+        occupiedPropertyId = BenchmarkContext.occupiedPropertyId(jdbcTemplate);
+        activeLease = leaseService.getLeaseById(jdbcTemplate.queryForObject(
+            "SELECT id FROM leases WHERE property_id = ? AND status = 'ACTIVE'", Long.class, occupiedPropertyId));
+        endedLease = leaseService.getLeaseById(jdbcTemplate.queryForObject(
+            "SELECT MAX(id) FROM leases WHERE property_id = ? AND status = 'ENDED'", Long.class, occupiedPropertyId));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 有効な契約のない物件への登録（行ロック、validateLease、INSERT）。
+     */
+    @Benchmark
+    public Lease createLease() {
+        return transactionTemplate.execute(status -> {
+            Lease lease = activeLease(vacantPropertyId);
+            leaseService.createLease(lease);
+            status.setRollbackOnly();
+            return lease;
+        });
+    }
+
+    /**
+     * 有効な契約がある物件への登録（validateLeaseで拒否）。
+     */
+    @Benchmark
+    public Object createLeaseRejected() {
+        try {
+            leaseService.createLease(activeLease(occupiedPropertyId));
+        } catch (IllegalStateException e) {
+            return e;
+        }
+        throw new AssertionError("lease should have been rejected");
+    }
+
+    /**
+     * 有効な契約の賃料の変更（有効な契約の重複確認を伴う更新）。
+     */
+    @Benchmark
+    public Lease updateActiveLease() {
+        return update(activeLease);
+    }
+
+    /**
+     * 終了済みの契約の賃料の変更。
+     */
+    @Benchmark
+    public Lease updateEndedLease() {
+        return update(endedLease);
+    }
+
+    /**
+     * 終了済みの契約の削除。
+     */
+    @Benchmark
+    public Long deleteLease() {
+        return transactionTemplate.execute(status -> {
+            leaseService.deleteLease(endedLease.getId());
+            status.setRollbackOnly();
+            return endedLease.getId();
+        });
+    }
+
+    @Benchmark
+    public boolean hasActiveLeases() {
+        return leaseService.hasActiveLeases(occupiedPropertyId);
+    }
+
+    private Lease update(Lease source) {
+        return transactionTemplate.execute(status -> {
+            Lease lease = copyOf(source);
+            lease.setRent(source.getRent() + 1000);
+            leaseService.updateLease(lease);
+            status.setRollbackOnly();
+            return lease;
+        });
+    }
+
+    private static Lease copyOf(Lease source) {
+        Lease lease = new Lease();
+        lease.setId(source.getId());
+        lease.setPropertyId(source.getPropertyId());
+        lease.setTenantId(source.getTenantId());
+        lease.setRent(source.getRent());
+        lease.setStartDate(source.getStartDate());
+        lease.setEndDate(source.getEndDate());
+        lease.setStatus(source.getStatus());
+        lease.setVersion(source.getVersion());
+        return lease;
+    }
+
+    private static Lease activeLease(long propertyId) {
+        Lease lease = new Lease();
+        lease.setPropertyId(propertyId);
+        lease.setTenantId(1L);
+        lease.setRent(100000);
+        lease.setStartDate(LocalDate.now());
+        lease.setStatus("ACTIVE");
+        return lease;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.app.benchmark;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.model.Lease;
+import com.example.app.model.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * マッパーの問い合わせと結果のマッピングのベンチマーク。
+ * findByPropertyIdは物件・入居者のassociationを含む契約の組み立てを、
+ * 契約履歴の短い物件と長い物件で計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private PropertyMapper propertyMapper;
+    private LeaseMapper leaseMapper;
+    private long shortHistoryPropertyId;
+    private long longHistoryPropertyId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        propertyMapper = context.getBean(PropertyMapper.class);
+        leaseMapper = context.getBean(LeaseMapper.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        shortHistoryPropertyId = BenchmarkContext.occupiedPropertyId(jdbcTemplate);
+        longHistoryPropertyId = BenchmarkContext.longHistoryPropertyId(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Property> findAllProperties() {
+        return propertyMapper.findAll();
+    }
+
+    @Benchmark
+    public List<Lease> findByPropertyIdShortHistory() {
+        return leaseMapper.findByPropertyId(shortHistoryPropertyId);
+    }
+
+    @Benchmark
+    public List<Lease> findByPropertyIdLongHistory() {
+        return leaseMapper.findByPropertyId(longHistoryPropertyId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.app.config;
+
+import com.example.app.util.ConditionalGet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 条件付きGETのETagに含めるアプリケーションの版を設定するコンフィグレーションクラス。
+ *
+ * <p>版はビルド情報（{@code META-INF/build-info.properties} のバージョンとビルド日時）と、
+ * CSS・JSのハッシュ付きURLから算出します。いずれも配備した成果物の内容だけで決まるため、
+ * ロードバランサーの背後の複数のノードでも同じ値になり、他のノードが発行したETagにも304を返せます。
+ */
+@Configuration
+public class ConditionalGetConfig {
+
+    /** ハッシュ付きURLを版に含める静的リソース */
+    private static final List<String> ASSETS = List.of("/css/main.css", "/js/typeahead.js");
+
+    private final ResourceUrlProvider resourceUrlProvider;
+    private final ObjectProvider<BuildProperties> buildProperties;
+
+    public ConditionalGetConfig(ResourceUrlProvider resourceUrlProvider,
+                                ObjectProvider<BuildProperties> buildProperties) {
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.buildProperties = buildProperties;
+    }
+
+    /**
+     * 静的リソースのURLの解決が可能になった起動完了時に、アプリケーションの版を設定します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void setRelease() {
+        List<String> parts = new ArrayList<>();
+        buildProperties.ifAvailable(build -> {
+            parts.add(build.getVersion());
+            parts.add(String.valueOf(build.getTime()));
+        });
+        for (String asset : ASSETS) {
+            parts.add(resourceUrlProvider.getForLookupPath(asset));
+        }
+        ConditionalGet.setRelease(String.join("/", parts));
+    }
+}
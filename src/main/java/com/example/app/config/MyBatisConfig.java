@@ -1,16 +1,31 @@
 package com.example.app.config;
 
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * MyBatisの設定を管理するコンフィグレーションクラス。
- * Mapperのスキャンを行います。
+ * Mapperのスキャンと、ステートメントの実行時間を集計するインターセプターの登録を行います。
  * その他の設定はapplication.propertiesとSpring Bootの自動設定で行われます。
  */
 @Configuration
 @MapperScan("com.example.app.mapper")
 public class MyBatisConfig {
-    // MyBatis Spring Boot Starterが自動設定を行うため、
-    // application.propertiesの設定で十分です。
-}
\ No newline at end of file
+
+    /**
+     * ステートメントの実行時間を集計するインターセプターを登録します。
+     * MyBatis Spring Boot StarterがInterceptorのBeanを自動的にSqlSessionFactoryへ追加します。
+     * 
+     * @param slowThreshold 遅いステートメントとしてログに出力する実行時間の閾値
+     * @return インターセプター
+     */
+    @Bean
+    public StatementTimingInterceptor statementTimingInterceptor(
+            @Value("${app.mybatis.slow-statement-threshold:500ms}") Duration slowThreshold) {
+        return new StatementTimingInterceptor(slowThreshold);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行の設定を管理するコンフィグレーションクラス。
+ * ダッシュボードの集計値の照合など、@Scheduledを付けたメソッドを有効にします。
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,18 +1,39 @@
 package com.example.app.config;
 
+import com.example.app.security.BCryptStrengthCalibrator;
+import com.example.app.security.LoginRateLimitFilter;
+import com.example.app.security.LoginRateLimiter;
+import com.example.app.security.SignedCookieSecurityContextRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Spring Securityの設定を管理するコンフィグレーションクラス。
  * パスワードエンコーダーの設定と基本的なセキュリティ設定を行います。
@@ -22,26 +43,68 @@ import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final UserCache userCache;
+
+    /**
+     * 認証情報の保存先。session（サーバー側のHttpSession）またはcookie（暗号化したCookie）
+     */
+    @Value("${app.security.context-store:session}")
+    private String contextStore;
+
+    /**
+     * BCryptのコスト。0の場合は起動時に測定し、target-hash-time に収まる値を使用します
+     */
+    @Value("${app.security.password.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    /**
+     * 起動時にBCryptのコストを決める際の、1回のハッシュ計算の目標時間
+     */
+    @Value("${app.security.password.target-hash-time:250ms}")
+    private Duration targetHashTime;
 
-    public SecurityConfig(UserDetailsService userDetailsService) {
+    /**
+     * ログイン・ユーザー登録の試行回数を制限するかどうか
+     */
+    @Value("${app.security.login-rate-limit.enabled:true}")
+    private boolean loginRateLimitEnabled;
+
+    public SecurityConfig(UserDetailsService userDetailsService,
+                          UserDetailsPasswordService userDetailsPasswordService,
+                          UserCache userCache) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
+        this.userCache = userCache;
     }
 
     /**
      * パスワードエンコーダーをBeanとして登録します。
-     * BCryptを使用してパスワードをハッシュ化します。
+     * BCryptを使用してパスワードをハッシュ化し、{@code {bcrypt}} の接頭辞を付けて保存します。
      * 
-     * @return BCryptPasswordEncoderのインスタンス
+     * <p>接頭辞のない既存のハッシュもBCryptとして照合します。接頭辞のないハッシュや
+     * 現在より低いコストのハッシュはログイン成功時に計算し直して保存されます（authenticationProviderを参照）。
+     * 
+     * @return DelegatingPasswordEncoderのインスタンス
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+            ? bcryptStrength
+            : BCryptStrengthCalibrator.calibrate(targetHashTime, 10, 16);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return encoder;
     }
 
     /**
      * 認証プロバイダーを設定します。
      * UserDetailsServiceとPasswordEncoderを使用します。
      * 
+     * <p>読み込んだユーザー情報はUserCacheに保持し、同じユーザーのログインでデータベースを参照しません。
+     * 照合に成功したハッシュが現在の方式・コストと異なる場合は、UserDetailsPasswordServiceで保存し直します。
+     * 
      * @return DaoAuthenticationProviderのインスタンス
      */
     @Bean
@@ -49,6 +112,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserCache(userCache);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -64,20 +129,91 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * 認証情報の保存先をBeanとして登録します。
+     * フォームログイン・ログアウト・ユーザー登録後の自動ログインで共通に使用します。
+     * 
+     * <p>app.security.context-store=cookie の場合は、認証情報を暗号化したCookieに保持し、
+     * サーバー側のセッションを使用しません。鍵は app.security.token-cookie.keys に
+     * {@code 鍵ID:Base64の鍵} の並びで指定します（先頭の鍵で発行し、すべての鍵で検証します）。
+     * 
+     * @param keys Cookieの暗号化に使用する鍵
+     * @param timeToLive Cookieの有効期間
+     * @return SecurityContextRepositoryのインスタンス
+     */
+    @Bean
+    public SecurityContextRepository securityContextRepository(
+            @Value("${app.security.token-cookie.keys:}") List<String> keys,
+            @Value("${app.security.token-cookie.time-to-live:8h}") Duration timeToLive) {
+        SecurityContextRepository store = switch (contextStore) {
+            case "session" -> new HttpSessionSecurityContextRepository();
+            case "cookie" -> new SignedCookieSecurityContextRepository(keys, timeToLive);
+            default -> throw new IllegalStateException("Unknown app.security.context-store: " + contextStore);
+        };
+        // 同じリクエスト内のフォワード（エラー画面など）でも認証情報を引き継ぎます
+        return new DelegatingSecurityContextRepository(new RequestAttributeSecurityContextRepository(), store);
+    }
+
+    /**
+     * 静的リソース用のセキュリティフィルターチェーンを設定します。
+     * CSS・JavaScriptは認証不要のため、セッションの参照・作成、CSRFトークンの発行、
+     * リクエストの保存を行わず、セキュリティヘッダーの付与のみを行います。
+     * キャッシュ制御はStaticResourceConfigの設定に任せます。
+     * 
+     * @param http HttpSecurityオブジェクト
+     * @return 設定済みのSecurityFilterChain
+     * @throws Exception 設定中にエラーが発生した場合
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain staticResourceFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/css/**", "/js/**")
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+            .securityContext(context -> context.disable())
+            .sessionManagement(session -> session.disable())
+            .requestCache(cache -> cache.disable())
+            .csrf(csrf -> csrf.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .headers(headers -> headers
+                .cacheControl(cache -> cache.disable())
+                .frameOptions(frame -> frame.deny())
+            );
+
+        return http.build();
+    }
+
     /**
      * セキュリティフィルターチェーンを設定します。
      * フォームベースの認証とCSRF保護を有効にします。
+     * ログイン・ユーザー登録の試行は、パスワードハッシュを計算する前に回数を制限します。
+     * health以外の管理用エンドポイント（/actuator）はROLE_ADMINのユーザーのみ利用できます。
      * 
      * @param http HttpSecurityオブジェクト
+     * @param securityContextRepository 認証情報の保存先
+     * @param loginRateLimiter ログイン・ユーザー登録の試行回数の制限
      * @return 設定済みのSecurityFilterChain
      * @throws Exception 設定中にエラーが発生した場合
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   SecurityContextRepository securityContextRepository,
+                                                   LoginRateLimiter loginRateLimiter) throws Exception {
+        if ("cookie".equals(contextStore)) {
+            // 認証のためにセッションを作成・参照しません（ログイン前のリクエストの保存も行いません）
+            http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        }
+        if (loginRateLimitEnabled) {
+            http.addFilterBefore(new LoginRateLimitFilter(loginRateLimiter), UsernamePasswordAuthenticationFilter.class);
+        }
         http
             .authenticationProvider(authenticationProvider())
+            .securityContext(context -> context
+                .securityContextRepository(securityContextRepository)
+            )
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/login", "/register", "/css/**").permitAll()
+                .requestMatchers("/login", "/register").permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class)).hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -91,7 +227,7 @@ public class SecurityConfig {
                 .logoutUrl("/logout")
                 .logoutSuccessUrl("/login?logout=true")
                 .invalidateHttpSession(true)
-                .deleteCookies("JSESSIONID")
+                .deleteCookies("JSESSIONID", SignedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME)
                 .permitAll()
             )
             .csrf(csrf -> csrf
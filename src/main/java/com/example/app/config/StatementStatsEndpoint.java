@@ -0,0 +1,39 @@
+package com.example.app.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ステートメントごとの実行統計を公開する管理用エンドポイント（{@code /actuator/statements}）。
+ * GETで合計実行時間の長い順の集計表を返し、DELETEで集計をリセットします。
+ */
+@Component
+@Endpoint(id = "statements")
+@RequiredArgsConstructor
+public class StatementStatsEndpoint {
+
+    private final StatementTimingInterceptor statementTimingInterceptor;
+
+    /**
+     * 集計表を返します。
+     * 
+     * @return ステートメントごとの集計結果
+     */
+    @ReadOperation
+    public List<StatementTimingInterceptor.Summary> statements() {
+        return statementTimingInterceptor.snapshot();
+    }
+
+    /**
+     * 集計をリセットします。
+     */
+    @DeleteOperation
+    public void reset() {
+        statementTimingInterceptor.reset();
+    }
+}
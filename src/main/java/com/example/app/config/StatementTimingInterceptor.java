@@ -0,0 +1,237 @@
+package com.example.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * マップされたステートメントごとの実行時間・取得行数・呼び出し回数を集計するMyBatisのインターセプター。
+ * 閾値を超えた遅いステートメントは、バインドされたパラメータとH2のEXPLAINによる実行計画とともにログへ出力します。
+ * パスワードなど名前が {@link #SENSITIVE_PARAMETER} に一致するパラメータの値は伏せて出力します。
+ * 通常の呼び出しでは文字列を組み立てず、カウンターの加算のみを行います。
+ */
+@Slf4j
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})
+})
+public class StatementTimingInterceptor implements Interceptor {
+
+    /** 値をログに出力しないパラメータ名 */
+    static final Pattern SENSITIVE_PARAMETER = Pattern.compile("(?i).*(password|secret|token).*");
+    private static final String MASK = "******";
+
+    private final long slowThresholdNanos;
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowThreshold ログに出力する実行時間の閾値
+     */
+    public StatementTimingInterceptor(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long elapsed = System.nanoTime() - start;
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Stats entry = stats.get(statement.getId());
+        if (entry == null) {
+            entry = stats.computeIfAbsent(statement.getId(), id -> new Stats());
+        }
+        entry.record(elapsed, rowsOf(result));
+
+        if (elapsed >= slowThresholdNanos) {
+            logSlowStatement((Executor) invocation.getTarget(), statement, invocation.getArgs()[1], elapsed);
+        }
+        return result;
+    }
+
+    /**
+     * 集計結果を合計実行時間の長い順に返します。
+     *
+     * @return ステートメントごとの集計結果
+     */
+    public List<Summary> snapshot() {
+        List<Summary> summaries = new ArrayList<>(stats.size());
+        stats.forEach((id, entry) -> summaries.add(entry.summarize(id)));
+        summaries.sort(Comparator.comparingDouble(Summary::totalMillis).reversed());
+        return summaries;
+    }
+
+    /**
+     * 集計結果を破棄します。
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * 取得・更新した行数を返します。
+     * BATCH実行モードの更新は実行前のため行数が分からず、0として扱います。
+     */
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Integer count && count > 0) {
+            return count;
+        }
+        return 0;
+    }
+
+    private void logSlowStatement(Executor executor, MappedStatement statement, Object parameter, long elapsed) {
+        try {
+            BoundSql boundSql = statement.getBoundSql(parameter);
+            log.warn("Slow statement {} took {} ms\n  sql: {}\n  parameters: {}\n  plan: {}",
+                statement.getId(), elapsed / 1_000_000.0, boundSql.getSql().strip().replaceAll("\\s+", " "),
+                parametersOf(statement.getConfiguration(), boundSql, parameter),
+                explain(executor, statement, parameter, boundSql));
+        } catch (RuntimeException e) {
+            log.warn("Slow statement {} took {} ms (details unavailable)", statement.getId(), elapsed / 1_000_000.0, e);
+        }
+    }
+
+    /**
+     * バインドされたパラメータを名前と値の組で返します。
+     * 値の取り出し方はMyBatisのDefaultParameterHandlerと同じです。機密性のあるパラメータの値は伏せます。
+     */
+    private static List<String> parametersOf(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<String> values = new ArrayList<>();
+        MetaObject metaObject = parameter == null ? null : configuration.newMetaObject(parameter);
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String name = mapping.getProperty();
+            if (SENSITIVE_PARAMETER.matcher(name).matches()) {
+                values.add(name + "=" + MASK);
+                continue;
+            }
+            Object value;
+            if (boundSql.hasAdditionalParameter(name)) {
+                value = boundSql.getAdditionalParameter(name);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                value = metaObject.getValue(name);
+            }
+            values.add(name + "=" + value);
+        }
+        return values;
+    }
+
+    /**
+     * 実行したトランザクションと同じ接続でEXPLAINを実行し、実行計画を返します。
+     */
+    private static String explain(Executor executor, MappedStatement statement, Object parameter, BoundSql boundSql) {
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+                new DefaultParameterHandler(statement, parameter, boundSql).setParameters(explain);
+                try (ResultSet plan = explain.executeQuery()) {
+                    StringBuilder text = new StringBuilder();
+                    while (plan.next()) {
+                        text.append(plan.getString(1).strip().replaceAll("\\s+", " "));
+                    }
+                    return text.toString();
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            return "unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    /**
+     * 1つのステートメントの集計値。
+     * 実行時間のヒストグラムはマイクロ秒単位の2のべき乗ごとのバケットで保持します。
+     */
+    private static final class Stats {
+        private static final int BUCKETS = 36;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos, long rowCount) {
+            calls.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            int bucket = 64 - Long.numberOfLeadingZeros(nanos / 1_000);
+            histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+        }
+
+        Summary summarize(String id) {
+            long count = calls.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            double max = maxNanos.get() / 1_000_000.0;
+            return new Summary(id, count, rows.sum(), total, count == 0 ? 0 : total / count, max,
+                percentile(count, 0.50, max), percentile(count, 0.95, max), percentile(count, 0.99, max));
+        }
+
+        /**
+         * ヒストグラムから百分位数を推定します。該当するバケットの上限値（最大値を超えない）を返します。
+         */
+        private double percentile(long count, double percentile, double max) {
+            long rank = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += histogram.get(bucket);
+                if (seen >= rank && seen > 0) {
+                    return Math.min((1L << bucket) / 1_000.0, max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * ステートメントごとの集計結果。時間はすべてミリ秒です。
+     *
+     * @param statement マップされたステートメントのID
+     * @param calls 呼び出し回数
+     * @param rows 取得・更新した行数の合計
+     * @param totalMillis 合計実行時間
+     * @param meanMillis 平均実行時間
+     * @param maxMillis 最大実行時間
+     * @param p50Millis 実行時間の50パーセンタイル（推定値）
+     * @param p95Millis 実行時間の95パーセンタイル（推定値）
+     * @param p99Millis 実行時間の99パーセンタイル（推定値）
+     */
+    public record Summary(String statement, long calls, long rows, double totalMillis, double meanMillis,
+                          double maxMillis, double p50Millis, double p95Millis, double p99Millis) {
+    }
+}
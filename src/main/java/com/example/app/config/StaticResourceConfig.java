@@ -0,0 +1,78 @@
+package com.example.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * CSS・JavaScriptの配信設定を管理するコンフィグレーションクラス。
+ *
+ * <p>テンプレート内の {@code @{/css/main.css}} は内容のハッシュを含むURL
+ * （例: {@code /css/main-1a2b3c....css}）に書き換えられます。内容が変わればURLも変わるため、
+ * ハッシュが内容と一致したURLにはブラウザに1年間の {@code immutable} キャッシュを指示し、再検証のリクエストを発生させません。
+ * ハッシュを含まないURL（{@code /css/main.css} など）は内容が変わってもURLが変わらないため、
+ * 毎回Last-Modifiedで再検証させます。
+ * ビルド時に作成した {@code .br}・{@code .gz} ファイルがあれば、Accept-Encodingに応じてそのまま返します。
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** 配信するディレクトリ（{@code classpath:/static/} 配下） */
+    private static final String[] ASSET_DIRECTORIES = {"css", "js"};
+
+    /**
+     * ハッシュを含むファイル名（{@code 名前-32桁の16進数.拡張子}）。
+     * ハッシュが内容と一致しない場合は {@link VersionResourceResolver} が解決しないため、キャッシュの指示は返しません。
+     */
+    private static final String FINGERPRINTED_FILE = "{file:[\\w.-]+-[0-9a-f]{32}\\.\\w+}";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private final boolean cacheResolution;
+
+    /**
+     * @param cacheResolution リソースの解決結果（ハッシュ値を含む）をキャッシュするかどうか。
+     *                        開発中はCSS・JSの変更を反映するためfalseにします
+     */
+    public StaticResourceConfig(@Value("${spring.web.resources.chain.cache:true}") boolean cacheResolution) {
+        this.cacheResolution = cacheResolution;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : ASSET_DIRECTORIES) {
+            addResourceHandler(registry, "/" + directory + "/" + FINGERPRINTED_FILE, directory, IMMUTABLE);
+            addResourceHandler(registry, "/" + directory + "/**", directory, REVALIDATE);
+        }
+    }
+
+    private void addResourceHandler(ResourceHandlerRegistry registry, String pathPattern, String directory,
+                                    CacheControl cacheControl) {
+        registry.addResourceHandler(pathPattern)
+            .addResourceLocations("classpath:/static/" + directory + "/")
+            .setCacheControl(cacheControl)
+            .resourceChain(cacheResolution)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * テンプレートで生成するURLを、ハッシュを含むURLに書き換えるフィルターを登録します。
+     *
+     * @return ResourceUrlEncodingFilterのインスタンス
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -6,12 +6,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -32,9 +32,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AuthController {
     
     private final UserService userService;
-    private final AuthenticationManager authenticationManager;
-    private final SecurityContextRepository securityContextRepository = 
-        new HttpSessionSecurityContextRepository();
+    private final UserDetailsService userDetailsService;
+    private final SecurityContextRepository securityContextRepository;
     
     /**
      * ログインフォームを表示します。
@@ -72,6 +71,7 @@ public class AuthController {
     /**
      * 新規ユーザー登録処理を行います。
      * 登録成功後、自動的にログインします。
+     * 入力されたパスワードは登録時にハッシュ化したばかりのため、ここでは照合し直さずに認証済みとします。
      * 
      * @param user 登録するユーザー情報
      * @param bindingResult バリデーション結果
@@ -91,19 +91,15 @@ public class AuthController {
         }
         
         try {
-            // パスワードを保存（後で認証に使用）
-            String rawPassword = user.getPassword();
-            
             // ユーザーを登録（パスワードはハッシュ化される）
             userService.register(user);
             
-            // 登録後、自動的にログイン
-            UsernamePasswordAuthenticationToken authRequest = 
-                UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), rawPassword);
-            
-            Authentication authentication = authenticationManager.authenticate(authRequest);
+            // 登録後、自動的にログイン（フォームログインと同じ権限のユーザー情報を使用します）
+            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                userDetails, null, userDetails.getAuthorities());
             
-            // セキュリティコンテキストを作成してセッションに保存
+            // セキュリティコンテキストを作成して保存（保存先はSecurityConfigの設定に従います）
             SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
             securityContext.setAuthentication(authentication);
             SecurityContextHolder.setContext(securityContext);
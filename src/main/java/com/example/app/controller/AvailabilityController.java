@@ -0,0 +1,85 @@
+package com.example.app.controller;
+
+import com.example.app.model.AvailabilityResult;
+import com.example.app.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * 空室検索を担当するコントローラークラス。
+ * 同じURLで、画面（HTML）と、{@code Accept: application/json} を指定した場合のJSONを返します。
+ */
+@Controller
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    /** 返す物件数の既定値 */
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final AvailabilityService availabilityService;
+
+    /**
+     * 空室検索の画面を表示します。
+     *
+     * @param from 期間の開始日（yyyy-MM-dd、既定は当日）
+     * @param to 期間の終了日（yyyy-MM-dd、既定は開始日の1年後の前日）
+     * @param rooms 間取り（空欄の場合は指定なし）
+     * @param area 地域（市区町村。空欄の場合は指定なし）
+     * @param limit 返す物件の最大件数
+     * @param model ビューに渡すモデル
+     * @return 空室検索のビュー名
+     */
+    @GetMapping("/properties/availability")
+    public String search(@RequestParam(required = false) LocalDate from,
+                         @RequestParam(required = false) LocalDate to,
+                         @RequestParam(required = false) String rooms,
+                         @RequestParam(required = false) String area,
+                         @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit,
+                         Model model) {
+        model.addAttribute("result", getResult(from, to, rooms, area, limit));
+        return "properties/availability";
+    }
+
+    /**
+     * 空室検索の結果をJSONで返します。
+     *
+     * @param from 期間の開始日（yyyy-MM-dd、既定は当日）
+     * @param to 期間の終了日（yyyy-MM-dd、既定は開始日の1年後の前日）
+     * @param rooms 間取り（空欄の場合は指定なし）
+     * @param area 地域（市区町村。空欄の場合は指定なし）
+     * @param limit 返す物件の最大件数
+     * @return 検索結果
+     */
+    @GetMapping(value = "/properties/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public AvailabilityResult searchJson(@RequestParam(required = false) LocalDate from,
+                                         @RequestParam(required = false) LocalDate to,
+                                         @RequestParam(required = false) String rooms,
+                                         @RequestParam(required = false) String area,
+                                         @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return getResult(from, to, rooms, area, limit);
+    }
+
+    private AvailabilityResult getResult(LocalDate from, LocalDate to, String rooms, String area, int limit) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusYears(1).minusDays(1);
+        try {
+            return availabilityService.search(start, end, blankToNull(rooms), blankToNull(area), limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.app.controller;
 
+import com.example.app.service.PortfolioService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 /**
@@ -8,15 +11,21 @@ import org.springframework.web.bind.annotation.GetMapping;
  * メインページやダッシュボードの表示を担当します。
  */
 @Controller
+@RequiredArgsConstructor
 public class HomeController {
     
+    private final PortfolioService portfolioService;
+    
     /**
-     * ルートURLにアクセスした際に物件一覧ページにリダイレクトします。
+     * 物件・契約全体の集計値をダッシュボードに表示します。
+     * 集計値は書き込みのたびに更新される集計用の行から取得するため、物件・契約の件数にかかわらず一定時間で表示できます。
      * 
-     * @return 物件一覧ページへのリダイレクト
+     * @param model ビューに渡すモデル
+     * @return ダッシュボードのビュー名
      */
     @GetMapping("/")
-    public String index() {
-        return "redirect:/properties";
+    public String index(Model model) {
+        model.addAttribute("summary", portfolioService.getSummary());
+        return "home/dashboard";
     }
-}
\ No newline at end of file
+}
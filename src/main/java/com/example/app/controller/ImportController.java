@@ -0,0 +1,70 @@
+package com.example.app.controller;
+
+import com.example.app.model.ImportReport;
+import com.example.app.service.ImportEntityType;
+import com.example.app.service.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * CSVファイルからの一括取込を担当するコントローラークラス。
+ * 物件・入居者・賃貸契約のCSVを受け付け、取込結果を画面に表示します。
+ */
+@Controller
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * 一括取込画面を表示します。
+     * 
+     * @param model 画面に渡すモデル
+     * @return 一括取込画面のテンプレート名
+     */
+    @GetMapping
+    public String form(Model model) {
+        model.addAttribute("types", ImportEntityType.values());
+        model.addAttribute("type", ImportEntityType.PROPERTY);
+        return "imports/form";
+    }
+
+    /**
+     * アップロードされたCSVを取り込み、結果を表示します。
+     * 
+     * @param type 取込対象の種類
+     * @param file アップロードされたCSVファイル
+     * @param model 画面に渡すモデル
+     * @return 一括取込画面のテンプレート名
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    @PostMapping
+    public String importCsv(@RequestParam ImportEntityType type,
+                            @RequestParam MultipartFile file,
+                            Model model) throws IOException {
+        model.addAttribute("types", ImportEntityType.values());
+        model.addAttribute("type", type);
+        if (file.isEmpty()) {
+            model.addAttribute("error", "取り込むファイルを選択してください");
+            return "imports/form";
+        }
+        
+        ImportReport report;
+        try (InputStream in = file.getInputStream()) {
+            report = importService.importCsv(type, in);
+        }
+        model.addAttribute("report", report);
+        model.addAttribute("filename", file.getOriginalFilename());
+        return "imports/form";
+    }
+}
@@ -6,6 +6,7 @@ import com.example.app.service.PropertyService;
 import com.example.app.service.TenantService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -92,6 +93,18 @@ public class LeaseController {
                 leaseService.updateLease(lease);
                 redirectAttributes.addFlashAttribute("message", "賃貸契約を更新しました");
             }
+        } catch (OptimisticLockingFailureException e) {
+            Lease latest = leaseService.getLeaseById(lease.getId());
+            if (latest == null) {
+                redirectAttributes.addFlashAttribute("error", "賃貸契約は他の利用者によって削除されました");
+                return "redirect:/properties/" + lease.getPropertyId();
+            }
+            // 入力内容は残し、バージョン番号のみ最新にして再度の保存で上書きできるようにします
+            lease.setVersion(latest.getVersion());
+            bindingResult.reject("conflict",
+                "賃貸契約は他の利用者によって更新されました。内容を確認のうえ、上書きする場合は再度保存してください");
+            setupFormModel(model, lease);
+            return "leases/form";
         } catch (Exception e) {
             bindingResult.reject("error", e.getMessage());
             setupFormModel(model, lease);
@@ -110,28 +123,31 @@ public class LeaseController {
      */
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        Lease lease = leaseService.getLeaseById(id);
-        if (lease == null) {
+        Lease deleted = leaseService.deleteLease(id);
+        if (deleted == null) {
             return "redirect:/properties";
         }
         
-        Long propertyId = lease.getPropertyId();
-        leaseService.deleteLease(id);
         redirectAttributes.addFlashAttribute("message", "賃貸契約を削除しました");
-        return "redirect:/properties/" + propertyId;
+        return "redirect:/properties/" + deleted.getPropertyId();
     }
     
     /**
      * 契約フォームのモデルを設定します。
-     * 物件リスト、入居者リスト、契約ステータスの選択肢を設定します。
+     * 選択済みの物件・入居者の表示名と契約ステータスの選択肢を設定します。
+     * 物件・入居者の候補は入力補完で都度検索するため、一覧は読み込みません。
      * 
      * @param model ビューに渡すモデル
      * @param lease 設定対象の契約情報
      */
     private void setupFormModel(Model model, Lease lease) {
+        if (lease.getProperty() == null && lease.getPropertyId() != null) {
+            lease.setProperty(propertyService.getPropertyById(lease.getPropertyId()));
+        }
+        if (lease.getTenant() == null && lease.getTenantId() != null) {
+            lease.setTenant(tenantService.getTenantById(lease.getTenantId()));
+        }
         model.addAttribute("lease", lease);
-        model.addAttribute("properties", propertyService.getAllProperties());
-        model.addAttribute("tenants", tenantService.getAllTenants());
         model.addAttribute("statusOptions", new String[]{"ACTIVE", "NOTICE", "ENDED"});
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.app.controller;
+
+import com.example.app.model.LeaseExportFilter;
+import com.example.app.service.LeaseExportFormat;
+import com.example.app.service.LeaseExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 賃貸契約データの一括出力を担当するコントローラークラス。
+ * 物件情報と入居者情報を結合した契約データを、CSVまたはNDJSON形式で
+ * HTTPレスポンスへ直接ストリーミングします。
+ */
+@Controller
+@RequestMapping("/leases")
+@RequiredArgsConstructor
+public class LeaseExportController {
+
+    private static final Set<String> STATUSES = Set.of("ACTIVE", "NOTICE", "ENDED");
+
+    private final LeaseExportService leaseExportService;
+
+    /**
+     * 条件に一致する賃貸契約をファイルとして出力します。
+     * 
+     * @param format 出力形式（csv または ndjson）
+     * @param gzip gzip圧縮して出力する場合はtrue
+     * @param filter 絞り込み条件（状態、期間）
+     * @return 契約データをストリーミングするレスポンス
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        LeaseExportFilter filter) {
+        LeaseExportFormat exportFormat = resolveFormat(format);
+        validateFilter(filter);
+        
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                leaseExportService.exportLeases(filter, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                leaseExportService.exportLeases(filter, exportFormat, out);
+            }
+        };
+        
+        String filename = "leases-" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+    
+    private static LeaseExportFormat resolveFormat(String format) {
+        try {
+            return LeaseExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    private static void validateFilter(LeaseExportFilter filter) {
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()
+                && !STATUSES.contains(filter.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported status: " + filter.getStatus());
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.app.controller;
 
+import com.example.app.model.KeysetPage;
+import com.example.app.model.LeaseSummary;
 import com.example.app.model.Property;
 import com.example.app.service.LeaseService;
 import com.example.app.service.PropertyService;
+import com.example.app.util.ConditionalGet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
@@ -24,34 +30,67 @@ public class PropertyController {
     private final PropertyService propertyService;
     private final LeaseService leaseService;
     
+    /** 一覧画面の1ページあたりの表示件数 */
+    private int pageSize;
+    
+    /**
+     * 一覧画面の1ページあたりの表示件数を設定します。
+     * 設定の誤りを最初のリクエストではなく起動時に検出するため、ここで確認します。
+     * 
+     * @param pageSize 1以上の表示件数
+     */
+    @Value("${app.pagination.page-size:20}")
+    void setPageSize(int pageSize) {
+        this.pageSize = KeysetPage.requireValidSize(pageSize);
+    }
+    
     /**
      * 物件一覧を表示します。
+     * ブラウザが保持している一覧から変更がない場合は、一覧を取得せずに304を返します。
      * 
+     * @param cursor 前ページから引き継いだカーソル（オプション）
      * @param model ビューに渡すモデル
-     * @return 物件一覧画面のテンプレート名
+     * @param webRequest 条件付きGETの判定に使用するリクエスト
+     * @return 物件一覧画面のテンプレート名。変更がない場合はnull
      */
     @GetMapping
-    public String list(Model model) {
-        model.addAttribute("properties", propertyService.getAllProperties());
+    public String list(@RequestParam(required = false) String cursor, Model model, ServletWebRequest webRequest) {
+        if (ConditionalGet.checkNotModified(webRequest, propertyService.getListVersion())) {
+            return null;
+        }
+        KeysetPage<Property> page = propertyService.getPropertyPage(cursor, pageSize);
+        model.addAttribute("properties", page.getItems());
+        model.addAttribute("page", page);
         return "properties/list";
     }
     
     /**
      * 物件の詳細情報を表示します。
+     * 物件・契約履歴・契約の入居者に変更がない場合は、それらを取得せずに304を返します。
      * 
      * @param id 表示する物件のID
+     * @param cursor 賃貸履歴の前ページから引き継いだカーソル（オプション）
      * @param model ビューに渡すモデル
-     * @return 物件詳細画面のテンプレート名
+     * @param webRequest 条件付きGETの判定に使用するリクエスト
+     * @return 物件詳細画面のテンプレート名。変更がない場合はnull
      */
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, Model model) {
+    public String detail(@PathVariable Long id,
+                         @RequestParam(required = false) String cursor,
+                         Model model,
+                         ServletWebRequest webRequest) {
+        if (ConditionalGet.checkNotModified(webRequest, propertyService.getDetailVersion(id))) {
+            return null;
+        }
         Property property = propertyService.getPropertyById(id);
         if (property == null) {
             return "redirect:/properties";
         }
         
+        KeysetPage<LeaseSummary> leasePage = leaseService.getLeasePageByPropertyId(id, cursor, pageSize);
         model.addAttribute("property", property);
-        model.addAttribute("leases", leaseService.getLeasesByPropertyId(id));
+        model.addAttribute("leases", leasePage.getItems());
+        model.addAttribute("leasePage", leasePage);
         return "properties/detail";
     }
     
@@ -110,6 +149,8 @@ public class PropertyController {
                 propertyService.updateProperty(property);
                 redirectAttributes.addFlashAttribute("message", "物件情報を更新しました");
             }
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(property, bindingResult, redirectAttributes);
         } catch (Exception e) {
             bindingResult.reject("error", e.getMessage());
             return "properties/form";
@@ -138,4 +179,26 @@ public class PropertyController {
         redirectAttributes.addFlashAttribute("message", "物件を削除しました");
         return "redirect:/properties";
     }
-}
\ No newline at end of file
+    
+    /**
+     * 他の利用者との更新の競合を画面に表示します。
+     * 入力内容は残したままバージョン番号を最新に置き換えるため、
+     * 内容を確認したうえで再度保存すると上書きできます。
+     * 
+     * @param property 保存しようとした物件情報
+     * @param bindingResult バリデーション結果
+     * @param redirectAttributes リダイレクト時に使用する属性
+     * @return 表示するテンプレート名またはリダイレクト先のURL
+     */
+    private String conflict(Property property, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+        Property latest = propertyService.getPropertyById(property.getId());
+        if (latest == null) {
+            redirectAttributes.addFlashAttribute("error", "物件は他の利用者によって削除されました");
+            return "redirect:/properties";
+        }
+        property.setVersion(latest.getVersion());
+        bindingResult.reject("conflict",
+            "物件情報は他の利用者によって更新されました。内容を確認のうえ、上書きする場合は再度保存してください");
+        return "properties/form";
+    }
+}
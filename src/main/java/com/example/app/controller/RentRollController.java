@@ -0,0 +1,86 @@
+package com.example.app.controller;
+
+import com.example.app.model.RentRollReport;
+import com.example.app.service.RentRollDimension;
+import com.example.app.service.RentRollService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 賃料集計（レントロール）を担当するコントローラークラス。
+ * 同じURLで、画面（HTML）と、{@code Accept: application/json} を指定した場合のJSONを返します。
+ */
+@Controller
+@RequiredArgsConstructor
+public class RentRollController {
+
+    private final RentRollService rentRollService;
+
+    /**
+     * 賃料集計の画面を表示します。
+     *
+     * @param from 集計期間の開始月（yyyy-MM、既定は終了月の11か月前）
+     * @param to 集計期間の終了月（yyyy-MM、既定は当月）
+     * @param groupBy 集計軸（area、rooms、month の組み合わせ）
+     * @param model ビューに渡すモデル
+     * @return 賃料集計のビュー名
+     */
+    @GetMapping("/reports/rent-roll")
+    public String report(@RequestParam(required = false) YearMonth from,
+                         @RequestParam(required = false) YearMonth to,
+                         @RequestParam(defaultValue = "month") List<String> groupBy,
+                         Model model) {
+        RentRollReport report = getReport(from, to, groupBy);
+        model.addAttribute("report", report);
+        model.addAttribute("dimensions", RentRollDimension.values());
+        return "reports/rent-roll";
+    }
+
+    /**
+     * 賃料集計の結果をJSONで返します。
+     *
+     * @param from 集計期間の開始月（yyyy-MM、既定は終了月の11か月前）
+     * @param to 集計期間の終了月（yyyy-MM、既定は当月）
+     * @param groupBy 集計軸（area、rooms、month の組み合わせ。空の場合は合計のみ）
+     * @return 集計結果
+     */
+    @GetMapping(value = "/reports/rent-roll", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public RentRollReport reportJson(@RequestParam(required = false) YearMonth from,
+                                     @RequestParam(required = false) YearMonth to,
+                                     @RequestParam(defaultValue = "month") List<String> groupBy) {
+        return getReport(from, to, groupBy);
+    }
+
+    private RentRollReport getReport(YearMonth from, YearMonth to, List<String> groupBy) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        try {
+            return rentRollService.getReport(start, end, resolveDimensions(groupBy));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static Set<RentRollDimension> resolveDimensions(List<String> groupBy) {
+        Set<RentRollDimension> dimensions = EnumSet.noneOf(RentRollDimension.class);
+        for (String value : groupBy) {
+            if (!value.isBlank()) {
+                dimensions.add(RentRollDimension.fromParameter(value.strip()));
+            }
+        }
+        return dimensions;
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.app.controller;
 
+import com.example.app.model.KeysetPage;
+import com.example.app.model.LeaseSummary;
 import com.example.app.model.Tenant;
 import com.example.app.service.LeaseService;
 import com.example.app.service.TenantService;
+import com.example.app.util.ConditionalGet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
@@ -24,15 +30,37 @@ public class TenantController {
     private final TenantService tenantService;
     private final LeaseService leaseService;
     
+    /** 一覧画面の1ページあたりの表示件数 */
+    private int pageSize;
+    
+    /**
+     * 一覧画面の1ページあたりの表示件数を設定します。
+     * 設定の誤りを最初のリクエストではなく起動時に検出するため、ここで確認します。
+     * 
+     * @param pageSize 1以上の表示件数
+     */
+    @Value("${app.pagination.page-size:20}")
+    void setPageSize(int pageSize) {
+        this.pageSize = KeysetPage.requireValidSize(pageSize);
+    }
+    
     /**
      * 入居者一覧を表示します。
+     * ブラウザが保持している一覧から変更がない場合は、一覧を取得せずに304を返します。
      * 
+     * @param cursor 前ページから引き継いだカーソル（オプション）
      * @param model ビューに渡すモデル
-     * @return 入居者一覧画面のテンプレート名
+     * @param webRequest 条件付きGETの判定に使用するリクエスト
+     * @return 入居者一覧画面のテンプレート名。変更がない場合はnull
      */
     @GetMapping
-    public String list(Model model) {
-        model.addAttribute("tenants", tenantService.getAllTenants());
+    public String list(@RequestParam(required = false) String cursor, Model model, ServletWebRequest webRequest) {
+        if (ConditionalGet.checkNotModified(webRequest, tenantService.getListVersion())) {
+            return null;
+        }
+        KeysetPage<Tenant> page = tenantService.getTenantPage(cursor, pageSize);
+        model.addAttribute("tenants", page.getItems());
+        model.addAttribute("page", page);
         return "tenants/list";
     }
     
@@ -53,18 +81,23 @@ public class TenantController {
      * 編集対象の入居者情報と関連する契約情報も合わせて表示します。
      * 
      * @param id 編集する入居者のID
+     * @param cursor 賃貸履歴の前ページから引き継いだカーソル（オプション）
      * @param model ビューに渡すモデル
      * @return 入居者編集フォームのテンプレート名
      */
     @GetMapping("/{id}/edit")
-    public String editForm(@PathVariable Long id, Model model) {
+    public String editForm(@PathVariable Long id,
+                           @RequestParam(required = false) String cursor,
+                           Model model) {
         Tenant tenant = tenantService.getTenantById(id);
         if (tenant == null) {
             return "redirect:/tenants";
         }
         
+        KeysetPage<LeaseSummary> leasePage = leaseService.getLeasePageByTenantId(id, cursor, pageSize);
         model.addAttribute("tenant", tenant);
-        model.addAttribute("leases", leaseService.getLeasesByTenantId(id));
+        model.addAttribute("leases", leasePage.getItems());
+        model.addAttribute("leasePage", leasePage);
         return "tenants/form";
     }
     
@@ -93,6 +126,8 @@ public class TenantController {
                 tenantService.updateTenant(tenant);
                 redirectAttributes.addFlashAttribute("message", "入居者情報を更新しました");
             }
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(tenant, bindingResult, redirectAttributes);
         } catch (Exception e) {
             bindingResult.reject("error", e.getMessage());
             return "tenants/form";
@@ -111,7 +146,7 @@ public class TenantController {
      */
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        if (!leaseService.getLeasesByTenantId(id).isEmpty()) {
+        if (leaseService.hasLeasesByTenantId(id)) {
             redirectAttributes.addFlashAttribute("error", 
                 "賃貸契約が存在するため、入居者を削除できません");
             return "redirect:/tenants";
@@ -121,4 +156,26 @@ public class TenantController {
         redirectAttributes.addFlashAttribute("message", "入居者を削除しました");
         return "redirect:/tenants";
     }
-}
\ No newline at end of file
+    
+    /**
+     * 他の利用者との更新の競合を画面に表示します。
+     * 入力内容は残したままバージョン番号を最新に置き換えるため、
+     * 内容を確認したうえで再度保存すると上書きできます。
+     * 
+     * @param tenant 保存しようとした入居者情報
+     * @param bindingResult バリデーション結果
+     * @param redirectAttributes リダイレクト時に使用する属性
+     * @return 表示するテンプレート名またはリダイレクト先のURL
+     */
+    private String conflict(Tenant tenant, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+        Tenant latest = tenantService.getTenantById(tenant.getId());
+        if (latest == null) {
+            redirectAttributes.addFlashAttribute("error", "入居者は他の利用者によって削除されました");
+            return "redirect:/tenants";
+        }
+        tenant.setVersion(latest.getVersion());
+        bindingResult.reject("conflict",
+            "入居者情報は他の利用者によって更新されました。内容を確認のうえ、上書きする場合は再度保存してください");
+        return "tenants/form";
+    }
+}
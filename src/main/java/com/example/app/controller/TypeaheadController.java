@@ -0,0 +1,53 @@
+package com.example.app.controller;
+
+import com.example.app.model.Suggestion;
+import com.example.app.service.TypeaheadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * 物件・入居者の入力補完を担当するコントローラークラス。
+ * 契約フォームから入力のたびに呼び出され、候補をJSONで返します。
+ */
+@Controller
+@RequiredArgsConstructor
+public class TypeaheadController {
+
+    /** 1回の検索で返す候補の上限 */
+    private static final int MAX_LIMIT = 50;
+
+    private final TypeaheadService typeaheadService;
+
+    /**
+     * 物件名で物件の候補を検索します。
+     * 
+     * @param q 検索語
+     * @param limit 取得する最大件数（上限50件）
+     * @return 候補のリスト
+     */
+    @GetMapping("/properties/search")
+    @ResponseBody
+    public List<Suggestion> searchProperties(@RequestParam(defaultValue = "") String q,
+                                             @RequestParam(defaultValue = "10") int limit) {
+        return typeaheadService.searchProperties(q, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * 氏名で入居者の候補を検索します。
+     * 
+     * @param q 検索語
+     * @param limit 取得する最大件数（上限50件）
+     * @return 候補のリスト
+     */
+    @GetMapping("/tenants/search")
+    @ResponseBody
+    public List<Suggestion> searchTenants(@RequestParam(defaultValue = "") String q,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return typeaheadService.searchTenants(q, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.app.event;
+
+/**
+ * 賃貸契約が登録・更新・削除されたことを通知するイベント。
+ * 更新で物件や入居者が変わった場合は、変更前と変更後のそれぞれについて発行します。
+ *
+ * @param propertyId 契約の物件ID
+ * @param tenantId 契約の入居者ID
+ */
+public record LeaseChangedEvent(Long propertyId, Long tenantId) {
+}
@@ -0,0 +1,12 @@
+package com.example.app.event;
+
+import com.example.app.model.Property;
+
+/**
+ * 物件情報が登録・更新・削除されたことを通知するイベント。
+ *
+ * @param propertyId 物件ID
+ * @param property 変更後の物件情報。削除の場合はnull
+ */
+public record PropertyChangedEvent(Long propertyId, Property property) {
+}
@@ -0,0 +1,12 @@
+package com.example.app.event;
+
+import com.example.app.model.Tenant;
+
+/**
+ * 入居者情報が登録・更新・削除されたことを通知するイベント。
+ *
+ * @param tenantId 入居者ID
+ * @param tenant 変更後の入居者情報。削除の場合はnull
+ */
+public record TenantChangedEvent(Long tenantId, Tenant tenant) {
+}
@@ -1,7 +1,14 @@
 package com.example.app.mapper;
 
 import com.example.app.model.Lease;
+import com.example.app.model.LeaseExportFilter;
+import com.example.app.model.LeaseFact;
+import com.example.app.model.LeaseSummary;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -38,26 +45,119 @@ public interface LeaseMapper {
      */
     List<Lease> findByTenantId(Long tenantId);
 
+    /**
+     * 指定された物件IDの賃貸契約を、開始日とIDの降順でキーセット方式で取得します。
+     * 関連する物件情報と入居者情報も合わせて取得します。
+     * 
+     * @param propertyId 物件ID
+     * @param afterStartDate 直前のページ末尾の開始日。先頭ページの場合はnull
+     * @param afterId 直前のページ末尾の契約ID。先頭ページの場合はnull
+     * @param limit 取得する最大件数
+     * @return 該当する物件の契約リスト
+     */
+    List<LeaseSummary> findPageByPropertyId(@Param("propertyId") Long propertyId,
+                                     @Param("afterStartDate") LocalDate afterStartDate,
+                                     @Param("afterId") Long afterId,
+                                     @Param("limit") int limit);
+
+    /**
+     * 指定された入居者IDの賃貸契約を、開始日とIDの降順でキーセット方式で取得します。
+     * 関連する物件情報と入居者情報も合わせて取得します。
+     * 
+     * @param tenantId 入居者ID
+     * @param afterStartDate 直前のページ末尾の開始日。先頭ページの場合はnull
+     * @param afterId 直前のページ末尾の契約ID。先頭ページの場合はnull
+     * @param limit 取得する最大件数
+     * @return 該当する入居者の契約リスト
+     */
+    List<LeaseSummary> findPageByTenantId(@Param("tenantId") Long tenantId,
+                                   @Param("afterStartDate") LocalDate afterStartDate,
+                                   @Param("afterId") Long afterId,
+                                   @Param("limit") int limit);
+
+    /**
+     * 条件に一致する賃貸契約を、物件情報と入居者情報を結合した状態で1行ずつ読み出します。
+     * 全件をリストに展開しないため、大量データの出力に使用します。
+     * 呼び出し元はトランザクション内でCursorを読み終え、クローズする必要があります。
+     * 
+     * @param filter 絞り込み条件
+     * @return 契約ID順に読み出すCursor
+     */
+    Cursor<Lease> streamWithDetails(LeaseExportFilter filter);
+
+    /**
+     * 賃料集計の対象となる全契約を、物件の所在地・間取りと結合した状態で1行ずつ読み出します。
+     * 呼び出し元はトランザクション内でCursorを読み終え、クローズする必要があります。
+     * 
+     * @return 契約ID順に読み出すCursor
+     */
+    Cursor<LeaseFact> streamFacts();
+
+    /**
+     * 指定された物件の契約を、物件の所在地・間取りと結合した状態で取得します。
+     * 契約の変更を賃料集計に反映するために使用します。
+     * 
+     * @param propertyIds 物件IDのリスト
+     * @return 該当する物件の契約（物件ID・契約ID順）
+     */
+    List<LeaseFact> findFactsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * 指定された物件の契約のうち、期間の重なりを確認する対象の契約の期間を取得します。
+     * 終了日のない終了済みの契約は、期間が分からないため含めません。
+     * 
+     * @param propertyId 物件ID
+     * @return 契約ID・物件ID・開始日・終了日のみを設定した契約（開始日・契約ID順）
+     */
+    List<Lease> findPeriodsByPropertyId(@Param("propertyId") Long propertyId);
+
     /**
      * 新しい賃貸契約情報をデータベースに登録します。
+     * 有効な契約（ACTIVE）の場合は、同じ物件に他の有効な契約が存在しないことを同じ文の条件で確認し、
+     * 存在する場合は登録しません。
      * 
-     * @param lease 登録する契約情報
+     * @param lease 登録する契約情報。登録した場合は採番されたIDが設定されます
+     * @return 登録した行数。物件に他の有効な契約が存在する場合は0
      */
-    void insert(Lease lease);
+    int insert(Lease lease);
 
     /**
-     * 既存の賃貸契約情報をデータベースで更新します。
+     * 既存の賃貸契約情報をデータベースで更新し、更新前の行のキーを返します。
+     * 読み込み時のバージョン番号と一致する場合のみ更新し、バージョン番号を1つ進めます。
+     * 有効な契約（ACTIVE）に更新する場合は、更新先の物件に他の有効な契約が存在しないことも条件とします。
+     * 確認・更新・更新前の値の取得を1回の問い合わせで行います。
      * 
-     * @param lease 更新する契約情報
+     * @param lease 更新する契約情報（読み込み時のバージョン番号を含む）
+     * @return 更新前の契約のID・物件ID・入居者ID・ステータス・バージョン番号。
+     *         削除済み・他の更新が先に行われた・有効な契約が重複する場合はnull
      */
-    void update(Lease lease);
+    Lease updateReturningPrevious(Lease lease);
 
     /**
-     * 指定されたIDの賃貸契約情報をデータベースから削除します。
+     * 指定されたIDの賃貸契約情報をデータベースから削除し、削除した行のキーを返します。
      * 
      * @param id 削除する契約ID
+     * @return 削除した契約のID・物件ID・入居者ID・ステータス・バージョン番号。存在しない場合はnull
      */
-    void delete(Long id);
+    Lease deleteReturningPrevious(@Param("id") Long id);
+
+    /**
+     * 終了日が指定日より前のACTIVE・NOTICEの契約を、終了日の古い順に最大limit件ENDEDに更新します。
+     * 
+     * @param today 基準日。終了日がこの日より前の契約が対象です
+     * @param limit 1回に更新する最大件数
+     * @return 更新前の契約のID・物件ID・入居者ID・賃料・終了日・状態・バージョン番号
+     */
+    List<Lease> endExpiredReturningPrevious(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * 指定されたIDの賃貸契約の現在のバージョン番号を取得します。
+     * 更新できなかった理由（削除済み・更新の競合・有効な契約の重複）の判別に使用します。
+     * 
+     * @param id 契約ID
+     * @return バージョン番号。存在しない場合はnull
+     */
+    Integer findVersionById(@Param("id") Long id);
 
     /**
      * 指定された物件IDの有効な（アクティブな）賃貸契約を取得します。
@@ -67,4 +167,51 @@ public interface LeaseMapper {
      * @return アクティブな契約のリスト
      */
     List<Lease> findActiveLeasesByPropertyId(Long propertyId);
+
+    /**
+     * 指定された物件に有効な（アクティブな）賃貸契約が存在するかを確認します。
+     * 結合や行の読み込みを行わず、インデックスのみで判定します。
+     * 
+     * @param propertyId 物件ID
+     * @param excludeLeaseId 判定から除外する契約ID（更新中の契約自身）。除外しない場合はnull
+     * @return 有効な契約が存在する場合はtrue
+     */
+    boolean existsActiveLeaseByPropertyId(@Param("propertyId") Long propertyId,
+                                          @Param("excludeLeaseId") Long excludeLeaseId);
+
+    /**
+     * 指定された入居者の賃貸契約が1件でも存在するかを確認します。
+     * 
+     * @param tenantId 入居者ID
+     * @return 契約が存在する場合はtrue
+     */
+    boolean existsByTenantId(Long tenantId);
+
+    /**
+     * 指定された物件IDのうち、有効な（アクティブな）賃貸契約が存在する物件IDを取得します。
+     * 一括取込で複数物件の重複チェックを1回の問い合わせで行うために使用されます。
+     * 
+     * @param propertyIds 物件IDのリスト（空でないこと）
+     * @return アクティブな契約が存在する物件IDのリスト
+     */
+    List<Long> findPropertyIdsWithActiveLease(@Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * 物件の行をトランザクション終了までロックします。
+     * 有効な契約の重複チェックと登録の間に、同じ物件への他の登録・更新が割り込まないようにします。
+     * ロックは物件単位のため、別の物件に対する契約の登録は待たされません。
+     * 
+     * @param propertyId 物件ID
+     * @return ロックした物件ID。物件が存在しない場合はnull
+     */
+    Long lockProperty(@Param("propertyId") Long propertyId);
+
+    /**
+     * 複数の物件の行をトランザクション終了までロックします。
+     * デッドロックを避けるため、常に物件IDの昇順でロックします。
+     * 
+     * @param propertyIds 物件IDのリスト（空でないこと）
+     * @return ロックした物件IDのリスト
+     */
+    List<Long> lockProperties(@Param("propertyIds") Collection<Long> propertyIds);
 }
\ No newline at end of file
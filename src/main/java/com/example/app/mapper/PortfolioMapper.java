@@ -0,0 +1,102 @@
+package com.example.app.mapper;
+
+import com.example.app.model.PortfolioSummary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * ダッシュボードの集計値のデータベースアクセスを担当するマッパーインターフェース。
+ * 集計値は1行の集計用の行と、終了月ごとの契約件数の表に保持します。
+ */
+@Mapper
+public interface PortfolioMapper {
+    /**
+     * 集計値と、指定された月に終了日を迎える現在の契約の件数を取得します。
+     *
+     * @param month 対象の月（yyyymm形式）
+     * @return 集計値
+     */
+    PortfolioSummary findSummary(@Param("month") int month);
+
+    /**
+     * 集計用の行をロックして、現在の集計値を取得します。
+     * 集計値を更新するトランザクションはすべてこのロックを取得するため、
+     * ロックの取得後に数えた件数には、先に集計値を更新したトランザクションの変更が含まれます。
+     *
+     * @return 集計値（終了月ごとの件数を除く）
+     */
+    PortfolioSummary lockStats();
+
+    /**
+     * 集計値に増減を加えます。
+     *
+     * @param delta 各集計値の増減
+     */
+    void addToStats(PortfolioSummary delta);
+
+    /**
+     * 集計値を置き換え、照合した日時を記録します。
+     *
+     * @param stats 数え直した集計値
+     */
+    void replaceStats(PortfolioSummary stats);
+
+    /**
+     * 指定された終了月の契約件数に増減を加えます。
+     *
+     * @param endMonth 終了月（yyyymm形式）
+     * @param delta 増減
+     * @return 更新した行数。その月の行がまだない場合は0
+     */
+    int addToExpirations(@Param("endMonth") int endMonth, @Param("delta") long delta);
+
+    /**
+     * 終了月の契約件数の行を追加します。
+     *
+     * @param endMonth 終了月（yyyymm形式）
+     * @param count 契約件数
+     */
+    void insertExpiration(@Param("endMonth") int endMonth, @Param("count") long count);
+
+    /**
+     * 指定された物件の現在の契約の件数を数えます。
+     *
+     * @param propertyId 物件ID
+     * @return 現在の契約の件数
+     */
+    long countCurrentLeasesByPropertyId(@Param("propertyId") Long propertyId);
+
+    /**
+     * 指定された物件のうち、現在の契約がない物件の数を数えます。
+     *
+     * @param propertyIds 物件IDのリスト（空でないこと）
+     * @return 現在の契約がない物件の数
+     */
+    long countPropertiesWithoutCurrentLease(@Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * 物件・契約の全件を数え直して集計値を求めます。
+     *
+     * @return 数え直した集計値（終了月ごとの件数を除く）
+     */
+    PortfolioSummary countStats();
+
+    /**
+     * 保持している終了月ごとの契約件数と、契約の全件を数え直した件数とを比較します。
+     *
+     * @return 件数が一致しない終了月の数
+     */
+    int countExpirationDrift();
+
+    /**
+     * 終了月ごとの契約件数をすべて削除します。
+     */
+    void deleteExpirations();
+
+    /**
+     * 契約の全件を数え直して、終了月ごとの現在の契約の件数を登録します。
+     */
+    void insertCountedExpirations();
+}
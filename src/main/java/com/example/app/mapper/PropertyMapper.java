@@ -1,7 +1,12 @@
 package com.example.app.mapper;
 
+import com.example.app.model.DataVersion;
+import com.example.app.model.OccupancyFact;
 import com.example.app.model.Property;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +22,18 @@ public interface PropertyMapper {
      */
     List<Property> findAll();
 
+    /**
+     * 物件名とIDの順で、指定位置より後ろの物件をキーセット方式で取得します。
+     * 
+     * @param afterName 直前のページ末尾の物件名。先頭ページの場合はnull
+     * @param afterId 直前のページ末尾の物件ID。先頭ページの場合はnull
+     * @param limit 取得する最大件数
+     * @return 物件情報のリスト
+     */
+    List<Property> findPage(@Param("afterName") String afterName,
+                            @Param("afterId") Long afterId,
+                            @Param("limit") int limit);
+
     /**
      * 指定されたIDの物件情報をデータベースから取得します。
      * 
@@ -25,6 +42,23 @@ public interface PropertyMapper {
      */
     Property findById(Long id);
 
+    /**
+     * 物件一覧の版として、物件の件数と最終更新日時を取得します。
+     * どちらもインデックスから直接求めるため、件数に関わらず一定の時間で完了します。
+     * 
+     * @return 物件一覧の版
+     */
+    DataVersion findListVersion();
+
+    /**
+     * 物件詳細画面の版として、物件とその契約、契約の入居者の各行の件数・最終更新日時・バージョン番号の合計を取得します。
+     * 契約の登録・更新・削除や入居者の氏名の変更でも値が変わります。
+     * 
+     * @param id 物件ID
+     * @return 物件詳細画面の版。物件が存在しない場合は件数が0
+     */
+    DataVersion findDetailVersion(@Param("id") Long id);
+
     /**
      * 新しい物件情報をデータベースに登録します。
      * 
@@ -34,15 +68,45 @@ public interface PropertyMapper {
 
     /**
      * 既存の物件情報をデータベースで更新します。
+     * 読み込み時のバージョン番号と一致する場合のみ更新し、バージョン番号を1つ進めます。
      * 
-     * @param property 更新する物件情報
+     * @param property 更新する物件情報（読み込み時のバージョン番号を含む）
+     * @return 更新した行数。他の更新が先に行われた場合や削除済みの場合は0
      */
-    void update(Property property);
+    int update(Property property);
 
     /**
      * 指定されたIDの物件情報をデータベースから削除します。
      * 
      * @param id 削除する物件ID
+     * @return 削除した行数。存在しない場合は0
+     */
+    int delete(Long id);
+
+    /**
+     * 指定されたIDのうち、データベースに存在する物件IDを取得します。
+     * 一括取込で参照先の存在を1回の問い合わせで確認するために使用されます。
+     * 
+     * @param ids 物件IDのリスト（空でないこと）
+     * @return 存在する物件IDのリスト
+     */
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 全物件を、空室検索の対象となる契約の期間と結合した状態で1行ずつ読み出します。
+     * 契約のない物件は契約の期間がnullの1行になります。
+     * 呼び出し元はトランザクション内でCursorを読み終え、クローズする必要があります。
+     * 
+     * @return 物件ID・契約開始日順に読み出すCursor
+     */
+    Cursor<OccupancyFact> streamOccupancy();
+
+    /**
+     * 指定された物件を、空室検索の対象となる契約の期間と結合した状態で取得します。
+     * 契約・物件の変更を空室検索に反映するために使用します。
+     * 
+     * @param ids 物件IDのリスト
+     * @return 該当する物件と契約の期間（物件ID・契約開始日順）
      */
-    void delete(Long id);
+    List<OccupancyFact> findOccupancyByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.example.app.mapper;
 
+import com.example.app.model.DataVersion;
 import com.example.app.model.Tenant;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +20,18 @@ public interface TenantMapper {
      */
     List<Tenant> findAll();
 
+    /**
+     * 氏名とIDの順で、指定位置より後ろの入居者をキーセット方式で取得します。
+     * 
+     * @param afterFullName 直前のページ末尾の氏名。先頭ページの場合はnull
+     * @param afterId 直前のページ末尾の入居者ID。先頭ページの場合はnull
+     * @param limit 取得する最大件数
+     * @return 入居者情報のリスト
+     */
+    List<Tenant> findPage(@Param("afterFullName") String afterFullName,
+                          @Param("afterId") Long afterId,
+                          @Param("limit") int limit);
+
     /**
      * 指定されたIDの入居者情報をデータベースから取得します。
      * 
@@ -25,6 +40,14 @@ public interface TenantMapper {
      */
     Tenant findById(Long id);
 
+    /**
+     * 入居者一覧の版として、入居者の件数と最終更新日時を取得します。
+     * どちらもインデックスから直接求めるため、件数に関わらず一定の時間で完了します。
+     * 
+     * @return 入居者一覧の版
+     */
+    DataVersion findListVersion();
+
     /**
      * 新しい入居者情報をデータベースに登録します。
      * 
@@ -34,10 +57,12 @@ public interface TenantMapper {
 
     /**
      * 既存の入居者情報をデータベースで更新します。
+     * 読み込み時のバージョン番号と一致する場合のみ更新し、バージョン番号を1つ進めます。
      * 
-     * @param tenant 更新する入居者情報
+     * @param tenant 更新する入居者情報（読み込み時のバージョン番号を含む）
+     * @return 更新した行数。他の更新が先に行われた場合や削除済みの場合は0
      */
-    void update(Tenant tenant);
+    int update(Tenant tenant);
 
     /**
      * 指定されたIDの入居者情報をデータベースから削除します。
@@ -45,4 +70,13 @@ public interface TenantMapper {
      * @param id 削除する入居者ID
      */
     void delete(Long id);
+
+    /**
+     * 指定されたIDのうち、データベースに存在する入居者IDを取得します。
+     * 一括取込で参照先の存在を1回の問い合わせで確認するために使用されます。
+     * 
+     * @param ids 入居者IDのリスト（空でないこと）
+     * @return 存在する入居者IDのリスト
+     */
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.app.mapper;
 
 import com.example.app.model.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * ユーザー情報のデータベースアクセスを担当するマッパーインターフェース。
@@ -19,17 +20,19 @@ public interface UserMapper {
 
     /**
      * 新しいユーザー情報をデータベースに登録します。
+     * 同じユーザー名のユーザーが既に存在する場合は登録しません。
      * 
      * @param user 登録するユーザー情報
+     * @return 登録された行数。ユーザー名が既に使用されている場合は0
      */
-    void insert(User user);
+    int insert(User user);
 
     /**
-     * 指定されたユーザー名が既に存在するかを確認します。
+     * 指定されたユーザーのパスワードハッシュを更新します。
      * 
-     * @param username 確認するユーザー名
-     * @return 存在する場合はtrue、存在しない場合はfalse
+     * @param username ユーザー名
+     * @param password 新しいパスワードハッシュ
+     * @return 更新された行数
      */
-    boolean existsByUsername(String username);
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
-
@@ -0,0 +1,36 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 空室検索の結果を表すクラス。
+ */
+@Data
+public class AvailabilityResult {
+    /** 期間の開始日 */
+    private LocalDate from;
+
+    /** 期間の終了日 */
+    private LocalDate to;
+
+    /** 間取りの条件（指定しない場合はnull） */
+    private String rooms;
+
+    /** 地域（市区町村）の条件（指定しない場合はnull） */
+    private String area;
+
+    /** 条件に合う物件（物件ID順、最大で指定された件数） */
+    private List<AvailableProperty> properties = new ArrayList<>();
+
+    /** 条件に合う物件の総数 */
+    private long matchedProperties;
+
+    /** 検索した物件の件数 */
+    private long scannedProperties;
+
+    /** 検索に要した時間（ミリ秒） */
+    private long elapsedMillis;
+}
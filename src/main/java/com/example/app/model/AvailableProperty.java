@@ -0,0 +1,34 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 空室検索で見つかった、指定された期間に契約のない物件を表すクラス。
+ */
+@Data
+public class AvailableProperty {
+    /** 物件ID */
+    private Long id;
+
+    /** 物件名 */
+    private String name;
+
+    /** 物件の所在地住所 */
+    private String address;
+
+    /** 地域（物件の所在地の市区町村）。判別できない物件は「不明」 */
+    private String area;
+
+    /** 物件の面積 */
+    private String floorArea;
+
+    /** 物件の間取り */
+    private String rooms;
+
+    /** 空室になる日（期間より前の直近の契約の終了日の翌日）。それより前に契約がない場合はnull */
+    private LocalDate availableFrom;
+
+    /** 空室の最終日（期間より後の直近の契約の開始日の前日）。それより後に契約がない場合はnull */
+    private LocalDate availableUntil;
+}
@@ -0,0 +1,31 @@
+package com.example.app.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 画面に表示するデータの版を表すクラス。
+ * 集計クエリで取得した行数・最終更新日時・バージョン番号の合計から構成し、
+ * 画面のETagの算出に使用します。いずれかが変われば表示内容が変わった可能性があります。
+ */
+@Data
+public class DataVersion {
+    /** 対象の行数 */
+    private Long rowCount;
+
+    /** 対象の行の最終更新日時。行が存在しない場合はnull */
+    private LocalDateTime lastUpdated;
+
+    /** 対象の行のバージョン番号の合計。集計しない場合はnull */
+    private Long revisions;
+
+    /**
+     * ETagの算出に使用する文字列を返します。
+     *
+     * @return 各項目を連結した文字列
+     */
+    public String token() {
+        return rowCount + "/" + lastUpdated + "/" + revisions;
+    }
+}
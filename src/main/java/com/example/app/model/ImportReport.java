@@ -0,0 +1,61 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一括取込の結果を表すクラス。
+ * 行単位のエラーは保持件数に上限を設け、大量のエラーでもメモリを使い切らないようにします。
+ */
+@Data
+public class ImportReport {
+    /** 保持するエラーの最大件数 */
+    public static final int MAX_ERRORS = 1000;
+
+    /** 読み込んだデータ行の件数（ヘッダー行と空行を除きます） */
+    private long totalRows;
+
+    /** 登録した行の件数 */
+    private long importedRows;
+
+    /** 登録できなかった行の件数 */
+    private long failedRows;
+
+    /** 登録できなかった行の詳細（先頭からMAX_ERRORS件まで） */
+    private final List<ImportRowError> errors = new ArrayList<>();
+
+    /** 取込に要した時間（ミリ秒） */
+    private long elapsedMillis;
+
+    /**
+     * 登録できなかった行を記録します。
+     * 
+     * @param rowNumber CSVファイル上の行番号
+     * @param message 理由
+     */
+    public void addError(long rowNumber, String message) {
+        failedRows++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportRowError(rowNumber, message));
+        }
+    }
+
+    /**
+     * 記録しきれずに省略したエラーの件数を返します。
+     * 
+     * @return 省略したエラーの件数
+     */
+    public long getOmittedErrors() {
+        return failedRows - errors.size();
+    }
+
+    /**
+     * 1秒あたりに処理した行数を返します。
+     * 
+     * @return 1秒あたりの処理行数
+     */
+    public long getRowsPerSecond() {
+        return totalRows * 1000 / Math.max(elapsedMillis, 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.app.model;
+
+import lombok.Data;
+
+/**
+ * 一括取込で登録できなかった行とその理由を表すクラス。
+ */
+@Data
+public class ImportRowError {
+    /** CSVファイル上の行番号（ヘッダー行を1行目とします） */
+    private final long rowNumber;
+
+    /** 登録できなかった理由 */
+    private final String message;
+}
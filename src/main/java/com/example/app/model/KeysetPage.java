@@ -0,0 +1,76 @@
+package com.example.app.model;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * キーセット（シーク）方式で取得した1ページ分の結果を表すクラス。
+ * 総件数は数えず、ページサイズ+1件を取得して次ページの有無を判定します。
+ *
+ * @param <T> ページに含まれる要素の型
+ */
+@Getter
+public final class KeysetPage<T> {
+    /** ページに含まれる要素 */
+    private final List<T> items;
+
+    /** 次ページのカーソル。最終ページの場合はnull */
+    private final String nextCursor;
+
+    /** 先頭ページかどうか */
+    private final boolean first;
+
+    /** 要求されたページサイズ */
+    private final int size;
+
+    private KeysetPage(List<T> items, String nextCursor, boolean first, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.first = first;
+        this.size = size;
+    }
+
+    /**
+     * ページサイズ+1件まで取得した行からページを組み立てます。
+     *
+     * @param rows 取得した行（最大でsize+1件）
+     * @param size ページサイズ
+     * @param first 先頭ページかどうか
+     * @param cursorOf 行から次ページのカーソルを生成する関数
+     * @param <T> 要素の型
+     * @return 組み立てたページ
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, boolean first, Function<T, String> cursorOf) {
+        requireValidSize(size);
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null, first, size);
+        }
+        List<T> items = rows.subList(0, size);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(size - 1)), first, size);
+    }
+
+    /**
+     * ページサイズが1以上であることを確認します。
+     *
+     * @param size ページサイズ
+     * @return 確認したページサイズ
+     * @throws IllegalArgumentException ページサイズが0以下の場合
+     */
+    public static int requireValidSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * 次ページが存在するかを返します。
+     *
+     * @return 次ページが存在する場合はtrue
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
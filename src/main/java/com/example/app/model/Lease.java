@@ -72,6 +72,9 @@ public class Lease {
     @Positive(message = "礼金は0より大きい値を入力してください")
     private Integer keymoney;
     
+    /** 楽観的ロック用のバージョン番号（更新のたびに1ずつ増えます） */
+    private Integer version;
+    
     /** レコード作成日時 */
     private LocalDateTime createdAt;
     /** レコード更新日時 */
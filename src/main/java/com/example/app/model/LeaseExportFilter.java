@@ -0,0 +1,23 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 賃貸契約データ出力の絞り込み条件を表すクラス。
+ * すべての項目は任意で、未指定の条件は絞り込みに使用しません。
+ */
+@Data
+public class LeaseExportFilter {
+    /** 
+     * 契約状態
+     * 値: ACTIVE（有効）、NOTICE（解約予告）、ENDED（終了）
+     */
+    private String status;
+
+    /** 期間の開始日。この日以降も継続している契約を対象とします */
+    private LocalDate from;
+
+    /** 期間の終了日。この日以前に開始した契約を対象とします */
+    private LocalDate to;
+}
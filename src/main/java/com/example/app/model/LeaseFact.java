@@ -0,0 +1,44 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 賃料集計（レントロール）の対象となる賃貸契約1件分の値を表すクラス。
+ * 集計に使用する契約の項目と、集計の軸となる物件の所在地・間取りのみを保持します。
+ */
+@Data
+public class LeaseFact {
+    /** 賃貸契約ID */
+    private Long id;
+
+    /** 物件ID */
+    private Long propertyId;
+
+    /** 月額賃料 */
+    private Integer rent;
+
+    /** 敷金 */
+    private Integer deposit;
+
+    /** 礼金 */
+    private Integer keymoney;
+
+    /** 契約開始日 */
+    private LocalDate startDate;
+
+    /** 契約終了日 */
+    private LocalDate endDate;
+
+    /**
+     * 契約状態
+     * 値: ACTIVE（有効）、NOTICE（解約予告）、ENDED（終了）
+     */
+    private String status;
+
+    /** 物件の所在地住所 */
+    private String address;
+
+    /** 物件の間取り */
+    private String rooms;
+}
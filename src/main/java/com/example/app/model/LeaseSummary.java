@@ -0,0 +1,42 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 契約一覧の表示に必要な項目のみを持つ賃貸契約の要約クラス。
+ * 物件詳細画面と入居者編集画面の契約履歴で使用し、
+ * 物件・入居者の情報は一覧に表示する名称のみを保持します。
+ */
+@Data
+public class LeaseSummary {
+    /** 賃貸契約ID */
+    private Long id;
+
+    /** 物件ID */
+    private Long propertyId;
+
+    /** 入居者ID */
+    private Long tenantId;
+
+    /** 
+     * 契約状態
+     * 値: ACTIVE（有効）、NOTICE（解約予告）、ENDED（終了）
+     */
+    private String status;
+
+    /** 月額賃料 */
+    private Integer rent;
+
+    /** 契約開始日 */
+    private LocalDate startDate;
+
+    /** 契約終了日 */
+    private LocalDate endDate;
+
+    /** 物件名（入居者ごとの一覧でのみ設定されます） */
+    private String propertyName;
+
+    /** 入居者の氏名（物件ごとの一覧でのみ設定されます） */
+    private String tenantFullName;
+}
@@ -0,0 +1,32 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 空室検索の対象となる物件と、その物件の契約1件分の期間を表すクラス。
+ * 契約のない物件は、契約開始日・契約終了日がnullです。
+ */
+@Data
+public class OccupancyFact {
+    /** 物件ID */
+    private Long propertyId;
+
+    /** 物件名 */
+    private String name;
+
+    /** 物件の所在地住所 */
+    private String address;
+
+    /** 物件の面積 */
+    private String area;
+
+    /** 物件の間取り */
+    private String rooms;
+
+    /** 契約開始日 */
+    private LocalDate startDate;
+
+    /** 契約終了日（未定の場合はnull） */
+    private LocalDate endDate;
+}
@@ -0,0 +1,63 @@
+package com.example.app.model;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * キーセットページネーションのカーソルを表すクラス。
+ * 直前のページ末尾行のソートキーとIDを保持し、URLセーフな文字列として受け渡します。
+ * 行の追加・削除があってもソートキーとIDの組で位置を特定するため、ページの境界がずれません。
+ */
+@Getter
+public final class PageCursor {
+    private static final char SEPARATOR = '\u0000';
+
+    /** 直前のページ末尾行のソートキー */
+    private final String key;
+
+    /** 直前のページ末尾行のID（ソートキーが同値の場合の順序を決めます） */
+    private final Long id;
+
+    private PageCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * ソートキーとIDからカーソル文字列を生成します。
+     *
+     * @param key 末尾行のソートキー
+     * @param id 末尾行のID
+     * @return URLセーフなカーソル文字列
+     */
+    public static String encode(String key, Long id) {
+        String raw = (key == null ? "" : key) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソル文字列を復元します。
+     * 未指定や改ざんされた値の場合は先頭ページとして扱うためnullを返します。
+     *
+     * @param cursor カーソル文字列
+     * @return 復元したカーソル。先頭ページの場合はnull
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            return new PageCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.app.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * ダッシュボードに表示する物件・契約全体の集計値を表すクラス。
+ * 契約の登録・更新・削除のたびに増減させる集計用の行から取得するため、件数にかかわらず一定時間で取得できます。
+ * 「現在の契約」はACTIVEまたはNOTICEの契約を指します。
+ * 集計値の増減を表す場合にも使用します。
+ */
+@Data
+public class PortfolioSummary {
+    /** 物件数 */
+    private long propertyCount;
+
+    /** 現在の契約がある物件数 */
+    private long occupiedPropertyCount;
+
+    /** 現在の契約の件数 */
+    private long currentLeaseCount;
+
+    /** 解約予告中（NOTICE）の契約の件数 */
+    private long noticeLeaseCount;
+
+    /** 現在の契約の月額賃料の合計 */
+    private long monthlyRent;
+
+    /** 当月に終了日を迎える現在の契約の件数 */
+    private long expiringThisMonth;
+
+    /** 全件の数え直しと最後に照合した日時。未照合の場合はnull */
+    private LocalDateTime reconciledAt;
+
+    /**
+     * 空室の物件数を返します。
+     *
+     * @return 物件数から現在の契約がある物件数を引いた数
+     */
+    public long getVacantPropertyCount() {
+        return propertyCount - occupiedPropertyCount;
+    }
+
+    /**
+     * 入居率を返します。
+     *
+     * @return 現在の契約がある物件の割合（百分率）。物件がない場合は0
+     */
+    public double getOccupancyRate() {
+        return propertyCount == 0 ? 0 : occupiedPropertyCount * 100.0 / propertyCount;
+    }
+
+    /**
+     * 集計値のいずれかが変化するかを返します。
+     *
+     * @return 増減を表す場合に、いずれかの値が0でなければtrue
+     */
+    public boolean hasChanges() {
+        return propertyCount != 0 || occupiedPropertyCount != 0 || currentLeaseCount != 0
+            || noticeLeaseCount != 0 || monthlyRent != 0;
+    }
+}
@@ -39,6 +39,13 @@ public class Property {
      * 任意項目として設定されています
      */
     private String rooms;
+    
+    /** 
+     * 楽観的ロック用のバージョン番号
+     * 更新のたびに1ずつ増えます
+     */
+    private Integer version;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
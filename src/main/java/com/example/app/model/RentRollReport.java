@@ -0,0 +1,33 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 賃料集計（レントロール）の結果を表すクラス。
+ */
+@Data
+public class RentRollReport {
+    /** 集計期間の開始月 */
+    private YearMonth from;
+
+    /** 集計期間の終了月 */
+    private YearMonth to;
+
+    /** 集計軸（リクエストパラメータの値） */
+    private List<String> groupBy = new ArrayList<>();
+
+    /** グループごとの集計値（地域・間取り・年月の順） */
+    private List<RentRollRow> rows = new ArrayList<>();
+
+    /** 全グループの合計 */
+    private RentRollRow total;
+
+    /** 集計した契約の件数 */
+    private long scannedLeases;
+
+    /** 集計に要した時間（ミリ秒） */
+    private long elapsedMillis;
+}
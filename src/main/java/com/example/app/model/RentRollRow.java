@@ -0,0 +1,44 @@
+package com.example.app.model;
+
+import lombok.Data;
+import java.time.YearMonth;
+
+/**
+ * 賃料集計（レントロール）の1グループ分の集計値を表すクラス。
+ * 集計軸に指定されなかった項目（地域・間取り・年月）はnullです。
+ */
+@Data
+public class RentRollRow {
+    /** 地域（物件の所在地の市区町村）。判別できない物件は「不明」 */
+    private String area;
+
+    /** 物件の間取り。未入力の物件は「不明」 */
+    private String rooms;
+
+    /** 年月 */
+    private YearMonth month;
+
+    /** 契約月数（各月に有効だった契約の件数の合計） */
+    private long leaseMonths;
+
+    /** 賃料の合計（各月に有効だった契約の月額賃料の合計） */
+    private long rentRoll;
+
+    /** 期間内に開始した契約の件数 */
+    private long newLeases;
+
+    /** 期間内に開始した契約の敷金の合計 */
+    private long depositTotal;
+
+    /** 期間内に開始した契約の礼金の合計 */
+    private long keymoneyTotal;
+
+    /**
+     * 平均賃料を返します。
+     *
+     * @return 賃料の合計を契約月数で割った値（円未満四捨五入）。契約月数が0の場合は0
+     */
+    public long getAverageRent() {
+        return leaseMonths == 0 ? 0 : Math.round((double) rentRoll / leaseMonths);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.app.model;
+
+import lombok.Data;
+
+/**
+ * 入力補完の候補を表すクラス。
+ */
+@Data
+public class Suggestion {
+    /** 候補のID（物件IDまたは入居者ID） */
+    private final Long id;
+
+    /** 表示名（物件名または入居者の氏名） */
+    private final String label;
+}
@@ -34,6 +34,12 @@ public class Tenant {
     @Email(message = "有効なメールアドレスを入力してください")
     private String email;
     
+    /** 
+     * 楽観的ロック用のバージョン番号
+     * 更新のたびに1ずつ増えます
+     */
+    private Integer version;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
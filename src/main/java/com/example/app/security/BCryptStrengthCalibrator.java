@@ -0,0 +1,49 @@
+package com.example.app.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * 実行環境でのBCryptの計算時間を測定し、目標時間に収まるコスト（strength）を求めるユーティリティクラス。
+ *
+ * <p>BCryptの計算時間はコストを1増やすごとに2倍になるため、下限のコストで1回測定した時間から
+ * 目標時間を超えない最大のコストを算出します。CPUの性能に応じてログイン1回あたりの処理時間を揃え、
+ * ログインが集中したときのCPU使用量を見積もれるようにします。
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 目標時間に収まるコストを返します。
+     *
+     * @param target 1回のハッシュ計算の目標時間
+     * @param minimum コストの下限。測定結果にかかわらずこれ未満にはしません
+     * @param maximum コストの上限
+     * @return 下限から上限の範囲で、目標時間を超えない最大のコスト
+     */
+    public static int calibrate(Duration target, int minimum, int maximum) {
+        if (minimum < 4 || maximum > 31 || minimum > maximum) {
+            throw new IllegalArgumentException("BCrypt strength must be within 4..31: " + minimum + ".." + maximum);
+        }
+        String salt = BCrypt.gensalt(minimum);
+        // JITコンパイル前の1回目は遅いため、測定から除外します
+        BCrypt.hashpw("calibration", salt);
+        long started = System.nanoTime();
+        BCrypt.hashpw("calibration", salt);
+        long elapsed = Math.max(System.nanoTime() - started, 1);
+
+        int strength = minimum;
+        while (strength < maximum && elapsed * 2 <= target.toNanos()) {
+            elapsed *= 2;
+            strength++;
+        }
+        log.info("BCrypt strength calibrated to {} (about {} ms per hash, target {} ms)",
+            strength, Duration.ofNanos(elapsed).toMillis(), target.toMillis());
+        return strength;
+    }
+}
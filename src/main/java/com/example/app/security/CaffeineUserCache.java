@@ -0,0 +1,61 @@
+package com.example.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ログイン時に読み込んだユーザー情報を保持するUserCacheの実装クラス。
+ *
+ * <p>DaoAuthenticationProviderに設定し、同じユーザーのログインのたびにデータベースを参照しないようにします。
+ * キャッシュしたパスワードハッシュで照合に失敗した場合、DaoAuthenticationProviderはデータベースから
+ * 読み直して再照合するため、他のノードでパスワードが変更されても正しいパスワードでログインできます。
+ * 件数と保持期間の上限を設け、パスワードハッシュを更新した場合は該当ユーザーのエントリを破棄します。
+ *
+ * <p>認証成功後にProviderManagerが認証情報のパスワードを消去するため、
+ * 格納時と取得時にコピーを作成し、キャッシュ内のユーザー情報が変更されないようにします。
+ */
+@Component
+public class CaffeineUserCache implements UserCache, MeterBinder {
+
+    private final Cache<String, UserDetails> users;
+
+    public CaffeineUserCache(@Value("${app.cache.users.maximum-size:10000}") long maximumSize,
+                             @Value("${app.cache.users.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.users = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "userDetails");
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails user = users.getIfPresent(username);
+        return user == null ? null : User.withUserDetails(user).build();
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), User.withUserDetails(user).build());
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+}
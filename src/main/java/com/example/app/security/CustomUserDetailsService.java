@@ -3,20 +3,34 @@ package com.example.app.security;
 import com.example.app.mapper.UserMapper;
 import com.example.app.model.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 /**
  * Spring SecurityのUserDetailsService実装クラス。
  * データベースからユーザー情報を取得してSpring Securityの認証に使用します。
+ * ログイン時にパスワードハッシュの再計算が必要と判定された場合は、新しいハッシュを保存します。
+ * すべてのユーザーにROLE_USERを、app.security.admin-usernames に指定したユーザーには加えてROLE_ADMINを付与します。
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     private final UserMapper userMapper;
+    private final UserCache userCache;
+
+    /**
+     * 管理用エンドポイント（/actuator）を利用できるユーザー名
+     */
+    @Value("${app.security.admin-usernames:}")
+    private Set<String> adminUsernames = Set.of();
     
     /**
      * ユーザー名からユーザー情報を取得します。
@@ -35,8 +49,26 @@ public class CustomUserDetailsService implements UserDetailsService {
         return org.springframework.security.core.userdetails.User.builder()
             .username(user.getUsername())
             .password(user.getPassword())
-            .authorities("ROLE_USER")
+            .authorities(adminUsernames.contains(user.getUsername())
+                ? new String[] {"ROLE_USER", "ROLE_ADMIN"}
+                : new String[] {"ROLE_USER"})
+            .build();
+    }
+    
+    /**
+     * ログインに成功したユーザーのパスワードハッシュを、現在の方式・コストで計算し直した値に更新します。
+     * キャッシュに残った古いハッシュで再度更新しないよう、該当ユーザーのエントリを破棄します。
+     * 
+     * @param user 認証に成功したユーザー情報
+     * @param newPassword 新しいパスワードハッシュ
+     * @return ハッシュを更新したユーザー情報
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userMapper.updatePassword(user.getUsername(), newPassword);
+        userCache.removeUserFromCache(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+            .password(newPassword)
             .build();
     }
 }
-
@@ -0,0 +1,57 @@
+package com.example.app.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ログイン（POST /login）とユーザー登録（POST /register）の試行をLoginRateLimiterで制限するフィルター。
+ * 上限に達した試行は、パスワードハッシュを計算する前にステータス429で拒否します。
+ */
+@Slf4j
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher ATTEMPTS = new OrRequestMatcher(
+        new AntPathRequestMatcher("/login", "POST"),
+        new AntPathRequestMatcher("/register", "POST")
+    );
+
+    private final LoginRateLimiter rateLimiter;
+
+    public LoginRateLimitFilter(LoginRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !ATTEMPTS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LoginRateLimiter.Limit limit = rateLimiter.tryAcquire(request.getRemoteAddr(), request.getParameter("username"));
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.debug("Rejected {} from {} ({} limit)", request.getRequestURI(), request.getRemoteAddr(), limit);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, rateLimiter.retryAfter(limit).toSeconds())));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("試行回数が多すぎます。しばらくしてから再度お試しください。");
+    }
+}
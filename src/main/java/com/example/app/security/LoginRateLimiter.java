@@ -0,0 +1,156 @@
+package com.example.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ログイン・ユーザー登録の試行回数を、接続元アドレスごと・ユーザー名ごとのトークンバケットで制限するクラス。
+ *
+ * <p>どちらもパスワードハッシュの計算（意図的に遅い処理）を伴うため、大量の試行でCPUを使い切らないよう、
+ * ハッシュを計算する前に試行を拒否します。バケットは容量（連続して許可する回数）と
+ * 1回分が回復するまでの間隔で設定します。
+ *
+ * <p>各バケットは「バケットが空になる時刻」を1つのAtomicLongで表し（GCRA）、比較交換で更新するため、
+ * 同じキーへの同時の試行でもロックを取りません。満杯まで回復する時間が経過したバケットは
+ * 新しいバケットと同じ状態のため、その時間で自動的に破棄します。保持するキーの数には上限を設けます。
+ */
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    /**
+     * 試行を拒否した理由
+     */
+    public enum Limit {
+        /** 接続元アドレスの上限に達した */
+        ADDRESS,
+        /** ユーザー名の上限に達した */
+        USERNAME
+    }
+
+    private final Bucket addresses;
+    private final Bucket usernames;
+    private final Clock clock;
+    private final AtomicLong allowed = new AtomicLong();
+
+    @Autowired
+    public LoginRateLimiter(
+            @Value("${app.security.login-rate-limit.address.capacity:20}") int addressCapacity,
+            @Value("${app.security.login-rate-limit.address.refill-interval:3s}") Duration addressRefillInterval,
+            @Value("${app.security.login-rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${app.security.login-rate-limit.username.refill-interval:12s}") Duration usernameRefillInterval,
+            @Value("${app.security.login-rate-limit.maximum-keys:100000}") long maximumKeys) {
+        this(addressCapacity, addressRefillInterval, usernameCapacity, usernameRefillInterval, maximumKeys,
+            Clock.systemUTC());
+    }
+
+    LoginRateLimiter(int addressCapacity, Duration addressRefillInterval,
+                     int usernameCapacity, Duration usernameRefillInterval,
+                     long maximumKeys, Clock clock) {
+        this.addresses = new Bucket("address", addressCapacity, addressRefillInterval, maximumKeys);
+        this.usernames = new Bucket("username", usernameCapacity, usernameRefillInterval, maximumKeys);
+        this.clock = clock;
+    }
+
+    /**
+     * 試行を1回分消費します。
+     * 接続元アドレスのバケットを先に消費し、許可された場合のみユーザー名のバケットを消費します。
+     *
+     * @param address 接続元アドレス
+     * @param username 入力されたユーザー名。未入力の場合はnull
+     * @return 許可した場合はnull、拒否した場合はその理由
+     */
+    public Limit tryAcquire(String address, String username) {
+        long now = TimeUnit.MILLISECONDS.toNanos(clock.millis());
+        if (!addresses.tryAcquire(address, now)) {
+            return Limit.ADDRESS;
+        }
+        if (username != null && !username.isBlank()
+                && !usernames.tryAcquire(username.strip().toLowerCase(), now)) {
+            return Limit.USERNAME;
+        }
+        allowed.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 拒否した試行を再度行えるようになるまでの目安の時間を返します。
+     *
+     * @param limit 拒否した理由
+     * @return 1回分が回復するまでの間隔
+     */
+    public Duration retryAfter(Limit limit) {
+        return Duration.ofNanos((limit == Limit.ADDRESS ? addresses : usernames).interval);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.rate_limit", allowed, AtomicLong::get)
+            .tag("outcome", "allowed")
+            .tag("limit", "none")
+            .description("ログイン・ユーザー登録の試行件数")
+            .register(registry);
+        addresses.bindTo(registry);
+        usernames.bindTo(registry);
+    }
+
+    /**
+     * キーごとのトークンバケットの集合。
+     */
+    private static final class Bucket {
+        private final String name;
+        private final long interval;
+        private final long burst;
+        private final Cache<String, AtomicLong> emptyAt;
+        private final AtomicLong rejected = new AtomicLong();
+
+        Bucket(String name, int capacity, Duration refillInterval, long maximumKeys) {
+            if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+                throw new IllegalArgumentException("Rate limit for " + name + " must have a positive capacity and interval");
+            }
+            this.name = name;
+            this.interval = refillInterval.toNanos();
+            this.burst = interval * capacity;
+            this.emptyAt = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burst))
+                .recordStats()
+                .build();
+        }
+
+        boolean tryAcquire(String key, long now) {
+            AtomicLong state = emptyAt.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long current = state.get();
+                long next = Math.max(current, now) + interval;
+                if (next - now > burst) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        void bindTo(MeterRegistry registry) {
+            FunctionCounter.builder("auth.rate_limit", rejected, AtomicLong::get)
+                .tag("outcome", "rejected")
+                .tag("limit", name)
+                .description("ログイン・ユーザー登録の試行件数")
+                .register(registry);
+            CaffeineCacheMetrics.monitor(registry, emptyAt, "loginRateLimit." + name);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.app.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 認証情報を暗号化したCookieに保持するSecurityContextRepositoryの実装クラス。
+ *
+ * <p>ユーザー名・権限・有効期限をAES-GCMで暗号化し、改ざん検知のタグとともに
+ * {@code 鍵ID.Base64URL(IV + 暗号文)} の形式でCookieに書き込みます。
+ * サーバー側にセッションを持たないため、同じ鍵を設定したどのノードでも同じリクエストを認証できます。
+ *
+ * <p>鍵は {@code 鍵ID:Base64の鍵} の並びで指定し、先頭の鍵で発行、すべての鍵で検証します。
+ * 鍵を切り替える場合は新しい鍵を先頭に追加し、古い鍵は発行済みのCookieが期限切れになるまで残します。
+ */
+@Slf4j
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    /** 既定のCookie名 */
+    public static final String DEFAULT_COOKIE_NAME = "AUTH";
+
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String currentKeyId;
+    private final Map<String, SecretKey> keys;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private String cookieName = DEFAULT_COOKIE_NAME;
+
+    /**
+     * @param keySpecs {@code 鍵ID:Base64の鍵} の並び。先頭の鍵で発行します（AES-128/192/256）
+     * @param timeToLive 発行したCookieの有効期間
+     */
+    public SignedCookieSecurityContextRepository(List<String> keySpecs, Duration timeToLive) {
+        this(keySpecs, timeToLive, Clock.systemUTC());
+    }
+
+    SignedCookieSecurityContextRepository(List<String> keySpecs, Duration timeToLive, Clock clock) {
+        if (keySpecs == null || keySpecs.isEmpty()) {
+            throw new IllegalArgumentException("At least one token cookie key is required");
+        }
+        this.keys = new LinkedHashMap<>();
+        for (String spec : keySpecs) {
+            int separator = spec.indexOf(':');
+            String id = separator > 0 ? spec.substring(0, separator).strip() : "";
+            if (id.isEmpty() || id.indexOf('.') >= 0) {
+                throw new IllegalArgumentException("Token cookie key must be written as <id>:<base64 key>");
+            }
+            byte[] key = Base64.getDecoder().decode(spec.substring(separator + 1).strip());
+            if (key.length != 16 && key.length != 24 && key.length != 32) {
+                throw new IllegalArgumentException("Token cookie key must be 128, 192 or 256 bits: " + id);
+            }
+            if (keys.putIfAbsent(id, new SecretKeySpec(key, "AES")) != null) {
+                throw new IllegalArgumentException("Duplicate token cookie key id: " + id);
+            }
+        }
+        this.currentKeyId = keys.keySet().iterator().next();
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Cookie名を設定します。
+     *
+     * @param cookieName Cookie名
+     */
+    public void setCookieName(String cookieName) {
+        this.cookieName = cookieName;
+    }
+
+    /**
+     * @return Cookie名
+     */
+    public String getCookieName() {
+        return cookieName;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        Authentication authentication = read(requestResponseHolder.getRequest());
+        if (authentication != null) {
+            context.setAuthentication(authentication);
+        }
+        return context;
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            if (WebUtils.getCookie(request, cookieName) != null) {
+                writeCookie(request, response, "", Duration.ZERO);
+            }
+            return;
+        }
+        writeCookie(request, response, issue(authentication), timeToLive);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return read(request) != null;
+    }
+
+    /**
+     * 認証情報からCookieの値を発行します。
+     */
+    String issue(Authentication authentication) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeLong(clock.instant().plus(timeToLive).getEpochSecond());
+                out.writeUTF(authentication.getName());
+                out.writeShort(authentication.getAuthorities().size());
+                for (GrantedAuthority authority : authentication.getAuthorities()) {
+                    out.writeUTF(authority.getAuthority());
+                }
+            }
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, currentKeyId, keys.get(currentKeyId), iv);
+            byte[] sealed = cipher.doFinal(bytes.toByteArray());
+            byte[] token = new byte[IV_LENGTH + sealed.length];
+            System.arraycopy(iv, 0, token, 0, IV_LENGTH);
+            System.arraycopy(sealed, 0, token, IV_LENGTH, sealed.length);
+            return currentKeyId + "." + ENCODER.encodeToString(token);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to issue the authentication cookie", e);
+        }
+    }
+
+    /**
+     * Cookieを復号・検証して認証情報を返します。
+     * 改ざん・未知の鍵・期限切れの場合はnullを返し、未認証として扱います。
+     * 発行時と異なる表記のBase64（末尾の未使用ビットの違いなど）も改ざんとして扱います。
+     */
+    private Authentication read(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        if (cookie == null || !StringUtils.hasText(cookie.getValue())) {
+            return null;
+        }
+        String value = cookie.getValue();
+        int separator = value.indexOf('.');
+        SecretKey key = separator > 0 ? keys.get(value.substring(0, separator)) : null;
+        if (key == null) {
+            log.debug("Authentication cookie signed with an unknown key was ignored");
+            return null;
+        }
+        try {
+            String encoded = value.substring(separator + 1);
+            byte[] token = DECODER.decode(encoded);
+            if (token.length <= IV_LENGTH || !ENCODER.encodeToString(token).equals(encoded)) {
+                return null;
+            }
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, value.substring(0, separator), key,
+                Arrays.copyOf(token, IV_LENGTH));
+            byte[] plain = cipher.doFinal(token, IV_LENGTH, token.length - IV_LENGTH);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain))) {
+                Instant expiresAt = Instant.ofEpochSecond(in.readLong());
+                if (!clock.instant().isBefore(expiresAt)) {
+                    return null;
+                }
+                String username = in.readUTF();
+                int count = in.readUnsignedShort();
+                List<GrantedAuthority> authorities = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+                }
+                UserDetails principal = User.withUsername(username).password("").authorities(authorities).build();
+                return UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+            }
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            log.debug("Invalid authentication cookie was ignored: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 鍵IDを追加認証データとして結び付けた暗号器を返します。
+     * 別の鍵IDに付け替えたCookieは復号に失敗します。
+     */
+    private static Cipher cipher(int mode, String keyId, SecretKey key, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(ALGORITHM);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        String path = StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/";
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+            .path(path)
+            .maxAge(maxAge)
+            .httpOnly(true)
+            .secure(request.isSecure())
+            .sameSite("Lax")
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
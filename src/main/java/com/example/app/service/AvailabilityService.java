@@ -0,0 +1,28 @@
+package com.example.app.service;
+
+import com.example.app.model.AvailabilityResult;
+
+import java.time.LocalDate;
+
+/**
+ * 空室検索に関するビジネスロジックを提供するサービスインターフェース。
+ * 指定された期間に契約が1日も重ならない物件を、間取り・地域で絞り込んで検索します。
+ */
+public interface AvailabilityService {
+    /** 一度に返す物件数の上限 */
+    int MAX_LIMIT = 1000;
+
+    /**
+     * 指定された期間（開始日・終了日を含む）に空室の物件を検索します。
+     * 終了日のない契約は無期限、終了日のない終了済みの契約は期間が分からないため対象外として扱います。
+     *
+     * @param from 期間の開始日
+     * @param to 期間の終了日
+     * @param rooms 間取り（指定しない場合はnull）
+     * @param area 地域（物件の所在地の市区町村。指定しない場合はnull）
+     * @param limit 返す物件の最大件数（1〜{@link #MAX_LIMIT}）
+     * @return 検索結果（物件ID順）
+     * @throws IllegalArgumentException 開始日が終了日より後の場合、または件数が範囲外の場合
+     */
+    AvailabilityResult search(LocalDate from, LocalDate to, String rooms, String area, int limit);
+}
@@ -0,0 +1,32 @@
+package com.example.app.service;
+
+import java.util.List;
+
+/**
+ * 一括取込の対象となるデータの種類を表す列挙型。
+ * CSVのヘッダー行に必須の列名を保持します。
+ */
+public enum ImportEntityType {
+    /** 物件（任意列: rooms） */
+    PROPERTY("物件", "name", "address", "area"),
+    /** 入居者（任意列: phone, email） */
+    TENANT("入居者", "full_name"),
+    /** 賃貸契約（任意列: end_date, deposit, keymoney） */
+    LEASE("賃貸契約", "property_id", "tenant_id", "rent", "start_date", "status");
+
+    private final String label;
+    private final List<String> requiredColumns;
+
+    ImportEntityType(String label, String... requiredColumns) {
+        this.label = label;
+        this.requiredColumns = List.of(requiredColumns);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public List<String> getRequiredColumns() {
+        return requiredColumns;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.app.service;
+
+import com.example.app.model.ImportReport;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * CSVファイルからの一括取込に関するビジネスロジックを提供するサービスインターフェース。
+ * 物件・入居者・賃貸契約を、1件ずつの登録処理を経由せずにまとめて登録します。
+ */
+public interface ImportService {
+    /**
+     * UTF-8のCSVを読み込み、検証を通過した行を登録します。
+     * 1行目はヘッダー行として扱い、列名で値を対応付けます。
+     * 不正な行はスキップして結果に記録し、残りの行の取込を続けます。
+     * 入力ストリームはクローズしません。
+     * 
+     * @param type 取込対象の種類
+     * @param in CSVの入力ストリーム
+     * @return 取込結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    ImportReport importCsv(ImportEntityType type, InputStream in) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.example.app.service;
+
+import java.time.LocalDate;
+
+/**
+ * 終了日を過ぎた賃貸契約を終了（ENDED）にする処理を提供するサービスインターフェース。
+ * この処理により、有効な契約かどうかは契約状態のみで判定できます。
+ */
+public interface LeaseExpiryService {
+    /**
+     * 終了日が基準日より前のACTIVE・NOTICEの契約をENDEDにします。
+     * 一定件数ずつ別のトランザクションで更新するため、途中で中断しても、次回の実行で残りを更新します。
+     * 対象がなければ何も更新しないため、何度実行しても結果は同じです。
+     *
+     * @param today 基準日（通常は当日）
+     * @return ENDEDにした契約の件数
+     */
+    int expireLeases(LocalDate today);
+}
@@ -0,0 +1,43 @@
+package com.example.app.service;
+
+/**
+ * 賃貸契約データの出力形式を表す列挙型。
+ */
+public enum LeaseExportFormat {
+    /** カンマ区切り形式（UTF-8、BOM付き） */
+    CSV("text/csv;charset=UTF-8", "csv"),
+    /** 改行区切りJSON形式 */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    LeaseExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * リクエストパラメータの値から出力形式を取得します。
+     * 
+     * @param value パラメータ値（大文字小文字は区別しません）
+     * @return 該当する出力形式
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static LeaseExportFormat fromParameter(String value) {
+        for (LeaseExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
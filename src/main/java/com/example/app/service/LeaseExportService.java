@@ -0,0 +1,23 @@
+package com.example.app.service;
+
+import com.example.app.model.LeaseExportFilter;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 賃貸契約データの一括出力に関するビジネスロジックを提供するサービスインターフェース。
+ * 物件情報と入居者情報を結合した契約データを、件数にかかわらず一定のメモリで出力します。
+ */
+public interface LeaseExportService {
+    /**
+     * 条件に一致する賃貸契約を指定された形式で出力ストリームに書き出します。
+     * 出力ストリームはクローズしません。
+     * 
+     * @param filter 絞り込み条件
+     * @param format 出力形式
+     * @param out 書き出し先の出力ストリーム
+     * @return 出力した契約の件数
+     * @throws IOException 書き出しに失敗した場合
+     */
+    long exportLeases(LeaseExportFilter filter, LeaseExportFormat format, OutputStream out) throws IOException;
+}
@@ -1,6 +1,8 @@
 package com.example.app.service;
 
+import com.example.app.model.KeysetPage;
 import com.example.app.model.Lease;
+import com.example.app.model.LeaseSummary;
 import java.util.List;
 
 /**
@@ -32,20 +34,44 @@ public interface LeaseService {
      */
     List<Lease> getLeasesByTenantId(Long tenantId);
 
+    /**
+     * 指定された物件IDの賃貸契約を、開始日の新しい順で1ページ分取得します。
+     * 
+     * @param propertyId 物件ID
+     * @param cursor 前ページから引き継いだカーソル。先頭ページの場合はnull
+     * @param size ページサイズ
+     * @return 該当する物件の契約のページ
+     */
+    KeysetPage<LeaseSummary> getLeasePageByPropertyId(Long propertyId, String cursor, int size);
+
+    /**
+     * 指定された入居者IDの賃貸契約を、開始日の新しい順で1ページ分取得します。
+     * 
+     * @param tenantId 入居者ID
+     * @param cursor 前ページから引き継いだカーソル。先頭ページの場合はnull
+     * @param size ページサイズ
+     * @return 該当する入居者の契約のページ
+     */
+    KeysetPage<LeaseSummary> getLeasePageByTenantId(Long tenantId, String cursor, int size);
+
     /**
      * 新しい賃貸契約を登録します。
      * 
      * @param lease 登録する契約の情報
      * @throws IllegalStateException 物件が既に有効な契約を持っている場合
+     * @throws IllegalArgumentException 指定した物件・入居者が存在しない場合
      */
     void createLease(Lease lease);
 
     /**
      * 既存の賃貸契約情報を更新します。
      * 
+     * 画面で読み込んだ時点のバージョン番号と一致する場合のみ更新します。
+     * 
      * @param lease 更新する契約の情報
      * @throws IllegalStateException 物件が既に有効な契約を持っている場合
-     * @throws IllegalArgumentException 契約が存在しない場合
+     * @throws IllegalArgumentException 契約、または指定した物件・入居者が存在しない場合
+     * @throws org.springframework.dao.OptimisticLockingFailureException 他の利用者が先に更新または削除した場合
      */
     void updateLease(Lease lease);
 
@@ -53,8 +79,9 @@ public interface LeaseService {
      * 指定されたIDの賃貸契約を削除します。
      * 
      * @param id 削除する契約のID
+     * @return 削除した契約（ID・物件ID・入居者ID・ステータス・バージョン番号のみ）。既に存在しない場合はnull
      */
-    void deleteLease(Long id);
+    Lease deleteLease(Long id);
 
     /**
      * 指定された物件が有効な契約を持っているかを確認します。
@@ -63,4 +90,13 @@ public interface LeaseService {
      * @return 有効な契約が存在する場合はtrue、それ以外はfalse
      */
     boolean hasActiveLeases(Long propertyId);
+
+    /**
+     * 指定された入居者の契約が1件でも存在するかを確認します。
+     * 状態や期間にかかわらず、終了済みの契約も対象とします。
+     * 
+     * @param tenantId 確認する入居者のID
+     * @return 契約が存在する場合はtrue、それ以外はfalse
+     */
+    boolean hasLeasesByTenantId(Long tenantId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.app.service;
+
+import com.example.app.model.PortfolioSummary;
+
+/**
+ * ダッシュボードに表示する物件・契約全体の集計に関するビジネスロジックを提供するサービスインターフェース。
+ * 集計値は書き込みのたびに増減させ、定期的に全件の数え直しと照合します。
+ */
+public interface PortfolioService {
+    /**
+     * 現在の集計値を取得します。物件・契約の件数にかかわらず一定時間で取得できます。
+     * 
+     * @return 集計値。当月に終了日を迎える契約の件数を含みます
+     */
+    PortfolioSummary getSummary();
+
+    /**
+     * 集計値を全件の数え直しと照合し、差異があれば修正します。
+     * 
+     * @return 差異があった場合はtrue
+     */
+    boolean reconcile();
+}
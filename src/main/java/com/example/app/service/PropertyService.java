@@ -1,5 +1,7 @@
 package com.example.app.service;
 
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
 import com.example.app.model.Property;
 import java.util.List;
 
@@ -15,6 +17,15 @@ public interface PropertyService {
      */
     List<Property> getAllProperties();
 
+    /**
+     * 物件名順で1ページ分の物件情報を取得します。
+     * 
+     * @param cursor 前ページから引き継いだカーソル。先頭ページの場合はnull
+     * @param size ページサイズ
+     * @return 物件情報のページ
+     */
+    KeysetPage<Property> getPropertyPage(String cursor, int size);
+
     /**
      * 指定されたIDの物件情報を取得します。
      * 
@@ -23,6 +34,23 @@ public interface PropertyService {
      */
     Property getPropertyById(Long id);
 
+    /**
+     * 物件一覧画面の表示内容の版を取得します。
+     * 一覧を取得する前に呼び出し、条件付きGETの判定に使用します。
+     * 
+     * @return 物件一覧の版
+     */
+    DataVersion getListVersion();
+
+    /**
+     * 物件詳細画面（契約履歴を含む）の表示内容の版を取得します。
+     * 物件・契約を取得する前に呼び出し、条件付きGETの判定に使用します。
+     * 
+     * @param id 物件ID
+     * @return 物件詳細画面の版
+     */
+    DataVersion getDetailVersion(Long id);
+
     /**
      * 新しい物件を登録します。
      * 
@@ -33,7 +61,10 @@ public interface PropertyService {
     /**
      * 既存の物件情報を更新します。
      * 
+     * 画面で読み込んだ時点のバージョン番号と一致する場合のみ更新します。
+     * 
      * @param property 更新する物件の情報
+     * @throws org.springframework.dao.OptimisticLockingFailureException 他の利用者が先に更新または削除した場合
      */
     void updateProperty(Property property);
 
@@ -0,0 +1,45 @@
+package com.example.app.service;
+
+/**
+ * 賃料集計（レントロール）の集計軸を表す列挙型。
+ */
+public enum RentRollDimension {
+    /** 地域（物件の所在地の市区町村） */
+    AREA("area", "地域"),
+    /** 物件の間取り */
+    ROOMS("rooms", "間取り"),
+    /** 年月 */
+    MONTH("month", "年月");
+
+    private final String parameter;
+    private final String label;
+
+    RentRollDimension(String parameter, String label) {
+        this.parameter = parameter;
+        this.label = label;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * リクエストパラメータの値から集計軸を取得します。
+     *
+     * @param value パラメータ値（大文字小文字は区別しません）
+     * @return 該当する集計軸
+     * @throws IllegalArgumentException 未対応の集計軸の場合
+     */
+    public static RentRollDimension fromParameter(String value) {
+        for (RentRollDimension dimension : values()) {
+            if (dimension.parameter.equalsIgnoreCase(value)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported rent roll dimension: " + value);
+    }
+}
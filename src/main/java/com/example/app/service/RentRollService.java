@@ -0,0 +1,26 @@
+package com.example.app.service;
+
+import com.example.app.model.RentRollReport;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * 賃料集計（レントロール）に関するビジネスロジックを提供するサービスインターフェース。
+ * 賃料・敷金・礼金の合計と平均賃料を、地域・間取り・年月ごとに集計します。
+ */
+public interface RentRollService {
+    /** 一度に集計できる期間の上限（月数） */
+    int MAX_MONTHS = 120;
+
+    /**
+     * 指定された期間の賃料を集計します。
+     *
+     * @param from 集計期間の開始月
+     * @param to 集計期間の終了月
+     * @param groupBy 集計軸。空の場合は全体の合計のみを返します
+     * @return 集計結果
+     * @throws IllegalArgumentException 開始月が終了月より後の場合、または期間が上限を超える場合
+     */
+    RentRollReport getReport(YearMonth from, YearMonth to, Set<RentRollDimension> groupBy);
+}
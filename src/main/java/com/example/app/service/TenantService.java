@@ -1,5 +1,7 @@
 package com.example.app.service;
 
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
 import com.example.app.model.Tenant;
 import java.util.List;
 
@@ -15,6 +17,15 @@ public interface TenantService {
      */
     List<Tenant> getAllTenants();
 
+    /**
+     * 氏名順で1ページ分の入居者情報を取得します。
+     * 
+     * @param cursor 前ページから引き継いだカーソル。先頭ページの場合はnull
+     * @param size ページサイズ
+     * @return 入居者情報のページ
+     */
+    KeysetPage<Tenant> getTenantPage(String cursor, int size);
+
     /**
      * 指定されたIDの入居者情報を取得します。
      * 
@@ -23,6 +34,14 @@ public interface TenantService {
      */
     Tenant getTenantById(Long id);
 
+    /**
+     * 入居者一覧画面の表示内容の版を取得します。
+     * 一覧を取得する前に呼び出し、条件付きGETの判定に使用します。
+     * 
+     * @return 入居者一覧の版
+     */
+    DataVersion getListVersion();
+
     /**
      * 新しい入居者を登録します。
      * 
@@ -33,7 +52,10 @@ public interface TenantService {
     /**
      * 既存の入居者情報を更新します。
      * 
+     * 画面で読み込んだ時点のバージョン番号と一致する場合のみ更新します。
+     * 
      * @param tenant 更新する入居者の情報
+     * @throws org.springframework.dao.OptimisticLockingFailureException 他の利用者が先に更新または削除した場合
      */
     void updateTenant(Tenant tenant);
 
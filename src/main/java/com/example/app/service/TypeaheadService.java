@@ -0,0 +1,30 @@
+package com.example.app.service;
+
+import com.example.app.model.Suggestion;
+import java.util.List;
+
+/**
+ * 物件・入居者の入力補完に関するビジネスロジックを提供するサービスインターフェース。
+ * データベースを参照せず、メモリ上の索引から候補を返します。
+ */
+public interface TypeaheadService {
+    /**
+     * 物件名が検索語で始まる物件を取得します。
+     * 物件名を空白で区切った各語も検索対象とします。
+     * 
+     * @param query 検索語
+     * @param limit 取得する最大件数
+     * @return 候補のリスト
+     */
+    List<Suggestion> searchProperties(String query, int limit);
+
+    /**
+     * 氏名が検索語で始まる入居者を取得します。
+     * 姓・名など氏名を空白で区切った各語も検索対象とします。
+     * 
+     * @param query 検索語
+     * @param limit 取得する最大件数
+     * @return 候補のリスト
+     */
+    List<Suggestion> searchTenants(String query, int limit);
+}
@@ -0,0 +1,166 @@
+package com.example.app.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 物件ごとの行を持つメモリ上の表を、契約・物件の変更のコミット後に読み直すクラス。
+ *
+ * <p>トランザクションごとに変更された物件IDをまとめ、コミット後に表ごとの専用スレッドへ渡します。
+ * 読み直しは書き込みの呼び出し元のスレッドでは行わないため、呼び出し元は待たされず、
+ * コミットしたトランザクションの接続を保持したまま2つ目の接続を取得することもありません。
+ * 読み直しは {@link #CHUNK_SIZE} 件ずつの問い合わせで行います。全件の読み込みも同じスレッドで行うため表の更新はすべて直列になり、
+ * 後にコミットされた変更が先の読み直しで上書きされることはありません。
+ * 読み直しに失敗した場合は警告を記録して件数を数え（メトリクス {@code table.refresh.failures}）、全件の読み込みを予約します。
+ */
+@Slf4j
+final class AfterCommitRefresher {
+
+    /** 1回の問い合わせで読み直す物件数の上限 */
+    static final int CHUNK_SIZE = 1000;
+
+    private final String table;
+    private final Runnable reload;
+    private final Consumer<List<Long>> refreshChunk;
+    private final ExecutorService executor;
+    private final AtomicLong failures = new AtomicLong();
+    /** 全件の読み込みを予約済みの場合はtrue（失敗が続いても読み込みを重ねて予約しないため） */
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    /**
+     * @param table 表の名前（スレッド名とメトリクスのタグに使います）
+     * @param reload 全件を読み込んで表を置き換える処理
+     * @param refreshChunk 指定された物件（{@link #CHUNK_SIZE} 件以下）を読み直して表の該当する行を入れ替える処理
+     */
+    AfterCommitRefresher(String table, Runnable reload, Consumer<List<Long>> refreshChunk) {
+        this.table = table;
+        this.reload = reload;
+        this.refreshChunk = refreshChunk;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, table + "-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("table.refresh.failures", failures, AtomicLong::get)
+            .tag("table", table)
+            .description("コミット後の読み直しに失敗した回数")
+            .register(registry);
+    }
+
+    /**
+     * 全件の読み込みを専用スレッドで行い、完了するまで待ちます。
+     */
+    void reload() {
+        await(executor.submit(reload));
+    }
+
+    /**
+     * 物件IDを現在のトランザクションの読み直し対象に加えます。
+     * トランザクションの最初の変更でコミット後の処理を登録し、同じトランザクション内の変更はまとめて1回で読み直します。
+     * ロールバックされた場合は読み直しません。トランザクション外で呼び出された場合は直ちに読み直しを依頼します。
+     *
+     * @param propertyId 変更された物件のID
+     */
+    @SuppressWarnings("unchecked")
+    void propertyChanged(Long propertyId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(List.of(propertyId));
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> propertyIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, propertyIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(propertyIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AfterCommitRefresher.this);
+                }
+            });
+            pending = propertyIds;
+        }
+        pending.add(propertyId);
+    }
+
+    /**
+     * それまでに依頼された読み直しと、その失敗により予約された全件の読み込みがすべて完了するまで待ちます。
+     */
+    void awaitIdle() {
+        do {
+            await(executor.submit(() -> { }));
+        } while (reloadScheduled.get());
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Collection<Long> propertyIds) {
+        List<Long> ids = List.copyOf(propertyIds);
+        executor.execute(() -> refresh(ids));
+    }
+
+    private void refresh(List<Long> ids) {
+        try {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                refreshChunk.accept(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Failed to refresh {} properties in the {} table; scheduling a full reload", ids.size(), table, e);
+            scheduleReload();
+        }
+    }
+
+    private void scheduleReload() {
+        if (!reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            reloadScheduled.set(false);
+            try {
+                reload.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.error("Failed to reload the {} table; it stays stale until the next scheduled reload", table, e);
+            }
+        });
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the table refresh", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
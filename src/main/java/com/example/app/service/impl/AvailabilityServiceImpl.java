@@ -0,0 +1,145 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.model.AvailabilityResult;
+import com.example.app.model.OccupancyFact;
+import com.example.app.service.AvailabilityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AvailabilityServiceインターフェースの実装クラス。
+ *
+ * <p>起動時と一定間隔（{@code app.availability.reload-interval}）で全物件と契約の期間をCursorで読み出して
+ * 物件ごとの入居期間（{@link OccupancyTable}）に読み込み、検索はデータベースを使わずにメモリ上で行います。
+ * 契約・物件の変更は、トランザクションごとに変更された物件IDをまとめ、コミット後に専用スレッドでその物件だけを読み直して反映します
+ * （{@link AfterCommitRefresher}）。
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService, MeterBinder {
+
+    private final PropertyMapper propertyMapper;
+    private final TransactionTemplate readTemplate;
+    private final AfterCommitRefresher refresher = new AfterCommitRefresher("availability", this::load, this::refresh);
+    private volatile OccupancyTable table = new OccupancyTable();
+
+    public AvailabilityServiceImpl(PropertyMapper propertyMapper, PlatformTransactionManager transactionManager) {
+        this.propertyMapper = propertyMapper;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        refresher.bindTo(registry);
+    }
+
+    @Override
+    public AvailabilityResult search(LocalDate from, LocalDate to, String rooms, String area, int limit) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long started = System.nanoTime();
+        AvailabilityResult result = table.search(from, to, rooms, area, limit, Runtime.getRuntime().availableProcessors());
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
+
+    /**
+     * 全物件を読み込んだ表を作成し、現在の表と置き換えます。
+     * 読み込み中も現在の表で検索できます。初期データや、サービスを経由しない書き込みは読み込み直すことで反映します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.availability.reload-interval:PT6H}",
+               fixedDelayString = "${app.availability.reload-interval:PT6H}")
+    public void reload() {
+        refresher.reload();
+    }
+
+    /**
+     * 契約の変更がコミットされた後、その物件の入居期間を読み直します。
+     *
+     * @param event 契約変更イベント
+     */
+    @EventListener
+    public void onLeaseChanged(LeaseChangedEvent event) {
+        refresher.propertyChanged(event.propertyId());
+    }
+
+    /**
+     * 物件の変更がコミットされた後、その物件を読み直します（登録・削除、所在地・間取りの変更を反映するため）。
+     *
+     * @param event 物件変更イベント
+     */
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        refresher.propertyChanged(event.propertyId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    /**
+     * コミット後の読み直しがすべて完了するまで待ちます（テストで反映を確認するため）。
+     */
+    void awaitRefresh() {
+        refresher.awaitIdle();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        OccupancyTable loaded = new OccupancyTable();
+        readTemplate.executeWithoutResult(status -> {
+            try (Cursor<OccupancyFact> cursor = propertyMapper.streamOccupancy()) {
+                List<OccupancyFact> property = new ArrayList<>();
+                for (OccupancyFact fact : cursor) {
+                    if (!property.isEmpty() && !property.get(0).getPropertyId().equals(fact.getPropertyId())) {
+                        loaded.put(property);
+                        property = new ArrayList<>();
+                    }
+                    property.add(fact);
+                }
+                if (!property.isEmpty()) {
+                    loaded.put(property);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        table = loaded;
+        log.info("Loaded {} properties into the occupancy table in {} ms",
+            loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * 指定された物件を読み直し、表の該当する行を入れ替えます。
+     */
+    private void refresh(List<Long> propertyIds) {
+        List<OccupancyFact> facts = readTemplate.execute(status -> propertyMapper.findOccupancyByIds(propertyIds));
+        table.replaceProperties(propertyIds, facts);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * メモリ上の表で、地域・間取りなどの文字列の値を番号で保持するための対応表。
+ * 空の値は {@link #UNKNOWN} として登録します。番号は登録順に0から振り、削除しません。
+ * 呼び出し元の表のロックの内側で使用します。
+ */
+final class Dictionary {
+
+    /** 値が空の場合の表示名 */
+    static final String UNKNOWN = "不明";
+
+    /** {@link #find(String)} で値が登録されていない場合の番号 */
+    static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    int encode(String value) {
+        String label = value == null || value.isBlank() ? UNKNOWN : value;
+        return codes.computeIfAbsent(label, key -> {
+            labels.add(key);
+            return labels.size() - 1;
+        });
+    }
+
+    int find(String value) {
+        return codes.getOrDefault(value, NOT_FOUND);
+    }
+
+    String labelOf(int code) {
+        return labels.get(code);
+    }
+
+    int size() {
+        return labels.size();
+    }
+}
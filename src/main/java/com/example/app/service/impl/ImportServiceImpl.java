@@ -0,0 +1,488 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.event.TenantChangedEvent;
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.mapper.TenantMapper;
+import com.example.app.model.ImportReport;
+import com.example.app.model.ImportRowError;
+import com.example.app.model.Lease;
+import com.example.app.model.Property;
+import com.example.app.model.Tenant;
+import com.example.app.service.ImportEntityType;
+import com.example.app.service.ImportService;
+import com.example.app.service.PortfolioService;
+import com.example.app.util.Csv;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * ImportServiceインターフェースの実装クラス。
+ * CSVの解析と検証はチャンク単位で並列に行い、登録はMyBatisのBATCH実行モードで
+ * チャンクごとのトランザクションにまとめて行います。
+ * 読み込み済みで未登録のチャンク数に上限を設けるため、ファイルサイズにかかわらず一定のメモリで動作します。
+ * 物件・契約を登録した場合は、取込の完了後にダッシュボードの集計値を全件の数え直しで更新します。
+ * 契約は同じ物件の登録済みの契約とチャンク内の他の行の両方と期間が重ならないことを確認し、
+ * 契約を登録した物件の契約期間の索引は、チャンクのコミット後に破棄します。
+ */
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final Set<String> LEASE_STATUSES = Set.of("ACTIVE", "NOTICE", "ENDED");
+
+    private static final char BOM = '\uFEFF';
+
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PortfolioService portfolioService;
+    private final LeasePeriodIndex leasePeriodIndex;
+    private final SqlSessionTemplate batchSession;
+    private final PropertyMapper batchPropertyMapper;
+    private final TenantMapper batchTenantMapper;
+    private final LeaseMapper batchLeaseMapper;
+
+    /** 1トランザクションで登録する最大行数 */
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportServiceImpl(SqlSessionFactory sqlSessionFactory,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             PortfolioService portfolioService,
+                             LeasePeriodIndex leasePeriodIndex) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.portfolioService = portfolioService;
+        this.leasePeriodIndex = leasePeriodIndex;
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchPropertyMapper = batchSession.getMapper(PropertyMapper.class);
+        this.batchTenantMapper = batchSession.getMapper(TenantMapper.class);
+        this.batchLeaseMapper = batchSession.getMapper(LeaseMapper.class);
+    }
+
+    @Override
+    public ImportReport importCsv(ImportEntityType type, InputStream in) throws IOException {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = readHeader(reader, type, report);
+        if (columns != null) {
+            switch (type) {
+                case PROPERTY -> importRows(reader, columns, new PropertyRows(), report);
+                case TENANT -> importRows(reader, columns, new TenantRows(), report);
+                case LEASE -> importRows(reader, columns, new LeaseRows(), report);
+            }
+        }
+        if (type != ImportEntityType.TENANT && report.getImportedRows() > 0) {
+            portfolioService.reconcile();
+        }
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} of {} {} rows in {} ms ({} rows/s)", report.getImportedRows(), report.getTotalRows(),
+            type, report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * ヘッダー行を読み込み、列名から列位置への対応表を作成します。
+     * 必須の列が不足している場合はエラーを記録してnullを返します。
+     */
+    private Map<String, Integer> readHeader(BufferedReader reader, ImportEntityType type, ImportReport report)
+            throws IOException {
+        String line = Csv.readRecord(reader);
+        if (line == null) {
+            report.addError(1, "ヘッダー行がありません");
+            return null;
+        }
+        if (!line.isEmpty() && line.charAt(0) == BOM) {
+            line = line.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = Csv.parseRecord(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = type.getRequiredColumns().stream()
+            .filter(column -> !columns.containsKey(column))
+            .toList();
+        if (!missing.isEmpty()) {
+            report.addError(1, "必須の列がありません: " + String.join(", ", missing));
+            return null;
+        }
+        return columns;
+    }
+
+    /**
+     * データ行をチャンクに分けて解析と登録を行います。
+     * 解析は共通プールで並列に実行し、登録はファイルの順序どおりに1チャンクずつ行います。
+     */
+    private <T> void importRows(BufferedReader reader, Map<String, Integer> columns, RowHandler<T> handler,
+                                ImportReport report) throws IOException {
+        int maxPending = ForkJoinPool.getCommonPoolParallelism() + 1;
+        Deque<CompletableFuture<Chunk<T>>> pending = new ArrayDeque<>();
+        List<Line> lines = new ArrayList<>(chunkSize);
+        long nextRowNumber = 2;
+        String text;
+        while ((text = Csv.readRecord(reader)) != null) {
+            // フィールド内の改行を含むレコードは複数行にわたるため、行番号はレコードの先頭の行を指します
+            long rowNumber = nextRowNumber;
+            nextRowNumber += text.chars().filter(c -> c == '\n').count() + 1;
+            if (text.isBlank()) {
+                continue;
+            }
+            lines.add(new Line(rowNumber, text));
+            if (lines.size() >= chunkSize) {
+                pending.add(parseAsync(lines, columns, handler));
+                lines = new ArrayList<>(chunkSize);
+                if (pending.size() >= maxPending) {
+                    write(pending.removeFirst().join(), handler, report);
+                }
+            }
+        }
+        if (!lines.isEmpty()) {
+            pending.add(parseAsync(lines, columns, handler));
+        }
+        while (!pending.isEmpty()) {
+            write(pending.removeFirst().join(), handler, report);
+        }
+    }
+
+    private <T> CompletableFuture<Chunk<T>> parseAsync(List<Line> lines, Map<String, Integer> columns,
+                                                       RowHandler<T> handler) {
+        return CompletableFuture.supplyAsync(() -> parse(lines, columns, handler));
+    }
+
+    /**
+     * チャンク内の各行をモデルに変換し、モデルクラスの検証アノテーションで検証します。
+     */
+    private <T> Chunk<T> parse(List<Line> lines, Map<String, Integer> columns, RowHandler<T> handler) {
+        Chunk<T> chunk = new Chunk<>(new ArrayList<>(lines.size()), new ArrayList<>());
+        for (Line line : lines) {
+            try {
+                T entity = handler.parse(new Row(Csv.parseRecord(line.text()), columns));
+                Set<ConstraintViolation<T>> violations = validator.validate(entity);
+                if (violations.isEmpty()) {
+                    chunk.rows().add(new ParsedRow<>(line.number(), entity));
+                } else {
+                    chunk.errors().add(new ImportRowError(line.number(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+                }
+            } catch (IllegalArgumentException e) {
+                chunk.errors().add(new ImportRowError(line.number(), e.getMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 1チャンク分の行を1トランザクションで登録します。
+     * 登録に失敗した場合はチャンク全体をロールバックし、検証で既に除外した行を除く対象行をエラーとして記録します。
+     */
+    private <T> void write(Chunk<T> chunk, RowHandler<T> handler, ImportReport report) {
+        report.setTotalRows(report.getTotalRows() + chunk.rows().size() + chunk.errors().size());
+        List<ImportRowError> errors = new ArrayList<>(chunk.errors());
+        if (!chunk.rows().isEmpty()) {
+            List<ParsedRow<T>> accepted = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    accepted.addAll(handler.check(chunk.rows(), errors));
+                    for (ParsedRow<T> row : accepted) {
+                        handler.insert(row.entity());
+                    }
+                    batchSession.flushStatements();
+                    handler.flushed(accepted);
+                });
+                report.setImportedRows(report.getImportedRows() + accepted.size());
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Import chunk rolled back", e);
+                String message = "登録に失敗しました: " + e.getMostSpecificCause().getMessage();
+                // 検証の途中で失敗した場合も、既に除外した行は1件のエラーとして報告します
+                Set<Long> rejected = errors.stream().map(ImportRowError::getRowNumber).collect(Collectors.toSet());
+                for (ParsedRow<T> row : chunk.rows()) {
+                    if (!rejected.contains(row.rowNumber())) {
+                        errors.add(new ImportRowError(row.rowNumber(), message));
+                    }
+                }
+            }
+        }
+        errors.sort(Comparator.comparingLong(ImportRowError::getRowNumber));
+        for (ImportRowError error : errors) {
+            report.addError(error.getRowNumber(), error.getMessage());
+        }
+    }
+
+    /**
+     * 取込対象ごとの変換・一括検証・登録処理を表すインターフェース。
+     */
+    private interface RowHandler<T> {
+        /**
+         * CSVの1行をモデルに変換します。
+         *
+         * @throws IllegalArgumentException 値の形式が正しくない場合
+         */
+        T parse(Row row);
+
+        /**
+         * データベースの状態に依存する検証をチャンク単位でまとめて行います。
+         * 登録できない行はerrorsに記録し、登録する行のみを返します。
+         */
+        default List<ParsedRow<T>> check(List<ParsedRow<T>> rows, List<ImportRowError> errors) {
+            return rows;
+        }
+
+        void insert(T entity);
+
+        /**
+         * チャンクのバッチ実行後、コミット前に呼び出されます。
+         * 採番されたIDが設定済みのため、変更イベントの発行に使用します。
+         */
+        default void flushed(List<ParsedRow<T>> rows) {
+        }
+    }
+
+    private final class PropertyRows implements RowHandler<Property> {
+        @Override
+        public Property parse(Row row) {
+            Property property = new Property();
+            property.setName(row.text("name"));
+            property.setAddress(row.text("address"));
+            property.setArea(row.text("area"));
+            property.setRooms(row.text("rooms"));
+            return property;
+        }
+
+        @Override
+        public void insert(Property property) {
+            batchPropertyMapper.insert(property);
+        }
+
+        @Override
+        public void flushed(List<ParsedRow<Property>> rows) {
+            for (ParsedRow<Property> row : rows) {
+                eventPublisher.publishEvent(new PropertyChangedEvent(row.entity().getId(), row.entity()));
+            }
+        }
+    }
+
+    private final class TenantRows implements RowHandler<Tenant> {
+        @Override
+        public Tenant parse(Row row) {
+            Tenant tenant = new Tenant();
+            tenant.setFullName(row.text("full_name"));
+            tenant.setPhone(row.text("phone"));
+            tenant.setEmail(row.text("email"));
+            return tenant;
+        }
+
+        @Override
+        public void insert(Tenant tenant) {
+            batchTenantMapper.insert(tenant);
+        }
+
+        @Override
+        public void flushed(List<ParsedRow<Tenant>> rows) {
+            for (ParsedRow<Tenant> row : rows) {
+                eventPublisher.publishEvent(new TenantChangedEvent(row.entity().getId(), row.entity()));
+            }
+        }
+    }
+
+    private final class LeaseRows implements RowHandler<Lease> {
+        @Override
+        public Lease parse(Row row) {
+            Lease lease = new Lease();
+            lease.setPropertyId(row.longValue("property_id", "物件ID"));
+            lease.setTenantId(row.longValue("tenant_id", "入居者ID"));
+            lease.setRent(row.intValue("rent", "月額賃料"));
+            lease.setStartDate(row.date("start_date", "契約開始日"));
+            lease.setEndDate(row.date("end_date", "契約終了日"));
+            lease.setDeposit(row.intValue("deposit", "敷金"));
+            lease.setKeymoney(row.intValue("keymoney", "礼金"));
+            String status = row.text("status");
+            if (status != null && !LEASE_STATUSES.contains(status)) {
+                throw new IllegalArgumentException("契約状態はACTIVE、NOTICE、ENDEDのいずれかを指定してください: " + status);
+            }
+            lease.setStatus(status);
+            return lease;
+        }
+
+        /**
+         * 物件・入居者の存在と、物件ごとに有効な契約が1件までという制約、同じ物件の契約と期間が重ならないことを、
+         * チャンク内の行をまとめて問い合わせて検証します。
+         * 期間は登録済みの契約（{@link LeasePeriodIndex}）と、同じチャンク内で先に登録する行の両方と比べます。
+         * 同じチャンク内で同一物件に複数の有効な契約がある場合は、先頭の行のみを登録します。
+         * 画面からの登録と同時に実行されても重複しないよう、対象のすべての物件をロックしてから確認します。
+         */
+        @Override
+        public List<ParsedRow<Lease>> check(List<ParsedRow<Lease>> rows, List<ImportRowError> errors) {
+            Set<Long> propertyIds = rows.stream().map(row -> row.entity().getPropertyId()).collect(Collectors.toSet());
+            Set<Long> tenantIds = rows.stream().map(row -> row.entity().getTenantId()).collect(Collectors.toSet());
+            Set<Long> existingProperties = new HashSet<>(batchPropertyMapper.findExistingIds(propertyIds));
+            Set<Long> existingTenants = new HashSet<>(batchTenantMapper.findExistingIds(tenantIds));
+            Set<Long> activeProperties = new HashSet<>();
+            if (!existingProperties.isEmpty()) {
+                batchLeaseMapper.lockProperties(existingProperties);
+                activeProperties.addAll(batchLeaseMapper.findPropertyIdsWithActiveLease(existingProperties));
+            }
+
+            List<ParsedRow<Lease>> accepted = new ArrayList<>(rows.size());
+            Map<Long, List<ParsedRow<Lease>>> acceptedByProperty = new HashMap<>();
+            for (ParsedRow<Lease> row : rows) {
+                Lease lease = row.entity();
+                if (!existingProperties.contains(lease.getPropertyId())) {
+                    errors.add(new ImportRowError(row.rowNumber(), "物件が存在しません: " + lease.getPropertyId()));
+                    continue;
+                }
+                if (!existingTenants.contains(lease.getTenantId())) {
+                    errors.add(new ImportRowError(row.rowNumber(), "入居者が存在しません: " + lease.getTenantId()));
+                    continue;
+                }
+                if ("ACTIVE".equals(lease.getStatus()) && activeProperties.contains(lease.getPropertyId())) {
+                    errors.add(new ImportRowError(row.rowNumber(), "物件には既に有効な賃貸契約があります"));
+                    continue;
+                }
+                String overlap = findOverlap(lease, acceptedByProperty.getOrDefault(lease.getPropertyId(), List.of()));
+                if (overlap != null) {
+                    errors.add(new ImportRowError(row.rowNumber(), overlap));
+                    continue;
+                }
+                if ("ACTIVE".equals(lease.getStatus())) {
+                    activeProperties.add(lease.getPropertyId());
+                }
+                acceptedByProperty.computeIfAbsent(lease.getPropertyId(), id -> new ArrayList<>()).add(row);
+                accepted.add(row);
+            }
+            return accepted;
+        }
+
+        /**
+         * 契約の期間と重なる、登録済みの契約または同じチャンク内で先に登録する行を探します。
+         *
+         * @return 重なる契約がある場合はエラーメッセージ、ない場合はnull
+         */
+        private String findOverlap(Lease lease, List<ParsedRow<Lease>> earlierRows) {
+            LeasePeriodIndex.Period period = LeasePeriodIndex.Period.of(lease);
+            if (period == null) {
+                return null;
+            }
+            LeasePeriodIndex.Period existing = leasePeriodIndex.findImportOverlap(lease, batchLeaseMapper);
+            if (existing != null) {
+                return String.format("契約期間が登録済みの契約 %d（%s〜%s）と重なっています", existing.leaseId(),
+                    existing.startDate(), existing.endDate() == null ? "終了日なし" : existing.endDate());
+            }
+            for (ParsedRow<Lease> earlier : earlierRows) {
+                LeasePeriodIndex.Period other = LeasePeriodIndex.Period.of(earlier.entity());
+                if (other != null && other.overlaps(period)) {
+                    return "契約期間が" + earlier.rowNumber() + "行目の契約と重なっています";
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void insert(Lease lease) {
+            batchLeaseMapper.insert(lease);
+        }
+
+        @Override
+        public void flushed(List<ParsedRow<Lease>> rows) {
+            Set<Long> propertyIds = new HashSet<>();
+            for (ParsedRow<Lease> row : rows) {
+                Lease lease = row.entity();
+                propertyIds.add(lease.getPropertyId());
+                eventPublisher.publishEvent(new LeaseChangedEvent(lease.getPropertyId(), lease.getTenantId()));
+            }
+            leasePeriodIndex.leasesImported(propertyIds);
+        }
+    }
+
+    /**
+     * ヘッダー行の列名で値を取り出せるCSVの1行。
+     * 空欄と存在しない列はnullとして扱います。
+     */
+    private record Row(List<String> fields, Map<String, Integer> columns) {
+        String text(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        Long longValue(String column, String label) {
+            String value = text(column);
+            try {
+                return value == null ? null : Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(label + "の形式が正しくありません: " + value);
+            }
+        }
+
+        Integer intValue(String column, String label) {
+            String value = text(column);
+            try {
+                return value == null ? null : Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(label + "の形式が正しくありません: " + value);
+            }
+        }
+
+        LocalDate date(String column, String label) {
+            String value = text(column);
+            try {
+                return value == null ? null : LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(label + "はyyyy-MM-dd形式で入力してください: " + value);
+            }
+        }
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    private record ParsedRow<T>(long rowNumber, T entity) {
+    }
+
+    private record Chunk<T>(List<ParsedRow<T>> rows, List<ImportRowError> errors) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import com.example.app.service.LeaseExpiryService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LeaseExpiryServiceインターフェースの実装クラス。
+ *
+ * <p>起動時と毎日（{@code app.lease-expiry.cron}、既定は0時5分）、終了日を過ぎた契約を
+ * {@code app.lease-expiry.chunk-size} 件ずつ1つの更新文でENDEDにします。
+ * 1回の更新ごとにトランザクションをコミットするため、ロックを保持するのは1回分の行と集計用の行の間だけです。
+ * 同じトランザクション内でダッシュボードの集計値に反映し、契約変更イベントを発行して
+ * 契約一覧のキャッシュと賃料集計をコミット後に更新します。
+ * 実行回数・時間と終了にした件数は、メトリクス {@code lease.expiry.runs}・{@code lease.expiry.transitions} で確認できます。
+ */
+@Slf4j
+@Service
+public class LeaseExpiryServiceImpl implements LeaseExpiryService, MeterBinder {
+
+    private final LeaseMapper leaseMapper;
+    private final PortfolioCounters portfolioCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /** 実行中の場合はtrue（起動時の実行と定期実行が重ならないようにするため） */
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+    private final AtomicLong transitions = new AtomicLong();
+
+    public LeaseExpiryServiceImpl(LeaseMapper leaseMapper,
+                                  PortfolioCounters portfolioCounters,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.lease-expiry.chunk-size:500}") int chunkSize) {
+        this.leaseMapper = leaseMapper;
+        this.portfolioCounters = portfolioCounters;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("lease.expiry.runs", this,
+                service -> service.runs.get(), service -> service.runNanos.get(), TimeUnit.NANOSECONDS)
+            .description("終了日を過ぎた契約を終了にする処理の実行回数と時間")
+            .register(registry);
+        FunctionCounter.builder("lease.expiry.transitions", transitions, AtomicLong::get)
+            .description("終了日を過ぎてENDEDにした契約の件数")
+            .register(registry);
+    }
+
+    @Override
+    public int expireLeases(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Lease expiry is already running; skipped");
+            return 0;
+        }
+        long started = System.nanoTime();
+        int total = 0;
+        try {
+            int ended;
+            do {
+                ended = transactionTemplate.execute(status -> endChunk(today));
+                transitions.addAndGet(ended);
+                total += ended;
+            } while (ended == chunkSize);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            runNanos.addAndGet(elapsed);
+            runs.incrementAndGet();
+            running.set(false);
+            if (total > 0) {
+                log.info("Ended {} expired leases in {} ms", total, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 起動時と毎日、当日より前に終了日を迎えた契約を終了にします。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.lease-expiry.cron:0 5 0 * * *}")
+    public void expireLeasesOnSchedule() {
+        expireLeases(LocalDate.now());
+    }
+
+    /**
+     * 1回分の契約を終了にし、集計値への反映とイベントの発行を同じトランザクション内で行います。
+     *
+     * @return 終了にした件数
+     */
+    private int endChunk(LocalDate today) {
+        List<Lease> ended = leaseMapper.endExpiredReturningPrevious(today, chunkSize);
+        if (ended.isEmpty()) {
+            return 0;
+        }
+        portfolioCounters.leasesEnded(ended);
+        for (Lease lease : ended) {
+            eventPublisher.publishEvent(new LeaseChangedEvent(lease.getPropertyId(), lease.getTenantId()));
+        }
+        return ended.size();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import com.example.app.model.LeaseExportFilter;
+import com.example.app.model.Property;
+import com.example.app.model.Tenant;
+import com.example.app.service.LeaseExportFormat;
+import com.example.app.service.LeaseExportService;
+import com.example.app.util.Csv;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * LeaseExportServiceインターフェースの実装クラス。
+ * MyBatisのCursorで1行ずつ読み出しながら書き出すため、
+ * 契約データ全体をメモリに保持しません。
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaseExportServiceImpl implements LeaseExportService {
+
+    /** 出力する列の見出し（CSVのヘッダー行とNDJSONのキーに共通） */
+    private static final String[] COLUMNS = {
+        "lease_id", "status", "rent", "deposit", "keymoney", "start_date", "end_date",
+        "property_id", "property_name", "property_address", "property_area", "property_rooms",
+        "tenant_id", "tenant_full_name", "tenant_phone", "tenant_email"
+    };
+
+    private static final char BOM = '\uFEFF';
+
+    private final LeaseMapper leaseMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@inheritDoc}
+     * Cursorの読み出し中はデータベース接続を保持する必要があるため、
+     * 読み取り専用トランザクション内で実行します。
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportLeases(LeaseExportFilter filter, LeaseExportFormat format, OutputStream out) throws IOException {
+        try (Cursor<Lease> cursor = leaseMapper.streamWithDetails(filter)) {
+            return switch (format) {
+                case CSV -> writeCsv(cursor, out);
+                case NDJSON -> writeNdjson(cursor, out);
+            };
+        }
+    }
+
+    private long writeCsv(Cursor<Lease> cursor, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(BOM);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        long count = 0;
+        for (Lease lease : cursor) {
+            Object[] values = valuesOf(lease);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(Csv.escape(values[i]));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Cursor<Lease> cursor, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            for (Lease lease : cursor) {
+                Object[] values = valuesOf(lease);
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    writeField(generator, COLUMNS[i], values[i]);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeField(JsonGenerator generator, String name, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else if (value instanceof Number number) {
+            generator.writeNumberField(name, number.longValue());
+        } else {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+
+    /**
+     * 契約情報を出力列の順に並べた値の配列に変換します。
+     *
+     * @param lease 物件情報と入居者情報を含む契約情報
+     * @return 出力列の値
+     */
+    private static Object[] valuesOf(Lease lease) {
+        Property property = Objects.requireNonNullElseGet(lease.getProperty(), Property::new);
+        Tenant tenant = Objects.requireNonNullElseGet(lease.getTenant(), Tenant::new);
+        return new Object[] {
+            lease.getId(), lease.getStatus(), lease.getRent(), lease.getDeposit(), lease.getKeymoney(),
+            lease.getStartDate(), lease.getEndDate(),
+            lease.getPropertyId(), property.getName(), property.getAddress(), property.getArea(), property.getRooms(),
+            lease.getTenantId(), tenant.getFullName(), tenant.getPhone(), tenant.getEmail()
+        };
+    }
+}
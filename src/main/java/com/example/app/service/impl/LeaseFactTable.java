@@ -0,0 +1,336 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.LeaseFact;
+import com.example.app.model.RentRollReport;
+import com.example.app.model.RentRollRow;
+import com.example.app.service.RentRollDimension;
+import com.example.app.util.Wards;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 賃料集計用に契約を列ごとのプリミティブ配列で保持するメモリ上の表。
+ *
+ * <p>賃料・敷金・礼金は int、開始日・終了日はエポック日（終了日が未定の場合は {@link Integer#MAX_VALUE}）、
+ * 状態・間取り・地域は辞書の番号で保持するため、1件あたり約40バイトで、集計時にオブジェクトを生成しません。
+ * 物件の契約を入れ替える場合、古い行には削除の印を付けて末尾に追加し、削除済みの行が半数を超えたら詰め直します。
+ * 集計は行を範囲に分けて並列に走査し、範囲ごとの集計値を合算します。
+ * 複数スレッドから同時に更新・集計できます（更新は集計の完了を待ちます）。
+ */
+final class LeaseFactTable {
+
+    /** 地域・間取りが判別できない契約の表示名 */
+    static final String UNKNOWN = Dictionary.UNKNOWN;
+
+    /** 1つの並列タスクが走査する最小の行数。これより少ない表は呼び出し元のスレッドだけで走査します */
+    static final int MIN_ROWS_PER_TASK = 16_384;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int OPEN_ENDED = Integer.MAX_VALUE;
+    private static final byte REMOVED = -1;
+
+    /** グループごとに保持する集計値の数と、その並び */
+    private static final int METRICS = 5;
+    private static final int LEASE_MONTHS = 0;
+    private static final int RENT_ROLL = 1;
+    private static final int NEW_LEASES = 2;
+    private static final int DEPOSITS = 3;
+    private static final int KEYMONEYS = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary rooms = new Dictionary();
+    private final Dictionary wards = new Dictionary();
+
+    private int size;
+    private int removed;
+    private long[] propertyIds = new long[INITIAL_CAPACITY];
+    private int[] rents = new int[INITIAL_CAPACITY];
+    private int[] deposits = new int[INITIAL_CAPACITY];
+    private int[] keymoneys = new int[INITIAL_CAPACITY];
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private byte[] statusCodes = new byte[INITIAL_CAPACITY];
+    private int[] roomsCodes = new int[INITIAL_CAPACITY];
+    private int[] wardCodes = new int[INITIAL_CAPACITY];
+
+    /**
+     * 契約を1件追加します。
+     *
+     * @param fact 追加する契約
+     */
+    void add(LeaseFact fact) {
+        lock.writeLock().lock();
+        try {
+            append(fact);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された物件の契約をすべて入れ替えます。
+     *
+     * @param propertyIdsToReplace 入れ替える物件のID
+     * @param facts 入れ替え後の契約（指定された物件のもののみ）
+     */
+    void replaceProperties(Collection<Long> propertyIdsToReplace, List<LeaseFact> facts) {
+        long[] targets = propertyIdsToReplace.stream().mapToLong(Long::longValue).sorted().toArray();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (statusCodes[i] != REMOVED && Arrays.binarySearch(targets, propertyIds[i]) >= 0) {
+                    statusCodes[i] = REMOVED;
+                    removed++;
+                }
+            }
+            facts.forEach(this::append);
+            if (removed * 2 > size) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 保持している契約の件数を返します。
+     *
+     * @return 削除済みの行を除いた件数
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された期間の賃料を集計します。
+     *
+     * <p>契約は開始日の月から終了日の月まで（終了日が未定の場合は、状態がENDEDでなければ期間の最後まで）
+     * 毎月有効だったものとして、その月の契約月数と賃料の合計に加えます。
+     * 敷金・礼金と新規契約の件数は、開始日の月にのみ加えます。
+     *
+     * @param from 集計期間の開始月
+     * @param to 集計期間の終了月
+     * @param groupBy 集計軸
+     * @param parallelism 走査に使用するスレッド数の上限
+     * @return 集計結果
+     */
+    RentRollReport aggregate(YearMonth from, YearMonth to, Set<RentRollDimension> groupBy, int parallelism) {
+        int months = (int) from.until(to, ChronoUnit.MONTHS) + 1;
+        int[] monthStarts = new int[months];
+        int[] monthEnds = new int[months];
+        for (int k = 0; k < months; k++) {
+            YearMonth month = from.plusMonths(k);
+            monthStarts[k] = (int) month.atDay(1).toEpochDay();
+            monthEnds[k] = (int) month.atEndOfMonth().toEpochDay();
+        }
+
+        lock.readLock().lock();
+        try {
+            Layout layout = new Layout(
+                groupBy.contains(RentRollDimension.AREA) ? wards.size() : 1,
+                groupBy.contains(RentRollDimension.ROOMS) ? rooms.size() : 1,
+                groupBy.contains(RentRollDimension.MONTH) ? months : 1,
+                statuses.find("ENDED"), monthStarts, monthEnds);
+            int rows = size;
+            int tasks = Math.max(1, Math.min(parallelism, rows / MIN_ROWS_PER_TASK));
+            int rowsPerTask = (rows + tasks - 1) / tasks;
+            IntStream taskIds = IntStream.range(0, tasks);
+            long[] totals = (tasks > 1 ? taskIds.parallel() : taskIds)
+                .mapToObj(task -> scan(layout, task * rowsPerTask, Math.min(rows, (task + 1) * rowsPerTask)))
+                .reduce(LeaseFactTable::merge)
+                .orElseGet(() -> new long[layout.groups() * METRICS]);
+            return toReport(from, to, groupBy, layout, totals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された範囲の行を走査して、グループごとの集計値を求めます。
+     * 集計を呼び出したスレッドが読み取りロックを保持している間に実行されます。
+     */
+    private long[] scan(Layout layout, int fromRow, int toRow) {
+        long[] values = new long[layout.groups() * METRICS];
+        int[] monthStarts = layout.monthStarts();
+        int[] monthEnds = layout.monthEnds();
+        int lastMonth = monthStarts.length - 1;
+        for (int i = fromRow; i < toRow; i++) {
+            byte status = statusCodes[i];
+            if (status == REMOVED) {
+                continue;
+            }
+            int startDay = startDays[i];
+            int endDay = endDays[i];
+            int first = insertionPoint(Arrays.binarySearch(monthEnds, startDay));
+            if (first > lastMonth) {
+                continue;
+            }
+            int last;
+            if (endDay == OPEN_ENDED) {
+                last = status == layout.endedStatus() ? -1 : lastMonth;
+            } else {
+                int found = Arrays.binarySearch(monthStarts, endDay);
+                last = found >= 0 ? found : -found - 2;
+            }
+            int base = layout.baseOf(layout.areas() > 1 ? wardCodes[i] : 0, layout.rooms() > 1 ? roomsCodes[i] : 0);
+            boolean byMonth = layout.months() > 1;
+            int rent = rents[i];
+            for (int k = first; k <= last; k++) {
+                int offset = (base + (byMonth ? k : 0)) * METRICS;
+                values[offset + LEASE_MONTHS]++;
+                values[offset + RENT_ROLL] += rent;
+            }
+            if (monthStarts[first] <= startDay) {
+                int offset = (base + (byMonth ? first : 0)) * METRICS;
+                values[offset + NEW_LEASES]++;
+                values[offset + DEPOSITS] += deposits[i];
+                values[offset + KEYMONEYS] += keymoneys[i];
+            }
+        }
+        return values;
+    }
+
+    private static int insertionPoint(int found) {
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private static long[] merge(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private RentRollReport toReport(YearMonth from, YearMonth to, Set<RentRollDimension> groupBy,
+                                    Layout layout, long[] values) {
+        RentRollReport report = new RentRollReport();
+        report.setFrom(from);
+        report.setTo(to);
+        groupBy.forEach(dimension -> report.getGroupBy().add(dimension.getParameter()));
+        RentRollRow total = new RentRollRow();
+        for (int area = 0; area < layout.areas(); area++) {
+            for (int room = 0; room < layout.rooms(); room++) {
+                for (int k = 0; k < layout.months(); k++) {
+                    int offset = (layout.baseOf(area, room) + k) * METRICS;
+                    if (values[offset + LEASE_MONTHS] == 0 && values[offset + NEW_LEASES] == 0) {
+                        continue;
+                    }
+                    RentRollRow row = new RentRollRow();
+                    if (groupBy.contains(RentRollDimension.AREA)) {
+                        row.setArea(wards.labelOf(area));
+                    }
+                    if (groupBy.contains(RentRollDimension.ROOMS)) {
+                        row.setRooms(rooms.labelOf(room));
+                    }
+                    if (groupBy.contains(RentRollDimension.MONTH)) {
+                        row.setMonth(from.plusMonths(k));
+                    }
+                    addTo(row, values, offset);
+                    addTo(total, values, offset);
+                    report.getRows().add(row);
+                }
+            }
+        }
+        report.getRows().sort(Comparator
+            .comparing(RentRollRow::getArea, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(RentRollRow::getRooms, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(RentRollRow::getMonth, Comparator.nullsFirst(Comparator.<YearMonth>naturalOrder())));
+        report.setTotal(total);
+        report.setScannedLeases(size - removed);
+        return report;
+    }
+
+    private static void addTo(RentRollRow row, long[] values, int offset) {
+        row.setLeaseMonths(row.getLeaseMonths() + values[offset + LEASE_MONTHS]);
+        row.setRentRoll(row.getRentRoll() + values[offset + RENT_ROLL]);
+        row.setNewLeases(row.getNewLeases() + values[offset + NEW_LEASES]);
+        row.setDepositTotal(row.getDepositTotal() + values[offset + DEPOSITS]);
+        row.setKeymoneyTotal(row.getKeymoneyTotal() + values[offset + KEYMONEYS]);
+    }
+
+    private void append(LeaseFact fact) {
+        if (size == propertyIds.length) {
+            int capacity = size * 2;
+            propertyIds = Arrays.copyOf(propertyIds, capacity);
+            rents = Arrays.copyOf(rents, capacity);
+            deposits = Arrays.copyOf(deposits, capacity);
+            keymoneys = Arrays.copyOf(keymoneys, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            roomsCodes = Arrays.copyOf(roomsCodes, capacity);
+            wardCodes = Arrays.copyOf(wardCodes, capacity);
+        }
+        propertyIds[size] = fact.getPropertyId();
+        rents[size] = valueOf(fact.getRent());
+        deposits[size] = valueOf(fact.getDeposit());
+        keymoneys[size] = valueOf(fact.getKeymoney());
+        startDays[size] = dayOf(fact.getStartDate(), Integer.MIN_VALUE);
+        endDays[size] = dayOf(fact.getEndDate(), OPEN_ENDED);
+        statusCodes[size] = (byte) statuses.encode(fact.getStatus());
+        roomsCodes[size] = rooms.encode(fact.getRooms());
+        wardCodes[size] = wards.encode(Wards.of(fact.getAddress()));
+        size++;
+    }
+
+    /**
+     * 削除済みの行を取り除き、残りの行を先頭から詰め直します。
+     */
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (statusCodes[i] == REMOVED) {
+                continue;
+            }
+            propertyIds[kept] = propertyIds[i];
+            rents[kept] = rents[i];
+            deposits[kept] = deposits[i];
+            keymoneys[kept] = keymoneys[i];
+            startDays[kept] = startDays[i];
+            endDays[kept] = endDays[i];
+            statusCodes[kept] = statusCodes[i];
+            roomsCodes[kept] = roomsCodes[i];
+            wardCodes[kept] = wardCodes[i];
+            kept++;
+        }
+        size = kept;
+        removed = 0;
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static int dayOf(LocalDate date, int absent) {
+        return date == null ? absent : (int) date.toEpochDay();
+    }
+
+    /**
+     * 集計値の配列上のグループの並び。グループは（地域, 間取り, 年月）の順に並べます。
+     * 集計軸に指定されなかった項目は1種類とみなします。
+     */
+    private record Layout(int areas, int rooms, int months, int endedStatus, int[] monthStarts, int[] monthEnds) {
+        int groups() {
+            return areas * rooms * months;
+        }
+
+        int baseOf(int area, int room) {
+            return (area * rooms + room) * months;
+        }
+    }
+}
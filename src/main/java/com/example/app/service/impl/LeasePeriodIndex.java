@@ -0,0 +1,351 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 物件ごとの契約期間の索引。契約の登録・更新の前に、同じ物件の他の契約と期間が重ならないことを確認します。
+ *
+ * <p>物件ごとに契約期間を開始日順に並べ、先頭から各位置までの終了日の最大値を合わせて保持します。
+ * 新しい期間の終了日以前に始まる最後の契約を二分探索で求め、そこまでの終了日の最大値が新しい期間の開始日より前であれば
+ * 重なる契約はないため、物件の契約件数nに対してO(log n)で判定できます。
+ * 終了日のない契約は無期限として扱い、終了日のない終了済み（ENDED）の契約は期間が分からないため対象外です。
+ *
+ * <p>物件の契約期間は、その物件を最初に確認するときに読み込みます。確認は物件の行をロックした後に行い、
+ * 登録・更新した契約の期間はロックを保持したまま同じトランザクション内で反映するため、
+ * ロックを待っていた次の書き込みは必ず反映後の索引で確認します。ロールバックされる場合は、ロックを解放する前に
+ * 物件の索引を破棄します。期間がなくなる変更（削除、別の物件への移動）はコミット後に反映するため、
+ * 反映までの間は重なりを多めに判定する側に倒れます。
+ * 一括取込では {@link #findImportOverlap(Lease, LeaseMapper)} で登録済みの契約と重ならないことを確認し、
+ * {@link #leasesImported(Collection)} でコミット後に物件の索引を破棄します。
+ */
+@Component
+public class LeasePeriodIndex {
+
+    private final LeaseMapper leaseMapper;
+
+    /** 物件IDごとの契約期間 */
+    private final Map<Long, Periods> periodsByProperty = new ConcurrentHashMap<>();
+
+    /**
+     * 期間の削除・索引の破棄のたびに増える値。
+     * 読み込みの途中で削除・破棄された場合は、古い内容を読み込んだ可能性があるため保持しません。
+     */
+    private final AtomicLong removals = new AtomicLong();
+
+    public LeasePeriodIndex(LeaseMapper leaseMapper) {
+        this.leaseMapper = leaseMapper;
+    }
+
+    /**
+     * 契約の期間と重なる、同じ物件の他の契約を探します。
+     * 同じ物件への書き込みと同時に確認しないよう、物件の行をロックした後に呼び出してください。
+     * 同じトランザクション内で削除・移動した契約は、コミット前でも除いて確認します。
+     *
+     * @param lease 登録・更新する契約情報（更新の場合は契約自身を除いて確認します）
+     * @return 重なる契約の期間。重なる契約がない場合、または確認の対象外の契約の場合はnull
+     */
+    public Period findOverlap(Lease lease) {
+        Period period = Period.of(lease);
+        if (period == null) {
+            return null;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        Set<Long> removed = changes == null
+            ? Set.of() : changes.removedLeases.getOrDefault(lease.getPropertyId(), Set.of());
+        return periodsOf(lease.getPropertyId(), leaseMapper).findOverlap(period, removed);
+    }
+
+    /**
+     * 一括取込で登録する契約の期間と重なる、同じ物件の登録済みの契約を探します。
+     * 取込はBATCH実行モードのトランザクションで行うため、索引にない物件の契約期間は取込側のMapperで読み込みます。
+     * 物件の行をロックした後に呼び出してください。
+     *
+     * @param lease 登録する契約情報
+     * @param batchLeaseMapper 取込のトランザクションで使用しているMapper
+     * @return 重なる契約の期間。重なる契約がない場合、または確認の対象外の契約の場合はnull
+     */
+    public Period findImportOverlap(Lease lease, LeaseMapper batchLeaseMapper) {
+        Period period = Period.of(lease);
+        return period == null ? null : periodsOf(lease.getPropertyId(), batchLeaseMapper).findOverlap(period, Set.of());
+    }
+
+    /**
+     * 登録・更新した契約の期間を、書き込みと同じトランザクション内で反映します。
+     * 別の物件へ移動した場合、移動前の物件からはコミット後に取り除きます。
+     *
+     * @param previous 更新前の契約情報（登録の場合はnull）
+     * @param lease 登録・更新後の契約情報
+     */
+    public void leaseWritten(Lease previous, Lease lease) {
+        Long propertyId = lease.getPropertyId();
+        Period period = Period.of(lease);
+        periodsByProperty.computeIfPresent(propertyId, (id, periods) -> periods.with(lease.getId(), period));
+        boolean moved = previous != null && !previous.getPropertyId().equals(propertyId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (moved) {
+                remove(previous.getPropertyId(), lease.getId());
+            }
+            return;
+        }
+        Changes changes = changes();
+        changes.writtenProperties.add(propertyId);
+        changes.removedLeases.getOrDefault(propertyId, new HashSet<>()).remove(lease.getId());
+        if (moved) {
+            changes.removedLeases.computeIfAbsent(previous.getPropertyId(), id -> new HashSet<>()).add(lease.getId());
+        }
+    }
+
+    /**
+     * 削除した契約の期間を、コミット後に索引から取り除きます。
+     *
+     * @param deleted 削除した契約情報
+     */
+    public void leaseDeleted(Lease deleted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(deleted.getPropertyId(), deleted.getId());
+            return;
+        }
+        changes().removedLeases.computeIfAbsent(deleted.getPropertyId(), id -> new HashSet<>()).add(deleted.getId());
+    }
+
+    /**
+     * 一括取込で契約を登録した物件の索引を、コミット後に破棄します。次に確認するときに読み込み直します。
+     *
+     * @param propertyIds 契約を登録した物件IDのリスト
+     */
+    public void leasesImported(Collection<Long> propertyIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            propertyIds.forEach(this::evict);
+            return;
+        }
+        changes().importedProperties.addAll(propertyIds);
+    }
+
+    /**
+     * 現在のトランザクションでの索引の変更を返します。最初の呼び出しでトランザクションに登録します。
+     */
+    private Changes changes() {
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    private void evict(Long propertyId) {
+        removals.incrementAndGet();
+        periodsByProperty.remove(propertyId);
+    }
+
+    private void remove(Long propertyId, Long leaseId) {
+        removals.incrementAndGet();
+        periodsByProperty.computeIfPresent(propertyId, (id, periods) -> periods.with(leaseId, null));
+    }
+
+    /**
+     * 物件の契約期間を索引から取得し、なければデータベースから読み込みます。
+     * 読み込みの後で削除・破棄が行われていた場合は、読み込んだ内容を索引から外します
+     * （その削除・破棄より後に反映された内容は残ります）。
+     */
+    private Periods periodsOf(Long propertyId, LeaseMapper mapper) {
+        Periods periods = periodsByProperty.get(propertyId);
+        if (periods != null) {
+            return periods;
+        }
+        long stamp = removals.get();
+        Periods loaded = Periods.of(mapper.findPeriodsByPropertyId(propertyId));
+        Periods current = periodsByProperty.putIfAbsent(propertyId, loaded);
+        if (current != null) {
+            return current;
+        }
+        if (removals.get() != stamp) {
+            periodsByProperty.remove(propertyId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 1つのトランザクションでの索引の変更。
+     * 期間を反映した物件はロールバックされる場合に破棄し、削除・移動した契約と一括取込した物件はコミット後に反映します。
+     */
+    private final class Changes implements TransactionSynchronization {
+
+        /** 同じトランザクション内で期間を反映した物件ID */
+        private final Set<Long> writtenProperties = new HashSet<>();
+
+        /** 物件IDごとの、削除・移動によりコミット後に取り除く契約ID */
+        private final Map<Long, Set<Long>> removedLeases = new HashMap<>();
+
+        /** 一括取込で契約を登録した物件ID */
+        private final Set<Long> importedProperties = new HashSet<>();
+
+        private boolean committing;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committing = true;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // ロールバックでは beforeCommit が呼ばれないため、物件のロックを解放する前に破棄できます
+            if (!committing) {
+                writtenProperties.forEach(LeasePeriodIndex.this::evict);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LeasePeriodIndex.this);
+            if (status == STATUS_COMMITTED) {
+                removedLeases.forEach((propertyId, leaseIds) ->
+                    leaseIds.forEach(leaseId -> remove(propertyId, leaseId)));
+                importedProperties.forEach(LeasePeriodIndex.this::evict);
+            } else {
+                writtenProperties.forEach(LeasePeriodIndex.this::evict);
+            }
+        }
+    }
+
+    /**
+     * 1件の契約の期間。
+     *
+     * @param leaseId 契約ID
+     * @param startDate 開始日
+     * @param endDate 終了日（終了日のない契約はnull）
+     */
+    public record Period(Long leaseId, LocalDate startDate, LocalDate endDate) {
+
+        /**
+         * 契約の期間を返します。開始日のない契約と、終了日のない終了済みの契約はnullです。
+         */
+        static Period of(Lease lease) {
+            if (lease.getStartDate() == null
+                    || ("ENDED".equals(lease.getStatus()) && lease.getEndDate() == null)) {
+                return null;
+            }
+            return new Period(lease.getId(), lease.getStartDate(), lease.getEndDate());
+        }
+
+        /** 比較用の終了日。終了日のない契約は {@link LocalDate#MAX} */
+        LocalDate lastDay() {
+            return endDate == null ? LocalDate.MAX : endDate;
+        }
+
+        /** 期間が1日でも重なる場合はtrue */
+        boolean overlaps(Period other) {
+            return !other.lastDay().isBefore(startDate) && !lastDay().isBefore(other.startDate);
+        }
+    }
+
+    /**
+     * 1物件の契約期間を開始日・契約ID順に並べたもの。
+     * 変更のたびに新しいインスタンスを作成するため、確認中に他のスレッドから変更されることはありません。
+     */
+    private static final class Periods {
+
+        private static final Comparator<Period> ORDER =
+            Comparator.comparing(Period::startDate).thenComparing(Period::leaseId);
+
+        private final Period[] periods;
+
+        /** maxLastDays[i] は periods[0]〜periods[i] の終了日の最大値 */
+        private final LocalDate[] maxLastDays;
+
+        private Periods(Period[] periods) {
+            this.periods = periods;
+            this.maxLastDays = new LocalDate[periods.length];
+            LocalDate max = LocalDate.MIN;
+            for (int i = 0; i < periods.length; i++) {
+                LocalDate lastDay = periods[i].lastDay();
+                max = lastDay.isAfter(max) ? lastDay : max;
+                maxLastDays[i] = max;
+            }
+        }
+
+        static Periods of(List<Lease> leases) {
+            return new Periods(leases.stream()
+                .map(Period::of)
+                .filter(period -> period != null)
+                .sorted(ORDER)
+                .toArray(Period[]::new));
+        }
+
+        /**
+         * 期間が重なる契約を、開始日の遅い順に探します。
+         * 終了日の最大値が期間の開始日より前になった位置で打ち切るため、
+         * 契約どうしが重ならない限り、調べるのは重なる契約と契約自身、除外する契約のみです。
+         *
+         * @param period 確認する期間（同じ契約IDの期間は除きます）
+         * @param excluded 除外する契約ID
+         */
+        Period findOverlap(Period period, Set<Long> excluded) {
+            for (int i = lastStartingOnOrBefore(period.lastDay());
+                    i >= 0 && !maxLastDays[i].isBefore(period.startDate()); i--) {
+                Period other = periods[i];
+                if (!other.lastDay().isBefore(period.startDate()) && !other.leaseId().equals(period.leaseId())
+                        && !excluded.contains(other.leaseId())) {
+                    return other;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 開始日が指定日以前の最後の契約の位置を返します。該当する契約がない場合は-1です。
+         */
+        private int lastStartingOnOrBefore(LocalDate date) {
+            int low = 0;
+            int high = periods.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (periods[mid].startDate().isAfter(date)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low - 1;
+        }
+
+        /**
+         * 指定した契約の期間を置き換えたものを返します。
+         *
+         * @param leaseId 契約ID
+         * @param period 新しい期間（取り除く場合はnull）
+         */
+        Periods with(Long leaseId, Period period) {
+            List<Period> changed = new ArrayList<>(periods.length + 1);
+            for (Period other : periods) {
+                if (!other.leaseId().equals(leaseId)) {
+                    changed.add(other);
+                }
+            }
+            if (period != null) {
+                changed.add(period);
+            }
+            Period[] sorted = changed.toArray(Period[]::new);
+            Arrays.sort(sorted, ORDER);
+            return new Periods(sorted);
+        }
+    }
+}
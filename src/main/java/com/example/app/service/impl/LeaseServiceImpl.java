@@ -1,24 +1,103 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.event.TenantChangedEvent;
 import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.KeysetPage;
 import com.example.app.model.Lease;
+import com.example.app.model.LeaseSummary;
+import com.example.app.model.PageCursor;
 import com.example.app.service.LeaseService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * LeaseServiceインターフェースの実装クラス。
  * 賃貸契約の管理に関するビジネスロジックを実装します。
  * 契約の重複チェックや状態管理の検証ロジックを提供します。
+ * 物件・入居者ごとの契約一覧の先頭ページをキャッシュし、契約・物件・入居者の変更が
+ * コミットされた時点で、影響を受けるエントリのみを破棄します。
+ * 契約の登録・更新・削除は、同じトランザクション内でダッシュボードの集計値に反映します。
+ * 登録・更新では、物件ごとの契約期間の索引により、同じ物件の他の契約と期間が重ならないことを確認します。
  */
 @Service
-@RequiredArgsConstructor
-public class LeaseServiceImpl implements LeaseService {
+public class LeaseServiceImpl implements LeaseService, MeterBinder {
+    
+    /** 外部キー制約違反のSQLState（PostgreSQL、H2） */
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
     
     private final LeaseMapper leaseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PortfolioCounters portfolioCounters;
+    private final LeasePeriodIndex leasePeriodIndex;
+    
+    /** 物件IDごとの契約一覧の先頭ページ */
+    private final Cache<Long, CachedPage> propertyLeasePages;
+    
+    /** 入居者IDごとの契約一覧の先頭ページ */
+    private final Cache<Long, CachedPage> tenantLeasePages;
+    
+    /** 楽観的ロックによる更新の成功・競合件数 */
+    private final UpdateOutcomes updates = new UpdateOutcomes("lease");
+    
+    public LeaseServiceImpl(LeaseMapper leaseMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            PortfolioCounters portfolioCounters,
+                            LeasePeriodIndex leasePeriodIndex,
+                            @Value("${app.cache.lease-pages.maximum-weight:20000}") long maximumWeight,
+                            @Value("${app.cache.lease-pages.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.leaseMapper = leaseMapper;
+        this.eventPublisher = eventPublisher;
+        this.portfolioCounters = portfolioCounters;
+        this.leasePeriodIndex = leasePeriodIndex;
+        this.propertyLeasePages = newPageCache(maximumWeight / 2, expireAfterWrite);
+        this.tenantLeasePages = newPageCache(maximumWeight / 2, expireAfterWrite);
+    }
+    
+    /**
+     * 契約一覧のキャッシュを作成します。
+     * エントリの重みを契約の行数とし、保持する契約の総数でヒープ使用量を制限します。
+     */
+    private static Cache<Long, CachedPage> newPageCache(long maximumWeight, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Long id, CachedPage page) -> page.rows().size() + 1)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, propertyLeasePages, "leasePagesByProperty");
+        CaffeineCacheMetrics.monitor(registry, tenantLeasePages, "leasePagesByTenant");
+        updates.bindTo(registry);
+    }
     
     @Override
     public Lease getLeaseById(Long id) {
@@ -35,59 +114,303 @@ public class LeaseServiceImpl implements LeaseService {
         return leaseMapper.findByTenantId(tenantId);
     }
     
+    /**
+     * {@inheritDoc}
+     * 先頭ページはキャッシュから返すため、返却する契約情報を変更しないでください。
+     */
+    @Override
+    public KeysetPage<LeaseSummary> getLeasePageByPropertyId(Long propertyId, String cursor, int size) {
+        PageCursor after = decodeStartDateCursor(cursor);
+        List<LeaseSummary> rows = after == null
+            ? firstPage(propertyLeasePages, propertyId, size,
+                () -> leaseMapper.findPageByPropertyId(propertyId, null, null, size + 1))
+            : leaseMapper.findPageByPropertyId(propertyId, LocalDate.parse(after.getKey()), after.getId(), size + 1);
+        return KeysetPage.of(rows, size, after == null, LeaseServiceImpl::cursorOf);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 先頭ページはキャッシュから返すため、返却する契約情報を変更しないでください。
+     */
+    @Override
+    public KeysetPage<LeaseSummary> getLeasePageByTenantId(Long tenantId, String cursor, int size) {
+        PageCursor after = decodeStartDateCursor(cursor);
+        List<LeaseSummary> rows = after == null
+            ? firstPage(tenantLeasePages, tenantId, size,
+                () -> leaseMapper.findPageByTenantId(tenantId, null, null, size + 1))
+            : leaseMapper.findPageByTenantId(tenantId, LocalDate.parse(after.getKey()), after.getId(), size + 1);
+        return KeysetPage.of(rows, size, after == null, LeaseServiceImpl::cursorOf);
+    }
+    
+    /**
+     * 先頭ページの行（最大size+1件）をキャッシュから取得し、なければデータベースから読み込みます。
+     * キャッシュ済みのページとページサイズが異なる場合は読み込み直して置き換えます。
+     */
+    private static List<LeaseSummary> firstPage(Cache<Long, CachedPage> cache, Long id, int size,
+                                         Supplier<List<LeaseSummary>> loader) {
+        CachedPage page = cache.get(id, key -> new CachedPage(size, List.copyOf(loader.get())));
+        if (page.size() != size) {
+            page = new CachedPage(size, List.copyOf(loader.get()));
+            cache.put(id, page);
+        }
+        return page.rows();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 期間の重なりを索引で確認した後、有効な契約の重複確認と登録を1つのINSERT文で行います。
+     */
     @Override
     @Transactional
     public void createLease(Lease lease) {
-        if (!validateLease(lease)) {
+        lockPropertyAndCheckPeriod(lease, "create");
+        if (write(() -> leaseMapper.insert(lease)) == 0) {
             throw new IllegalStateException("Cannot create lease: Property already has an active lease");
         }
-        leaseMapper.insert(lease);
+        leasePeriodIndex.leaseWritten(null, lease);
+        portfolioCounters.leaseChanged(null, lease);
+        eventPublisher.publishEvent(new LeaseChangedEvent(lease.getPropertyId(), lease.getTenantId()));
     }
     
+    /**
+     * {@inheritDoc}
+     * 期間の重なりを索引で確認した後、バージョン番号と有効な契約の重複の確認、更新、
+     * 更新前の物件・入居者の取得を1つの文で行います。
+     * 更新できなかった場合のみ、理由を判別するためにバージョン番号を読み直します。
+     */
     @Override
     @Transactional
     public void updateLease(Lease lease) {
-        Lease existing = leaseMapper.findById(lease.getId());
-        if (existing == null) {
-            throw new IllegalArgumentException("Lease not found");
+        lockPropertyAndCheckPeriod(lease, "update");
+        Lease previous = write(() -> leaseMapper.updateReturningPrevious(lease));
+        if (previous == null) {
+            throw updateFailure(lease);
         }
-        
-        // If property changed or status changed to ACTIVE, validate
-        if (!existing.getPropertyId().equals(lease.getPropertyId()) ||
-            ("ACTIVE".equals(lease.getStatus()) && !"ACTIVE".equals(existing.getStatus()))) {
-            if (!validateLease(lease)) {
-                throw new IllegalStateException("Cannot update lease: Property already has an active lease");
-            }
+        updates.record(1);
+        lease.setVersion(lease.getVersion() + 1);
+        leasePeriodIndex.leaseWritten(previous, lease);
+        portfolioCounters.leaseChanged(previous, lease);
+        eventPublisher.publishEvent(new LeaseChangedEvent(previous.getPropertyId(), previous.getTenantId()));
+        if (!previous.getPropertyId().equals(lease.getPropertyId())
+                || !previous.getTenantId().equals(lease.getTenantId())) {
+            eventPublisher.publishEvent(new LeaseChangedEvent(lease.getPropertyId(), lease.getTenantId()));
         }
-        
-        leaseMapper.update(lease);
+    }
+    
+    /**
+     * 更新できなかった契約の現在のバージョン番号から、更新できなかった理由に応じた例外を返します。
+     */
+    private RuntimeException updateFailure(Lease lease) {
+        Integer version = leaseMapper.findVersionById(lease.getId());
+        if (version == null) {
+            return new IllegalArgumentException("Lease not found");
+        }
+        if (!version.equals(lease.getVersion())) {
+            updates.record(0);
+            return new OptimisticLockingFailureException(
+                "Lease was updated or deleted by another user: " + lease.getId());
+        }
+        return new IllegalStateException("Cannot update lease: Property already has an active lease");
     }
     
     @Override
     @Transactional
-    public void deleteLease(Long id) {
-        leaseMapper.delete(id);
+    public Lease deleteLease(Long id) {
+        Lease deleted = leaseMapper.deleteReturningPrevious(id);
+        if (deleted != null) {
+            leasePeriodIndex.leaseDeleted(deleted);
+            portfolioCounters.leaseChanged(deleted, null);
+            eventPublisher.publishEvent(new LeaseChangedEvent(deleted.getPropertyId(), deleted.getTenantId()));
+        }
+        return deleted;
+    }
+    
+    /**
+     * 契約の変更がコミットされた後、その物件と入居者の契約一覧のキャッシュを破棄します。
+     * 
+     * @param event 契約変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaseChanged(LeaseChangedEvent event) {
+        propertyLeasePages.invalidate(event.propertyId());
+        tenantLeasePages.invalidate(event.tenantId());
+    }
+    
+    /**
+     * 物件の変更を記録し、コミットされた後にその物件の契約一覧と、
+     * その物件を含む入居者側の契約一覧のキャッシュを破棄します（{@link #invalidateAfterCommit}を参照）。
+     * 
+     * @param event 物件変更イベント
+     */
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        invalidateAfterCommit(changes -> changes.propertyIds.add(event.propertyId()));
+    }
+    
+    /**
+     * 入居者の変更を記録し、コミットされた後にその入居者の契約一覧と、
+     * その入居者を含む物件側の契約一覧のキャッシュを破棄します（{@link #invalidateAfterCommit}を参照）。
+     * 
+     * @param event 入居者変更イベント
+     */
+    @EventListener
+    public void onTenantChanged(TenantChangedEvent event) {
+        invalidateAfterCommit(changes -> changes.tenantIds.add(event.tenantId()));
+    }
+    
+    /**
+     * 変更された物件・入居者のIDをトランザクションごとにまとめ、コミット後に1回だけキャッシュを走査して破棄します。
+     * 一括取込や契約の終了処理のように1つのトランザクションで多数の行を変更しても、走査はトランザクションごとに1回です。
+     * ロールバックされた場合は破棄しません。トランザクション外で呼び出された場合は直ちに破棄します。
+     */
+    private void invalidateAfterCommit(Consumer<ChangedIds> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ChangedIds changes = new ChangedIds();
+            change.accept(changes);
+            changes.invalidate();
+            return;
+        }
+        ChangedIds changes = (ChangedIds) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new ChangedIds();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        change.accept(changes);
+    }
+    
+    private static void invalidateIf(Cache<Long, CachedPage> cache, Predicate<LeaseSummary> references) {
+        cache.asMap().values().removeIf(page -> page.rows().stream().anyMatch(references));
     }
     
     @Override
     public boolean hasActiveLeases(Long propertyId) {
-        return !leaseMapper.findActiveLeasesByPropertyId(propertyId).isEmpty();
+        return leaseMapper.existsActiveLeaseByPropertyId(propertyId, null);
+    }
+    
+    @Override
+    public boolean hasLeasesByTenantId(Long tenantId) {
+        return leaseMapper.existsByTenantId(tenantId);
+    }
+    
+    /**
+     * 開始日をソートキーとするカーソルを復元します。
+     * ソートキーが日付として解釈できない場合は先頭ページとして扱います。
+     * 
+     * @param cursor カーソル文字列
+     * @return 復元したカーソル。先頭ページの場合はnull
+     */
+    private static PageCursor decodeStartDateCursor(String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after == null) {
+            return null;
+        }
+        try {
+            LocalDate.parse(after.getKey());
+            return after;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 契約一覧のページ末尾行から次ページのカーソルを生成します。
+     * 
+     * @param lease ページ末尾の契約情報
+     * @return カーソル文字列
+     */
+    private static String cursorOf(LeaseSummary lease) {
+        return PageCursor.encode(lease.getStartDate().toString(), lease.getId());
     }
     
     /**
-     * 賃貸契約の有効性を検証します。
-     * 同一物件に対して複数のアクティブな契約が存在しないことを確認します。
+     * 契約を登録・更新する前に物件の行をロックし、同じ物件の他の契約と期間が重ならないことを確認します。
+     * 有効な契約の重複の確認は登録・更新の文の条件で行いますが、ロックにより同じ物件への同時の登録・更新は
+     * 先に実行した側のコミットを待ってから確認されるため、どちらの確認でも両方が成功することはありません。
+     * 物件が存在しない場合は確認せず、登録・更新の文の外部キー制約違反として扱います。
      * 
-     * @param lease 検証する契約情報
-     * @return 契約が有効な場合はtrue、無効な場合はfalse
+     * @param lease 登録・更新する契約情報
+     * @param action 例外メッセージに含める操作（create、update）
      */
-    private boolean validateLease(Lease lease) {
-        if (!"ACTIVE".equals(lease.getStatus())) {
-            return true;
+    private void lockPropertyAndCheckPeriod(Lease lease, String action) {
+        if (lease.getStartDate() != null && lease.getEndDate() != null
+                && lease.getEndDate().isBefore(lease.getStartDate())) {
+            throw new IllegalArgumentException("Lease end date must not be before start date");
+        }
+        if (leaseMapper.lockProperty(lease.getPropertyId()) == null) {
+            return;
         }
+        LeasePeriodIndex.Period overlap = leasePeriodIndex.findOverlap(lease);
+        if (overlap != null) {
+            throw new IllegalStateException(String.format(
+                "Cannot %s lease: Lease period overlaps lease %d (%s to %s)", action, overlap.leaseId(),
+                overlap.startDate(), overlap.endDate() == null ? "no end date" : overlap.endDate()));
+        }
+    }
+    
+    /**
+     * 契約の登録・更新を実行し、存在しない物件・入居者を参照した場合の外部キー制約違反を
+     * IllegalArgumentExceptionに置き換えます。NOT NULL・CHECK・桁数などの他の制約違反はそのまま送出します。
+     */
+    private static <T> T write(Supplier<T> statement) {
+        try {
+            return statement.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isForeignKeyViolation(e)) {
+                throw new IllegalArgumentException("Property or tenant not found", e);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 例外の原因のSQLStateが外部キー制約違反（PostgreSQLは23503、H2は参照先がない場合の23506）かどうかを判定します。
+     */
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return FOREIGN_KEY_VIOLATIONS.contains(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * キャッシュした先頭ページ。
+     * 
+     * @param size 要求されたページサイズ
+     * @param rows 取得した行（最大でsize+1件）
+     */
+    private record CachedPage(int size, List<LeaseSummary> rows) {
+    }
+    
+    /**
+     * 1つのトランザクションで変更された物件・入居者のID。
+     */
+    private final class ChangedIds implements TransactionSynchronization {
+        
+        private final Set<Long> propertyIds = new HashSet<>();
+        private final Set<Long> tenantIds = new HashSet<>();
         
-        List<Lease> activeLeases = leaseMapper.findActiveLeasesByPropertyId(lease.getPropertyId());
-        return activeLeases.isEmpty() || 
-               (activeLeases.size() == 1 && activeLeases.get(0).getId().equals(lease.getId()));
+        @Override
+        public void afterCommit() {
+            invalidate();
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LeaseServiceImpl.this);
+        }
+        
+        void invalidate() {
+            if (!propertyIds.isEmpty()) {
+                propertyLeasePages.invalidateAll(propertyIds);
+                invalidateIf(tenantLeasePages, lease -> propertyIds.contains(lease.getPropertyId()));
+            }
+            if (!tenantIds.isEmpty()) {
+                tenantLeasePages.invalidateAll(tenantIds);
+                invalidateIf(propertyLeasePages, lease -> tenantIds.contains(lease.getTenantId()));
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,334 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.AvailabilityResult;
+import com.example.app.model.AvailableProperty;
+import com.example.app.model.OccupancyFact;
+import com.example.app.util.Wards;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 空室検索用に、物件ごとの入居期間を保持するメモリ上の表。
+ *
+ * <p>物件ごとに、契約の期間を重なり・隣接するものどうしで結合し、開始日順に並べた入居期間を
+ * エポック日の配列（終了日が未定の場合は {@link Integer#MAX_VALUE}）で保持します。
+ * 入居期間どうしは重ならないため、検索期間の終了日以前に始まる最後の入居期間を二分探索で求め、
+ * その終了日が検索期間の開始日より前であれば空室と判定できます（物件の契約件数nに対してO(log n)）。
+ * 間取り・地域は辞書の番号で保持し、検索は行を範囲に分けて並列に走査します。
+ * 物件の入れ替えは行をその場で書き換え、削除した物件の行には削除の印を付けて、削除済みの行が半数を超えたら詰め直します。
+ * 複数スレッドから同時に更新・検索できます（更新は検索の完了を待ちます）。
+ */
+final class OccupancyTable {
+
+    /** 1つの並列タスクが走査する最小の行数。これより少ない表は呼び出し元のスレッドだけで走査します */
+    static final int MIN_ROWS_PER_TASK = 16_384;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int OPEN_ENDED = Integer.MAX_VALUE;
+    private static final int REMOVED = -1;
+    private static final int ANY = -2;
+    private static final int[] NO_DAYS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary rooms = new Dictionary();
+    private final Dictionary wards = new Dictionary();
+    private final Map<Long, Integer> rowsByPropertyId = new HashMap<>();
+
+    private int size;
+    private int removed;
+
+    /** 行が物件ID順に並んでいる場合はtrue（検索結果を並べ替える必要がない） */
+    private boolean ordered = true;
+
+    private long[] propertyIds = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] addresses = new String[INITIAL_CAPACITY];
+    private String[] floorAreas = new String[INITIAL_CAPACITY];
+    private int[] roomsCodes = new int[INITIAL_CAPACITY];
+    private int[] wardCodes = new int[INITIAL_CAPACITY];
+    private int[][] startDays = new int[INITIAL_CAPACITY][];
+    private int[][] endDays = new int[INITIAL_CAPACITY][];
+
+    /**
+     * 1物件分の行を追加します。既に保持している物件の場合は置き換えます。
+     *
+     * @param facts 1物件分の行（契約開始日順）
+     */
+    void put(List<OccupancyFact> facts) {
+        lock.writeLock().lock();
+        try {
+            write(facts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された物件の行をすべて入れ替えます。読み直した行に含まれない物件は削除します。
+     *
+     * @param propertyIdsToReplace 入れ替える物件のID
+     * @param facts 入れ替え後の行（物件ID・契約開始日順、指定された物件のもののみ）
+     */
+    void replaceProperties(Collection<Long> propertyIdsToReplace, List<OccupancyFact> facts) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> missing = new HashSet<>(propertyIdsToReplace);
+            int from = 0;
+            while (from < facts.size()) {
+                Long propertyId = facts.get(from).getPropertyId();
+                int to = from + 1;
+                while (to < facts.size() && propertyId.equals(facts.get(to).getPropertyId())) {
+                    to++;
+                }
+                write(facts.subList(from, to));
+                missing.remove(propertyId);
+                from = to;
+            }
+            for (Long propertyId : missing) {
+                Integer row = rowsByPropertyId.remove(propertyId);
+                if (row != null) {
+                    roomsCodes[row] = REMOVED;
+                    removed++;
+                }
+            }
+            if (removed * 2 > size) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 保持している物件の件数を返します。
+     *
+     * @return 削除済みの行を除いた件数
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された期間（開始日・終了日を含む）に入居期間が1日も重ならない物件を検索します。
+     *
+     * @param from 期間の開始日
+     * @param to 期間の終了日
+     * @param roomsFilter 間取り（指定しない場合はnull）
+     * @param areaFilter 地域（指定しない場合はnull）
+     * @param limit 返す物件の最大件数
+     * @param parallelism 走査に使用するスレッド数の上限
+     * @return 検索結果（物件ID順）
+     */
+    AvailabilityResult search(LocalDate from, LocalDate to, String roomsFilter, String areaFilter,
+                              int limit, int parallelism) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        AvailabilityResult result = new AvailabilityResult();
+        result.setFrom(from);
+        result.setTo(to);
+        result.setRooms(roomsFilter);
+        result.setArea(areaFilter);
+
+        lock.readLock().lock();
+        try {
+            result.setScannedProperties(size - removed);
+            int roomsCode = roomsFilter == null ? ANY : rooms.find(roomsFilter);
+            int wardCode = areaFilter == null ? ANY : wards.find(areaFilter);
+            if (roomsCode == Dictionary.NOT_FOUND || wardCode == Dictionary.NOT_FOUND) {
+                return result;
+            }
+            int rows = size;
+            int tasks = Math.max(1, Math.min(parallelism, rows / MIN_ROWS_PER_TASK));
+            int rowsPerTask = (rows + tasks - 1) / tasks;
+            IntStream taskIds = IntStream.range(0, tasks);
+            int[] matches = (tasks > 1 ? taskIds.parallel() : taskIds)
+                .mapToObj(task -> scan(fromDay, toDay, roomsCode, wardCode,
+                    task * rowsPerTask, Math.min(rows, (task + 1) * rowsPerTask)))
+                .reduce(OccupancyTable::concat)
+                .orElse(NO_DAYS);
+            if (!ordered) {
+                matches = IntStream.of(matches).boxed()
+                    .sorted(Comparator.comparingLong(row -> propertyIds[row]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            }
+            result.setMatchedProperties(matches.length);
+            for (int i = 0; i < Math.min(limit, matches.length); i++) {
+                result.getProperties().add(toProperty(matches[i], toDay));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 指定された範囲の行を走査して、条件に合う空室の行番号を返します。
+     * 検索を呼び出したスレッドが読み取りロックを保持している間に実行されます。
+     */
+    private int[] scan(int fromDay, int toDay, int roomsCode, int wardCode, int fromRow, int toRow) {
+        IntStream.Builder matches = IntStream.builder();
+        for (int i = fromRow; i < toRow; i++) {
+            int code = roomsCodes[i];
+            if (code == REMOVED || (roomsCode != ANY && code != roomsCode)
+                    || (wardCode != ANY && wardCodes[i] != wardCode)) {
+                continue;
+            }
+            int last = lastStartingOnOrBefore(startDays[i], toDay);
+            if (last < 0 || endDays[i][last] < fromDay) {
+                matches.add(i);
+            }
+        }
+        return matches.build().toArray();
+    }
+
+    /**
+     * 開始日が指定日以前の最後の入居期間の位置を返します。該当する入居期間がない場合は-1です。
+     */
+    private static int lastStartingOnOrBefore(int[] starts, int day) {
+        int found = Arrays.binarySearch(starts, day);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+        int[] joined = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, joined, left.length, right.length);
+        return joined;
+    }
+
+    /**
+     * 空室の行から検索結果の物件を作成します。
+     * 検索期間の前後の入居期間から、空室になる日と空室の最終日を求めます。
+     */
+    private AvailableProperty toProperty(int row, int toDay) {
+        AvailableProperty property = new AvailableProperty();
+        property.setId(propertyIds[row]);
+        property.setName(names[row]);
+        property.setAddress(addresses[row]);
+        property.setArea(wards.labelOf(wardCodes[row]));
+        property.setFloorArea(floorAreas[row]);
+        property.setRooms(rooms.labelOf(roomsCodes[row]));
+        int[] starts = startDays[row];
+        int before = lastStartingOnOrBefore(starts, toDay);
+        if (before >= 0) {
+            property.setAvailableFrom(LocalDate.ofEpochDay(endDays[row][before] + 1L));
+        }
+        if (before + 1 < starts.length) {
+            property.setAvailableUntil(LocalDate.ofEpochDay(starts[before + 1] - 1L));
+        }
+        return property;
+    }
+
+    /**
+     * 1物件分の行を書き込みます。保持していない物件の場合は末尾に追加します。
+     */
+    private void write(List<OccupancyFact> facts) {
+        OccupancyFact first = facts.get(0);
+        long propertyId = first.getPropertyId();
+        Integer existing = rowsByPropertyId.get(propertyId);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (size == propertyIds.length) {
+                grow();
+            }
+            row = size++;
+            ordered &= row == 0 || propertyIds[row - 1] < propertyId;
+            rowsByPropertyId.put(propertyId, row);
+        }
+        propertyIds[row] = propertyId;
+        names[row] = first.getName();
+        addresses[row] = first.getAddress();
+        floorAreas[row] = first.getArea();
+        roomsCodes[row] = rooms.encode(first.getRooms());
+        wardCodes[row] = wards.encode(Wards.of(first.getAddress()));
+        mergePeriods(facts, row);
+    }
+
+    /**
+     * 契約の期間を、重なる・隣接するものどうしで結合して入居期間として保持します。
+     * 終了日が開始日より前の契約は無視します。
+     */
+    private void mergePeriods(List<OccupancyFact> facts, int row) {
+        int[] starts = new int[facts.size()];
+        int[] ends = new int[facts.size()];
+        int count = 0;
+        for (OccupancyFact fact : facts) {
+            if (fact.getStartDate() == null) {
+                continue;
+            }
+            int start = (int) fact.getStartDate().toEpochDay();
+            int end = fact.getEndDate() == null ? OPEN_ENDED : (int) fact.getEndDate().toEpochDay();
+            if (end < start) {
+                continue;
+            }
+            if (count > 0 && start <= (long) ends[count - 1] + 1) {
+                ends[count - 1] = Math.max(ends[count - 1], end);
+            } else {
+                starts[count] = start;
+                ends[count] = end;
+                count++;
+            }
+        }
+        startDays[row] = count == 0 ? NO_DAYS : Arrays.copyOf(starts, count);
+        endDays[row] = count == 0 ? NO_DAYS : Arrays.copyOf(ends, count);
+    }
+
+    private void grow() {
+        int capacity = size * 2;
+        propertyIds = Arrays.copyOf(propertyIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        addresses = Arrays.copyOf(addresses, capacity);
+        floorAreas = Arrays.copyOf(floorAreas, capacity);
+        roomsCodes = Arrays.copyOf(roomsCodes, capacity);
+        wardCodes = Arrays.copyOf(wardCodes, capacity);
+        startDays = Arrays.copyOf(startDays, capacity);
+        endDays = Arrays.copyOf(endDays, capacity);
+    }
+
+    /**
+     * 削除済みの行を取り除き、残りの行を先頭から詰め直します。
+     */
+    private void compact() {
+        int kept = 0;
+        rowsByPropertyId.clear();
+        for (int i = 0; i < size; i++) {
+            if (roomsCodes[i] == REMOVED) {
+                continue;
+            }
+            propertyIds[kept] = propertyIds[i];
+            names[kept] = names[i];
+            addresses[kept] = addresses[i];
+            floorAreas[kept] = floorAreas[i];
+            roomsCodes[kept] = roomsCodes[i];
+            wardCodes[kept] = wardCodes[i];
+            startDays[kept] = startDays[i];
+            endDays[kept] = endDays[i];
+            rowsByPropertyId.put(propertyIds[kept], kept);
+            kept++;
+        }
+        Arrays.fill(names, kept, size, null);
+        Arrays.fill(addresses, kept, size, null);
+        Arrays.fill(floorAreas, kept, size, null);
+        Arrays.fill(startDays, kept, size, null);
+        Arrays.fill(endDays, kept, size, null);
+        size = kept;
+        removed = 0;
+    }
+}
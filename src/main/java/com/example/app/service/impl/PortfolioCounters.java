@@ -0,0 +1,203 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.PortfolioMapper;
+import com.example.app.model.Lease;
+import com.example.app.model.PortfolioSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ダッシュボードの集計値を、契約・物件の書き込みと同じトランザクション内で増減させるクラス。
+ *
+ * <p>集計値を変更するトランザクションは、書き込みの後で集計用の行をロックしてから増減を加えます。
+ * 物件が入居中になったか・空室になったかはロックの取得後にその物件の現在の契約を数えて判定するため、
+ * 同じ物件への同時の書き込みでも二重に数えることはありません。
+ * 増減の計算漏れや、サービスを経由しない書き込み（初期データ、一括取込）による差異は、
+ * 全件を数え直す照合で修正します。
+ */
+@Slf4j
+@Component
+public class PortfolioCounters implements MeterBinder {
+
+    private final PortfolioMapper portfolioMapper;
+    private final AtomicLong consistent = new AtomicLong();
+    private final AtomicLong corrected = new AtomicLong();
+
+    public PortfolioCounters(PortfolioMapper portfolioMapper) {
+        this.portfolioMapper = portfolioMapper;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("portfolio.reconcile", consistent, AtomicLong::get)
+            .tag("outcome", "consistent")
+            .description("ダッシュボードの集計値を全件の数え直しと照合した回数")
+            .register(registry);
+        FunctionCounter.builder("portfolio.reconcile", corrected, AtomicLong::get)
+            .tag("outcome", "corrected")
+            .description("ダッシュボードの集計値を全件の数え直しと照合した回数")
+            .register(registry);
+    }
+
+    /**
+     * 契約の登録・更新・削除を集計値に反映します。呼び出し元のトランザクション内で、書き込みの後に呼び出します。
+     *
+     * @param before 書き込み前の契約（物件ID・状態・賃料・終了日）。登録の場合はnull
+     * @param after 書き込み後の契約。削除の場合はnull
+     */
+    public void leaseChanged(Lease before, Lease after) {
+        PortfolioSummary delta = new PortfolioSummary();
+        Map<Integer, Long> expirations = new TreeMap<>();
+        add(delta, expirations, before, -1);
+        add(delta, expirations, after, 1);
+        expirations.values().removeIf(count -> count == 0);
+
+        Long leftProperty = isCurrent(before) ? before.getPropertyId() : null;
+        Long enteredProperty = isCurrent(after) ? after.getPropertyId() : null;
+        boolean occupancyChanged = !Objects.equals(leftProperty, enteredProperty);
+        if (!delta.hasChanges() && expirations.isEmpty() && !occupancyChanged) {
+            return;
+        }
+
+        portfolioMapper.lockStats();
+        if (occupancyChanged) {
+            if (leftProperty != null && portfolioMapper.countCurrentLeasesByPropertyId(leftProperty) == 0) {
+                delta.setOccupiedPropertyCount(delta.getOccupiedPropertyCount() - 1);
+            }
+            if (enteredProperty != null && portfolioMapper.countCurrentLeasesByPropertyId(enteredProperty) == 1) {
+                delta.setOccupiedPropertyCount(delta.getOccupiedPropertyCount() + 1);
+            }
+        }
+        apply(delta, expirations);
+    }
+
+    /**
+     * 現在の契約をまとめて終了（ENDED）にしたことを集計値に反映します。
+     * 呼び出し元のトランザクション内で、書き込みの後に呼び出します。
+     * 契約ごとに {@link #leaseChanged} を呼び出す代わりに、集計用の行のロックと物件の数え直しを1回で行います。
+     *
+     * @param ended 終了にした契約の、書き込み前の値（物件ID・状態・賃料・終了日）
+     */
+    public void leasesEnded(List<Lease> ended) {
+        PortfolioSummary delta = new PortfolioSummary();
+        Map<Integer, Long> expirations = new TreeMap<>();
+        Set<Long> propertyIds = new TreeSet<>();
+        for (Lease lease : ended) {
+            if (isCurrent(lease)) {
+                add(delta, expirations, lease, -1);
+                propertyIds.add(lease.getPropertyId());
+            }
+        }
+        if (propertyIds.isEmpty()) {
+            return;
+        }
+
+        portfolioMapper.lockStats();
+        delta.setOccupiedPropertyCount(-portfolioMapper.countPropertiesWithoutCurrentLease(propertyIds));
+        apply(delta, expirations);
+    }
+
+    /**
+     * 物件の登録・削除を集計値に反映します。呼び出し元のトランザクション内で、書き込みの後に呼び出します。
+     * 契約のある物件は削除できないため、入居中の物件数は変わりません。
+     *
+     * @param delta 物件数の増減
+     */
+    public void propertiesChanged(int delta) {
+        if (delta == 0) {
+            return;
+        }
+        PortfolioSummary change = new PortfolioSummary();
+        change.setPropertyCount(delta);
+        portfolioMapper.lockStats();
+        portfolioMapper.addToStats(change);
+    }
+
+    /**
+     * 集計値を全件の数え直しと照合し、差異があれば数え直した値に置き換えます。
+     * 集計用の行をロックしてから数え直すため、実行中の書き込みの増減が失われることはありません。
+     *
+     * @return 差異があった場合はtrue
+     */
+    @Transactional
+    public boolean reconcile() {
+        PortfolioSummary stored = portfolioMapper.lockStats();
+        PortfolioSummary counted = portfolioMapper.countStats();
+        counted.setReconciledAt(stored.getReconciledAt());
+        boolean statsDrifted = !stored.equals(counted);
+        int expirationDrift = portfolioMapper.countExpirationDrift();
+        portfolioMapper.replaceStats(counted);
+        if (expirationDrift > 0) {
+            portfolioMapper.deleteExpirations();
+            portfolioMapper.insertCountedExpirations();
+        }
+        if (statsDrifted || expirationDrift > 0) {
+            log.info("Portfolio counters drifted and were corrected: stored={}, counted={}, expiration months={}",
+                stored, counted, expirationDrift);
+            corrected.incrementAndGet();
+            return true;
+        }
+        consistent.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 増減を集計用の行と終了月ごとの件数に加えます。集計用の行をロックした後に呼び出します。
+     */
+    private void apply(PortfolioSummary delta, Map<Integer, Long> expirations) {
+        if (delta.hasChanges()) {
+            portfolioMapper.addToStats(delta);
+        }
+        expirations.forEach((endMonth, count) -> {
+            if (portfolioMapper.addToExpirations(endMonth, count) == 0) {
+                portfolioMapper.insertExpiration(endMonth, count);
+            }
+        });
+    }
+
+    /**
+     * 契約の集計値への寄与を、符号を付けて増減に加えます。
+     */
+    private static void add(PortfolioSummary delta, Map<Integer, Long> expirations, Lease lease, int sign) {
+        if (!isCurrent(lease)) {
+            return;
+        }
+        delta.setCurrentLeaseCount(delta.getCurrentLeaseCount() + sign);
+        if ("NOTICE".equals(lease.getStatus())) {
+            delta.setNoticeLeaseCount(delta.getNoticeLeaseCount() + sign);
+        }
+        if (lease.getRent() != null) {
+            delta.setMonthlyRent(delta.getMonthlyRent() + (long) sign * lease.getRent());
+        }
+        if (lease.getEndDate() != null) {
+            expirations.merge(monthOf(lease.getEndDate()), (long) sign, Long::sum);
+        }
+    }
+
+    private static boolean isCurrent(Lease lease) {
+        return lease != null && ("ACTIVE".equals(lease.getStatus()) || "NOTICE".equals(lease.getStatus()));
+    }
+
+    /**
+     * 日付の月を、終了月ごとの件数のキー（yyyymm形式）に変換します。
+     *
+     * @param date 日付
+     * @return yyyymm形式の月
+     */
+    static int monthOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+}
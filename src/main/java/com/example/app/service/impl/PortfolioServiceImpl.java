@@ -0,0 +1,46 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.PortfolioMapper;
+import com.example.app.model.PortfolioSummary;
+import com.example.app.service.PortfolioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * PortfolioServiceインターフェースの実装クラス。
+ * 集計値は契約・物件の書き込み時に {@link PortfolioCounters} が増減させ、
+ * 起動時と一定間隔（{@code app.portfolio.reconcile-interval}）で全件の数え直しと照合します。
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioServiceImpl implements PortfolioService {
+
+    private final PortfolioMapper portfolioMapper;
+    private final PortfolioCounters portfolioCounters;
+
+    @Override
+    public PortfolioSummary getSummary() {
+        return portfolioMapper.findSummary(PortfolioCounters.monthOf(LocalDate.now()));
+    }
+
+    @Override
+    public boolean reconcile() {
+        return portfolioCounters.reconcile();
+    }
+
+    /**
+     * 起動時と一定間隔で集計値を照合します。
+     * 初期データはサービスを経由せずに登録されるため、起動時の照合で集計値に反映します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.portfolio.reconcile-interval:PT1H}",
+               fixedDelayString = "${app.portfolio.reconcile-interval:PT1H}")
+    public void reconcileOnSchedule() {
+        reconcile();
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.PropertyChangedEvent;
 import com.example.app.mapper.PropertyMapper;
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.PageCursor;
 import com.example.app.model.Property;
 import com.example.app.service.PropertyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,37 +23,75 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
-public class PropertyServiceImpl implements PropertyService {
+public class PropertyServiceImpl implements PropertyService, MeterBinder {
     
     private final PropertyMapper propertyMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PortfolioCounters portfolioCounters;
+    
+    /** 楽観的ロックによる更新の成功・競合件数 */
+    private final UpdateOutcomes updates = new UpdateOutcomes("property");
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        updates.bindTo(registry);
+    }
     
     @Override
     public List<Property> getAllProperties() {
         return propertyMapper.findAll();
     }
     
+    @Override
+    public KeysetPage<Property> getPropertyPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Property> rows = after == null
+            ? propertyMapper.findPage(null, null, size + 1)
+            : propertyMapper.findPage(after.getKey(), after.getId(), size + 1);
+        return KeysetPage.of(rows, size, after == null,
+            property -> PageCursor.encode(property.getName(), property.getId()));
+    }
+    
     @Override
     public Property getPropertyById(Long id) {
         return propertyMapper.findById(id);
     }
     
+    @Override
+    public DataVersion getListVersion() {
+        return propertyMapper.findListVersion();
+    }
+    
+    @Override
+    public DataVersion getDetailVersion(Long id) {
+        return propertyMapper.findDetailVersion(id);
+    }
+    
 
     
     @Override
     @Transactional
     public void createProperty(Property property) {
         propertyMapper.insert(property);
+        portfolioCounters.propertiesChanged(1);
+        eventPublisher.publishEvent(new PropertyChangedEvent(property.getId(), property));
     }
     
     @Override
     @Transactional
     public void updateProperty(Property property) {
-        propertyMapper.update(property);
+        if (!updates.record(propertyMapper.update(property))) {
+            throw new OptimisticLockingFailureException(
+                "Property was updated or deleted by another user: " + property.getId());
+        }
+        property.setVersion(property.getVersion() + 1);
+        eventPublisher.publishEvent(new PropertyChangedEvent(property.getId(), property));
     }
     
     @Override
     @Transactional
     public void deleteProperty(Long id) {
-        propertyMapper.delete(id);
+        portfolioCounters.propertiesChanged(-propertyMapper.delete(id));
+        eventPublisher.publishEvent(new PropertyChangedEvent(id, null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.LeaseFact;
+import com.example.app.model.RentRollReport;
+import com.example.app.service.RentRollDimension;
+import com.example.app.service.RentRollService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RentRollServiceインターフェースの実装クラス。
+ *
+ * <p>起動時と一定間隔（{@code app.rent-roll.reload-interval}）で全契約をCursorで読み出して
+ * 列ごとの配列（{@link LeaseFactTable}）に読み込み、集計はデータベースを使わずにメモリ上で行います。
+ * 契約・物件の変更は、トランザクションごとに変更された物件IDをまとめ、コミット後に専用スレッドでその物件の契約だけを読み直して反映します
+ * （{@link AfterCommitRefresher}）。
+ */
+@Slf4j
+@Service
+public class RentRollServiceImpl implements RentRollService, MeterBinder {
+
+    private final LeaseMapper leaseMapper;
+    private final TransactionTemplate readTemplate;
+    private final AfterCommitRefresher refresher = new AfterCommitRefresher("rent-roll", this::load, this::refresh);
+    private volatile LeaseFactTable table = new LeaseFactTable();
+
+    public RentRollServiceImpl(LeaseMapper leaseMapper, PlatformTransactionManager transactionManager) {
+        this.leaseMapper = leaseMapper;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        refresher.bindTo(registry);
+    }
+
+    @Override
+    public RentRollReport getReport(YearMonth from, YearMonth to, Set<RentRollDimension> groupBy) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (from.until(to, ChronoUnit.MONTHS) >= MAX_MONTHS) {
+            throw new IllegalArgumentException("The period must not exceed " + MAX_MONTHS + " months");
+        }
+        long started = System.nanoTime();
+        RentRollReport report = table.aggregate(from, to, groupBy, Runtime.getRuntime().availableProcessors());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return report;
+    }
+
+    /**
+     * 全契約を読み込んだ表を作成し、現在の表と置き換えます。
+     * 読み込み中も現在の表で集計できます。初期データや、サービスを経由しない書き込みは読み込み直すことで反映します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.rent-roll.reload-interval:PT6H}",
+               fixedDelayString = "${app.rent-roll.reload-interval:PT6H}")
+    public void reload() {
+        refresher.reload();
+    }
+
+    /**
+     * 契約の変更がコミットされた後、その物件の契約を読み直します。
+     *
+     * @param event 契約変更イベント
+     */
+    @EventListener
+    public void onLeaseChanged(LeaseChangedEvent event) {
+        refresher.propertyChanged(event.propertyId());
+    }
+
+    /**
+     * 物件の変更がコミットされた後、その物件の契約を読み直します（所在地・間取りの変更を反映するため）。
+     *
+     * @param event 物件変更イベント
+     */
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        refresher.propertyChanged(event.propertyId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    /**
+     * コミット後の読み直しがすべて完了するまで待ちます（テストで反映を確認するため）。
+     */
+    void awaitRefresh() {
+        refresher.awaitIdle();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        LeaseFactTable loaded = new LeaseFactTable();
+        readTemplate.executeWithoutResult(status -> {
+            try (Cursor<LeaseFact> cursor = leaseMapper.streamFacts()) {
+                cursor.forEach(loaded::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        table = loaded;
+        log.info("Loaded {} leases into the rent roll table in {} ms",
+            loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * 指定された物件の契約を読み直し、表の該当する行を入れ替えます。
+     */
+    private void refresh(List<Long> propertyIds) {
+        List<LeaseFact> facts = readTemplate.execute(status -> leaseMapper.findFactsByPropertyIds(propertyIds));
+        table.replaceProperties(propertyIds, facts);
+    }
+}
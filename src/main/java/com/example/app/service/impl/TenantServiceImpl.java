@@ -1,9 +1,17 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.TenantChangedEvent;
 import com.example.app.mapper.TenantMapper;
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.PageCursor;
 import com.example.app.model.Tenant;
 import com.example.app.service.TenantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,35 +23,66 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
-public class TenantServiceImpl implements TenantService {
+public class TenantServiceImpl implements TenantService, MeterBinder {
     
     private final TenantMapper tenantMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /** 楽観的ロックによる更新の成功・競合件数 */
+    private final UpdateOutcomes updates = new UpdateOutcomes("tenant");
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        updates.bindTo(registry);
+    }
     
     @Override
     public List<Tenant> getAllTenants() {
         return tenantMapper.findAll();
     }
     
+    @Override
+    public KeysetPage<Tenant> getTenantPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Tenant> rows = after == null
+            ? tenantMapper.findPage(null, null, size + 1)
+            : tenantMapper.findPage(after.getKey(), after.getId(), size + 1);
+        return KeysetPage.of(rows, size, after == null,
+            tenant -> PageCursor.encode(tenant.getFullName(), tenant.getId()));
+    }
+    
     @Override
     public Tenant getTenantById(Long id) {
         return tenantMapper.findById(id);
     }
     
+    @Override
+    public DataVersion getListVersion() {
+        return tenantMapper.findListVersion();
+    }
+    
     @Override
     @Transactional
     public void createTenant(Tenant tenant) {
         tenantMapper.insert(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId(), tenant));
     }
     
     @Override
     @Transactional
     public void updateTenant(Tenant tenant) {
-        tenantMapper.update(tenant);
+        if (!updates.record(tenantMapper.update(tenant))) {
+            throw new OptimisticLockingFailureException(
+                "Tenant was updated or deleted by another user: " + tenant.getId());
+        }
+        tenant.setVersion(tenant.getVersion() + 1);
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId(), tenant));
     }
     
     @Override
     @Transactional
     public void deleteTenant(Long id) {
         tenantMapper.delete(id);
+        eventPublisher.publishEvent(new TenantChangedEvent(id, null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.event.TenantChangedEvent;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.mapper.TenantMapper;
+import com.example.app.model.Property;
+import com.example.app.model.Suggestion;
+import com.example.app.model.Tenant;
+import com.example.app.service.TypeaheadService;
+import com.example.app.util.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * TypeaheadServiceインターフェースの実装クラス。
+ * 起動時に全件から索引を作成し、以降は物件・入居者の変更イベントを受けて
+ * コミット後に該当する候補のみを更新します。
+ * 作成し直すときは新しい索引を作成してから置き換え、作成中に受けた変更は置き換える前に新しい索引にも反映します。
+ */
+@Service
+@RequiredArgsConstructor
+public class TypeaheadServiceImpl implements TypeaheadService {
+
+    private final PropertyMapper propertyMapper;
+    private final TenantMapper tenantMapper;
+
+    /** 作成し直しが同時に実行されないようにするためのロック */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /** 検索に使用している索引 */
+    private volatile Indexes indexes = new Indexes();
+
+    /** 作成し直している間に受けた変更（作成し直していない間はnull）。thisで同期します */
+    private List<Consumer<Indexes>> changesDuringRebuild;
+
+    /**
+     * 物件・入居者の全件から新しい索引を作成し、現在の索引と置き換えます。
+     * 作成中も現在の索引で検索でき、作成中に受けた変更は置き換える前に新しい索引に反映し直します。
+     * 作成に失敗した場合は現在の索引をそのまま使い続けます。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            Indexes rebuilt = new Indexes();
+            try {
+                for (Property property : propertyMapper.findAll()) {
+                    rebuilt.properties().put(property.getId(), property.getName());
+                }
+                for (Tenant tenant : tenantMapper.findAll()) {
+                    rebuilt.tenants().put(tenant.getId(), tenant.getFullName());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                changesDuringRebuild = null;
+                indexes = rebuilt;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Suggestion> searchProperties(String query, int limit) {
+        return indexes.properties().search(query, limit);
+    }
+
+    @Override
+    public List<Suggestion> searchTenants(String query, int limit) {
+        return indexes.tenants().search(query, limit);
+    }
+
+    /**
+     * 物件の変更がコミットされた後、索引の候補を更新します。
+     * 
+     * @param event 物件変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.property() == null) {
+            apply(current -> current.properties().remove(event.propertyId()));
+        } else {
+            String name = event.property().getName();
+            apply(current -> current.properties().put(event.propertyId(), name));
+        }
+    }
+
+    /**
+     * 入居者の変更がコミットされた後、索引の候補を更新します。
+     * 
+     * @param event 入居者変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        if (event.tenant() == null) {
+            apply(current -> current.tenants().remove(event.tenantId()));
+        } else {
+            String fullName = event.tenant().getFullName();
+            apply(current -> current.tenants().put(event.tenantId(), fullName));
+        }
+    }
+
+    /**
+     * 変更を現在の索引に反映します。作成し直している間は、置き換える前に新しい索引にも反映するため記録します。
+     */
+    private synchronized void apply(Consumer<Indexes> change) {
+        change.accept(indexes);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    /**
+     * 物件名と入居者名の索引。
+     */
+    private record Indexes(PrefixIndex properties, PrefixIndex tenants) {
+        Indexes() {
+            this(new PrefixIndex(), new PrefixIndex());
+        }
+    }
+}
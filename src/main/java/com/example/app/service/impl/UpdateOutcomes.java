@@ -0,0 +1,56 @@
+package com.example.app.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 楽観的ロックによる更新の成功件数と競合件数を数えるクラス。
+ * メトリクス {@code entity.updates}（タグ {@code entity}、{@code outcome=success|conflict}）として公開します。
+ */
+final class UpdateOutcomes {
+    private final String entity;
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    UpdateOutcomes(String entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * 更新の結果を記録します。
+     * 
+     * @param updatedRows 更新した行数
+     * @return 更新できた場合はtrue、他の更新と競合した場合はfalse
+     */
+    boolean record(int updatedRows) {
+        if (updatedRows > 0) {
+            successes.incrementAndGet();
+            return true;
+        }
+        conflicts.incrementAndGet();
+        return false;
+    }
+
+    long successes() {
+        return successes.get();
+    }
+
+    long conflicts() {
+        return conflicts.get();
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("entity.updates", successes, AtomicLong::get)
+            .tag("entity", entity)
+            .tag("outcome", "success")
+            .description("楽観的ロックによる更新の件数")
+            .register(registry);
+        FunctionCounter.builder("entity.updates", conflicts, AtomicLong::get)
+            .tag("entity", entity)
+            .tag("outcome", "conflict")
+            .description("楽観的ロックによる更新の件数")
+            .register(registry);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.app.mapper.UserMapper;
 import com.example.app.model.User;
 import com.example.app.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,18 +20,27 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     
+    /**
+     * {@inheritDoc}
+     * ユーザー名の重複確認と登録を1つのINSERT文で行います。
+     * 同時に同じユーザー名で登録された場合の一意制約違反も、重複として扱います。
+     */
     @Override
     @Transactional
     public void register(User user) {
-        if (userMapper.existsByUsername(user.getUsername())) {
-            throw new IllegalStateException("ユーザー名は既に使用されています");
-        }
-        
         // パスワードをハッシュ化
         String hashedPassword = passwordEncoder.encode(user.getPassword());
         user.setPassword(hashedPassword);
         
-        userMapper.insert(user);
+        int inserted;
+        try {
+            inserted = userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            inserted = 0;
+        }
+        if (inserted == 0) {
+            throw new IllegalStateException("ユーザー名は既に使用されています");
+        }
     }
     
     @Override
@@ -0,0 +1,63 @@
+package com.example.app.util;
+
+import com.example.app.model.DataVersion;
+import jakarta.servlet.http.Cookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 画面の条件付きGET（ETag / If-None-Match）を補助するユーティリティクラス。
+ *
+ * <p>ETagはデータの版に加えて、ログイン中の利用者名・CSRFトークンのCookie・配信中のアプリケーションの版から算出します。
+ * 画面には利用者名やCSRFトークンを含むフォームがあるため、ログインし直して
+ * CSRFトークンが作り直された場合や、新しい版の配備でテンプレート・CSSのURLが変わった場合は一致しません。
+ * アプリケーションの版は起動時に {@link #setRelease(String)} で設定し、同じ版を配備した複数のノードでは同じ値になるため、
+ * 認証情報をセッションに保持しない構成では、どのノードが発行したETagでも判定できます。
+ * フラッシュメッセージを表示するレスポンスはキャッシュさせないよう、ETagを付与しません。
+ */
+public final class ConditionalGet {
+
+    /** CookieCsrfTokenRepositoryが使用するCookie名 */
+    private static final String CSRF_COOKIE = "XSRF-TOKEN";
+
+    /** 配信中のアプリケーションの版 */
+    private static volatile String release = "";
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * ETagに含めるアプリケーションの版を設定します。
+     *
+     * @param release ビルドや静的リソースの内容から算出した、ノードによらず同じになる値
+     */
+    public static void setRelease(String release) {
+        ConditionalGet.release = release;
+    }
+
+    /**
+     * データの版からETagを算出してレスポンスに設定し、リクエストのIf-None-Matchと一致するかを判定します。
+     * 一致した場合はステータス304が設定されるため、呼び出し元はモデルを組み立てずにnullを返します。
+     *
+     * @param request 現在のリクエスト
+     * @param version 画面に表示するデータの版
+     * @return 変更がなくレスポンス本文が不要な場合はtrue
+     */
+    public static boolean checkNotModified(ServletWebRequest request, DataVersion version) {
+        if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(request.getRequest()))) {
+            return false;
+        }
+        Cookie csrf = WebUtils.getCookie(request.getRequest(), CSRF_COOKIE);
+        String source = release + "/" + request.getRemoteUser() + "/" + (csrf == null ? "" : csrf.getValue())
+            + "/" + version.token();
+        // ブラウザには保存させたうえで、表示のたびに再検証させます
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)));
+    }
+}
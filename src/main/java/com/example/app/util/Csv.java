@@ -0,0 +1,113 @@
+package com.example.app.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV形式の読み書きを補助するユーティリティクラス。
+ * RFC 4180に準拠したエスケープ処理と、フィールド内の改行を含むレコード単位の読み込み・解析を提供します。
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * 値をCSVのフィールドとして出力できる形式に変換します。
+     * カンマ、ダブルクォート、改行を含む場合はダブルクォートで囲みます。
+     * 
+     * @param value 変換する値。nullの場合は空文字として扱います
+     * @return CSVフィールド文字列
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * CSVの1レコードを読み込みます。
+     * ダブルクォートで囲まれたフィールドが行末で閉じられていない場合は、閉じられるまで次の行を続けて読み込み、
+     * 改行（LF）でつないで返します。フィールド内のCRLFはLFになります。
+     *
+     * @param reader 読み込み元
+     * @return レコードの文字列。これ以上レコードがない場合はnull
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null || !endsInsideQuotes(line, false)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        boolean quoted = true;
+        while (quoted && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quoted = endsInsideQuotes(line, true);
+        }
+        return record.toString();
+    }
+
+    /**
+     * CSVの1レコードをフィールドのリストに分解します。
+     * ダブルクォートで囲まれたフィールド内のカンマ・改行と、二重化されたダブルクォートに対応します。
+     *
+     * @param line {@link #readRecord(BufferedReader)} で読み込んだCSVの1レコード
+     * @return フィールドのリスト
+     * @throws IllegalArgumentException ダブルクォートが閉じられていない場合
+     */
+    public static List<String> parseRecord(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("ダブルクォートが閉じられていません");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 行の終わりがダブルクォートで囲まれたフィールドの途中かどうかを返します。
+     * 二重化されたダブルクォートは開閉を2回繰り返すため、結果に影響しません。
+     *
+     * @param line 改行を含まない1行
+     * @param quoted 行の先頭がダブルクォートで囲まれたフィールドの途中の場合はtrue
+     */
+    private static boolean endsInsideQuotes(String line, boolean quoted) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.app.util;
+
+import com.example.app.model.Suggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 表示名の前方一致で候補を検索するインメモリの索引。
+ * 表示名全体と空白で区切った各語を正規化してソート済みのキーとして保持するため、
+ * 件数にかかわらず検索は対数時間＋取得件数で完了します。
+ * 複数スレッドから同時に更新・検索できます。
+ */
+public final class PrefixIndex {
+    private static final char SEPARATOR = '\u0000';
+
+    /** 「正規化した語 + 区切り文字 + ID」からIDへの対応（前方一致の範囲検索に使用） */
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+
+    /** IDから登録済みの表示名と語への対応（更新・削除時に古いキーを取り除くために使用） */
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 候補を登録します。既に登録済みのIDの場合は表示名を置き換えます。
+     * 
+     * @param id 候補のID
+     * @param label 表示名
+     */
+    public void put(Long id, String label) {
+        entries.compute(id, (key, previous) -> {
+            if (previous != null) {
+                previous.tokens().forEach(token -> keys.remove(token + SEPARATOR + id));
+            }
+            if (label == null) {
+                return null;
+            }
+            List<String> tokens = tokensOf(label);
+            tokens.forEach(token -> keys.put(token + SEPARATOR + id, id));
+            return new Entry(label, tokens);
+        });
+    }
+
+    /**
+     * 候補を削除します。
+     * 
+     * @param id 候補のID
+     */
+    public void remove(Long id) {
+        put(id, null);
+    }
+
+    /**
+     * 登録済みの候補をすべて削除します。
+     */
+    public void clear() {
+        entries.clear();
+        keys.clear();
+    }
+
+    /**
+     * 表示名またはその中の語が検索語で始まる候補を取得します。
+     * 
+     * @param query 検索語（全角・半角、大文字・小文字は区別しません）
+     * @param limit 取得する最大件数
+     * @return 候補のリスト。検索語が空の場合は空のリスト
+     */
+    public List<Suggestion> search(String query, int limit) {
+        String prefix = query == null ? "" : normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (ids.add(id) && ids.size() >= limit) {
+                break;
+            }
+        }
+        List<Suggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                suggestions.add(new Suggestion(id, entry.label()));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * 登録済みの候補の件数を返します。
+     * 
+     * @return 候補の件数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 検索用に文字列を正規化します。
+     * NFKC正規化で全角英数字・半角カナを統一し、小文字化と空白の圧縮を行います。
+     */
+    static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+            .toLowerCase(Locale.ROOT)
+            .strip()
+            .replaceAll("\\s+", " ");
+    }
+
+    private static List<String> tokensOf(String label) {
+        String normalized = normalize(label);
+        Set<String> tokens = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            tokens.add(normalized);
+            for (String word : normalized.split(" ")) {
+                tokens.add(word);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private record Entry(String label, List<String> tokens) {
+    }
+}
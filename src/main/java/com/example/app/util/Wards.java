@@ -0,0 +1,32 @@
+package com.example.app.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 住所から集計用の地域（市区町村）を取り出すユーティリティ。
+ * 都道府県を除いた先頭から最初の「市・区・町・村」までを地域とみなします
+ * （例：「東京都渋谷区神南1-2-3」は「渋谷区」、「神奈川県横浜市中区…」は「横浜市」）。
+ */
+public final class Wards {
+
+    private static final Pattern WARD = Pattern.compile(
+        "^(?:東京都|北海道|京都府|大阪府|\\S{2,3}?県)?\\s*((?:\\S+?郡)?\\S+?[市区町村])");
+
+    private Wards() {
+    }
+
+    /**
+     * 住所から地域を取り出します。
+     *
+     * @param address 住所
+     * @return 市区町村名。住所が未入力、または市区町村を判別できない場合はnull
+     */
+    public static String of(String address) {
+        if (address == null) {
+            return null;
+        }
+        Matcher matcher = WARD.matcher(address.strip());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -36,10 +36,11 @@ INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status,
 (7, 7, 65000, '2023-07-01', NULL, 'ACTIVE', 130000, 65000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 (9, 9, 55000, '2023-08-01', NULL, 'ACTIVE', 110000, 55000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 
--- Leases with notice (解約予告)
-(4, 4, 220000, '2022-01-15', '2024-12-31', 'NOTICE', 440000, 220000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(6, 6, 135000, '2023-02-01', '2024-11-30', 'NOTICE', 270000, 135000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(8, 8, 195000, '2023-01-10', '2024-10-31', 'NOTICE', 390000, 195000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+-- Leases with notice (解約予告). End dates are relative to today so that the lease-expiry job
+-- does not end them at startup: the end of the month 2, 3 and 4 months from now.
+(4, 4, 220000, '2022-01-15', LAST_DAY(DATEADD('MONTH', 4, CURRENT_DATE)), 'NOTICE', 440000, 220000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(6, 6, 135000, '2023-02-01', LAST_DAY(DATEADD('MONTH', 3, CURRENT_DATE)), 'NOTICE', 270000, 135000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(8, 8, 195000, '2023-01-10', LAST_DAY(DATEADD('MONTH', 2, CURRENT_DATE)), 'NOTICE', 390000, 195000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 
 -- Ended leases
 (1, 10, 85000, '2021-04-01', '2023-03-31', 'ENDED', 170000, 85000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
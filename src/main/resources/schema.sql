@@ -1,3 +1,5 @@
+DROP TABLE IF EXISTS lease_expirations;
+DROP TABLE IF EXISTS portfolio_stats;
 DROP TABLE IF EXISTS leases;
 DROP TABLE IF EXISTS tenants;
 DROP TABLE IF EXISTS properties;
@@ -18,6 +20,7 @@ CREATE TABLE properties (
     address VARCHAR(255) NOT NULL,
     area VARCHAR(80) NOT NULL,
     rooms VARCHAR(20),
+    version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -27,6 +30,7 @@ CREATE TABLE tenants (
     full_name VARCHAR(120) NOT NULL,
     phone VARCHAR(40),
     email VARCHAR(120),
+    version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -41,8 +45,50 @@ CREATE TABLE leases (
     status VARCHAR(20) NOT NULL,
     deposit INT,
     keymoney INT,
+    version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (property_id) REFERENCES properties(id),
     FOREIGN KEY (tenant_id) REFERENCES tenants(id)
-);
\ No newline at end of file
+);
+
+-- Keyset pagination on the property / tenant lists (ORDER BY name, id)
+CREATE INDEX idx_properties_name_id ON properties (name, id);
+CREATE INDEX idx_tenants_full_name_id ON tenants (full_name, id);
+
+-- Lease history per property / tenant (ORDER BY start_date DESC, id DESC). The trailing columns
+-- make them covering indexes for the lease list join: the page reads every lease column it
+-- selects from the index and only visits the joined tenant / property row by primary key
+CREATE INDEX idx_leases_property_start ON leases (property_id, start_date, id, tenant_id, status, rent, end_date);
+CREATE INDEX idx_leases_tenant_start ON leases (tenant_id, start_date, id, property_id, status, rent, end_date);
+
+-- Active-lease checks. Expired leases are moved to ENDED by the lease-expiry job,
+-- so the checks read the status alone
+CREATE INDEX idx_leases_property_status ON leases (property_id, status);
+
+-- Lease-expiry job: ACTIVE / NOTICE leases whose end_date has passed
+CREATE INDEX idx_leases_status_end ON leases (status, end_date);
+
+-- Latest update and revision sum of the property / tenant lists, read by the conditional-GET validators;
+-- covering, so the list version is aggregated from the narrow index instead of the table
+CREATE INDEX idx_properties_updated_at ON properties (updated_at, version);
+CREATE INDEX idx_tenants_updated_at ON tenants (updated_at, version);
+
+-- Dashboard counters, maintained in the same transaction as every lease / property write
+-- and periodically reconciled against a full recount. A "current" lease is ACTIVE or NOTICE.
+CREATE TABLE portfolio_stats (
+    id INT PRIMARY KEY,
+    property_count BIGINT NOT NULL DEFAULT 0,
+    occupied_property_count BIGINT NOT NULL DEFAULT 0,
+    current_lease_count BIGINT NOT NULL DEFAULT 0,
+    notice_lease_count BIGINT NOT NULL DEFAULT 0,
+    monthly_rent BIGINT NOT NULL DEFAULT 0,
+    reconciled_at TIMESTAMP
+);
+INSERT INTO portfolio_stats (id) VALUES (1);
+
+-- Current leases per end month (yyyymm), for "expirations this month"
+CREATE TABLE lease_expirations (
+    end_month INT PRIMARY KEY,
+    lease_count BIGINT NOT NULL
+);
@@ -0,0 +1,67 @@
+/*
+ * 物件・入居者の入力補完。
+ * data-typeahead属性を持つ入力欄で入力が止まるたびに候補を検索し、
+ * datalistに表示します。候補が選ばれたらdata-targetの隠し項目にIDを設定します。
+ */
+(function () {
+    'use strict';
+
+    var DELAY_MILLIS = 200;
+
+    function setup(input) {
+        if (input.readOnly) {
+            return;
+        }
+        var target = document.getElementById(input.dataset.target);
+        var list = document.getElementById(input.getAttribute('list'));
+        var idsByValue = {};
+        var timer = null;
+        var controller = null;
+
+        function render(suggestions) {
+            var counts = {};
+            suggestions.forEach(function (s) {
+                counts[s.label] = (counts[s.label] || 0) + 1;
+            });
+            idsByValue = {};
+            list.replaceChildren();
+            suggestions.forEach(function (s) {
+                // 同名の候補が複数ある場合のみIDを付けて区別します
+                var value = counts[s.label] > 1 ? s.label + ' (ID: ' + s.id + ')' : s.label;
+                idsByValue[value] = s.id;
+                var option = document.createElement('option');
+                option.value = value;
+                list.appendChild(option);
+            });
+        }
+
+        function search() {
+            if (controller) {
+                controller.abort();
+            }
+            var query = input.value.trim();
+            if (query === '') {
+                render([]);
+                return;
+            }
+            controller = new AbortController();
+            var url = input.dataset.typeahead + '?q=' + encodeURIComponent(query);
+            fetch(url, { signal: controller.signal, headers: { 'Accept': 'application/json' } })
+                .then(function (response) { return response.ok ? response.json() : []; })
+                .then(render)
+                .catch(function () { /* 中断された検索は無視します */ });
+        }
+
+        input.addEventListener('input', function () {
+            var id = idsByValue[input.value];
+            target.value = id !== undefined ? id : '';
+            if (id !== undefined) {
+                return;
+            }
+            clearTimeout(timer);
+            timer = setTimeout(search, DELAY_MILLIS);
+        });
+    }
+
+    document.querySelectorAll('input[data-typeahead]').forEach(setup);
+})();
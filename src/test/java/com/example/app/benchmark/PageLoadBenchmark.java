@@ -0,0 +1,253 @@
+package com.example.app.benchmark;
+
+import com.example.app.PropertyManagementApplication;
+import com.example.app.model.User;
+import com.example.app.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 物件一覧・物件詳細（契約一覧）ページの負荷ベンチマーク。
+ * プラットフォームスレッドと仮想スレッドの各実行モードでアプリケーションを起動し、
+ * ログイン済みの多数のセッションから同時にページを取得して、スループットとp99レイテンシを比較します。
+ *
+ * <p>通常のテストでは実行されません。{@code mvn -Pbenchmark test} で実行し、
+ * {@code -Dbenchmark.sessions}（既定1000）、{@code -Dbenchmark.warmup-seconds}（既定10）、
+ * {@code -Dbenchmark.seconds}（既定30）で負荷を調整できます。
+ */
+class PageLoadBenchmark {
+
+    private static final int SESSIONS = Integer.getInteger("benchmark.sessions", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+
+    private static final int PROPERTIES = 2000;
+    private static final String USERNAME = "bench";
+    private static final String PASSWORD = "bench-password";
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        System.out.printf("%n%d sessions, %ds measured after %ds warm-up%n",
+            SESSIONS, MEASUREMENT.toSeconds(), WARMUP.toSeconds());
+        System.out.printf("%-10s %10s %10s %10s %10s %8s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        results.forEach((mode, result) -> System.out.printf("%-10s %10d %10.1f %10.1f %10.1f %8d%n",
+            mode, result.requests(), result.requests() / (double) MEASUREMENT.toSeconds(),
+            result.percentile(0.50), result.percentile(0.99), result.errors()));
+
+        results.values().forEach(result -> assertTrue(result.requests() > 0));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PropertyManagementApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:bench" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.thymeleaf.cache=true",
+                "app.security.login-rate-limit.enabled=false",
+                "logging.level.root=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            seed(context.getBean(JdbcTemplate.class));
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword(PASSWORD);
+            context.getBean(UserService.class).register(user);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            return load(baseUrl);
+        }
+    }
+
+    /**
+     * 一覧・詳細ページが実運用に近い件数を扱うよう、物件と契約履歴を追加します。
+     */
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO properties (name, address, area, rooms) "
+            + "SELECT 'ベンチ物件 ' || x, '東京都千代田区' || x, '30.0', '1LDK' FROM SYSTEM_RANGE(1, ?)", PROPERTIES);
+        jdbcTemplate.update("INSERT INTO tenants (full_name, phone, email) "
+            + "SELECT 'ベンチ 入居者' || x, NULL, NULL FROM SYSTEM_RANGE(1, ?)", PROPERTIES);
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status) "
+            + "SELECT p.id, t.id, 80000, DATEADD('YEAR', -r.x, CURRENT_DATE), DATEADD('DAY', -1, DATEADD('YEAR', 1 - r.x, CURRENT_DATE)), 'ENDED' "
+            + "FROM properties p JOIN tenants t ON t.id = p.id CROSS JOIN SYSTEM_RANGE(1, 5) r");
+    }
+
+    private static Result load(String baseUrl) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+            List<Session> sessions = new ArrayList<>(SESSIONS);
+            List<Future<?>> logins = new ArrayList<>(SESSIONS);
+            for (int i = 0; i < SESSIONS; i++) {
+                Session session = new Session(client, baseUrl);
+                sessions.add(session);
+                logins.add(executor.submit(() -> {
+                    session.login();
+                    return null;
+                }));
+            }
+            for (Future<?> login : logins) {
+                login.get();
+            }
+
+            long start = System.nanoTime();
+            long measureFrom = start + WARMUP.toNanos();
+            long until = measureFrom + MEASUREMENT.toNanos();
+            List<Future<Result>> runs = new ArrayList<>(SESSIONS);
+            for (Session session : sessions) {
+                runs.add(executor.submit(() -> session.browse(measureFrom, until)));
+            }
+            List<Result> results = new ArrayList<>(SESSIONS);
+            for (Future<Result> run : runs) {
+                results.add(run.get());
+            }
+            return Result.merge(results);
+        }
+    }
+
+    /**
+     * 1人の利用者のブラウザを模したセッション。Cookieを保持し、一覧と詳細を交互に取得します。
+     */
+    private static final class Session {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final Map<String, String> cookies = new LinkedHashMap<>();
+
+        Session(HttpClient client, String baseUrl) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+        }
+
+        void login() throws IOException, InterruptedException {
+            HttpResponse<String> page = send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET());
+            Matcher csrf = CSRF.matcher(page.body());
+            assertTrue(csrf.find(), "CSRF token not found on the login page");
+            String form = "username=" + encode(USERNAME) + "&password=" + encode(PASSWORD)
+                + "&_csrf=" + encode(csrf.group(1));
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+            String location = response.headers().firstValue("Location").orElse("");
+            assertTrue(location.endsWith("/properties"), "login failed: " + location);
+        }
+
+        Result browse(long measureFrom, long until) throws InterruptedException {
+            long[] latencies = new long[1024];
+            int count = 0;
+            long errors = 0;
+            boolean list = ThreadLocalRandom.current().nextBoolean();
+            long now;
+            while ((now = System.nanoTime()) < until) {
+                String path = list
+                    ? "/properties"
+                    : "/properties/" + ThreadLocalRandom.current().nextInt(1, PROPERTIES + 1);
+                list = !list;
+                boolean ok;
+                try {
+                    ok = send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET()).statusCode() == 200;
+                } catch (IOException e) {
+                    ok = false;
+                }
+                long end = System.nanoTime();
+                if (now < measureFrom) {
+                    continue;
+                }
+                if (!ok) {
+                    errors++;
+                } else {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = end - now;
+                }
+            }
+            return new Result(Arrays.copyOf(latencies, count), errors);
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            if (!cookies.isEmpty()) {
+                request.header("Cookie", cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+            }
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            for (String header : response.headers().allValues("Set-Cookie")) {
+                String pair = header.split(";", 2)[0];
+                int separator = pair.indexOf('=');
+                cookies.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+            return response;
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 計測結果。レイテンシはナノ秒で保持します。
+     */
+    private record Result(long[] latencies, long errors) {
+        long requests() {
+            return latencies.length;
+        }
+
+        static Result merge(List<Result> results) {
+            long[] merged = new long[results.stream().mapToInt(result -> result.latencies.length).sum()];
+            long errors = 0;
+            int offset = 0;
+            for (Result result : results) {
+                System.arraycopy(result.latencies, 0, merged, offset, result.latencies.length);
+                offset += result.latencies.length;
+                errors += result.errors;
+            }
+            return new Result(merged, errors);
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.app.config;
+
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * prodプロファイルで起動したアプリケーションの実際の設定値とレスポンスを検証します。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:prodtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private SpringResourceTemplateResolver templateResolver;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void templatesAreCached() {
+        assertTrue(templateResolver.isCacheable());
+    }
+
+    @Test
+    void tomcatConnectorIsTuned() {
+        AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>)
+            ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector().getProtocolHandler();
+
+        assertEquals(200, protocol.getMaxThreads());
+        assertEquals(20, protocol.getMinSpareThreads());
+        assertEquals(200, protocol.getAcceptCount());
+        assertEquals(8192, protocol.getMaxConnections());
+        assertEquals(15_000, protocol.getKeepAliveTimeout());
+        assertEquals(200, protocol.getMaxKeepAliveRequests());
+        assertEquals(10_000, protocol.getConnectionTimeout());
+        assertEquals("on", protocol.getCompression());
+        assertTrue(Arrays.asList(protocol.getCompressibleMimeTypes()).containsAll(
+            Arrays.asList("text/html", "text/css")));
+    }
+
+    @Test
+    void stylesheetIsServedWithoutSession() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/css/main.css");
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("nosniff", response.headers().firstValue("X-Content-Type-Options").orElse(null));
+        assertTrue(response.headers().allValues("Set-Cookie").isEmpty(),
+            "static resources must not create a session or CSRF token");
+    }
+
+    @Test
+    void pagesAreCompressed() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/login");
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
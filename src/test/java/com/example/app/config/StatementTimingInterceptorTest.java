@@ -0,0 +1,108 @@
+package com.example.app.config;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.mapper.UserMapper;
+import com.example.app.model.Property;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 閾値を0にしてすべてのステートメントを遅いステートメントとして扱い、
+ * 集計とログ出力を実際のデータベースに対して検証します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:statstest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.mybatis.slow-statement-threshold=0ms"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class StatementTimingInterceptorTest {
+
+    private static final String FIND_BY_PROPERTY_ID = "com.example.app.mapper.LeaseMapper.findByPropertyId";
+
+    @Autowired
+    private StatementStatsEndpoint endpoint;
+
+    @Autowired
+    private LeaseMapper leaseMapper;
+
+    @Autowired
+    private PropertyMapper propertyMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void statements_ShouldAggregateCallsAndRowsPerStatement() {
+        // Given
+        int rows = leaseMapper.findByPropertyId(1L).size();
+
+        // When
+        leaseMapper.findByPropertyId(1L);
+        leaseMapper.findByPropertyId(1L);
+        List<StatementTimingInterceptor.Summary> statements = endpoint.statements();
+
+        // Then
+        StatementTimingInterceptor.Summary summary = statements.stream()
+            .filter(s -> s.statement().equals(FIND_BY_PROPERTY_ID))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(3, summary.calls());
+        assertEquals(3L * rows, summary.rows());
+        assertTrue(summary.maxMillis() > 0);
+        assertTrue(summary.p50Millis() <= summary.p99Millis());
+        assertTrue(summary.p99Millis() <= summary.maxMillis());
+    }
+
+    @Test
+    void statements_ShouldCountUpdatedRows() {
+        // Given
+        Property property = propertyMapper.findById(1L);
+
+        // When
+        propertyMapper.update(property);
+
+        // Then
+        StatementTimingInterceptor.Summary summary = endpoint.statements().stream()
+            .filter(s -> s.statement().equals("com.example.app.mapper.PropertyMapper.update"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1, summary.calls());
+        assertEquals(1, summary.rows());
+    }
+
+    @Test
+    void slowStatement_ShouldBeLoggedWithParametersAndPlan(CapturedOutput output) {
+        // When
+        leaseMapper.findByPropertyId(2L);
+
+        // Then
+        assertTrue(output.getOut().contains("Slow statement " + FIND_BY_PROPERTY_ID));
+        assertTrue(output.getOut().contains("parameters: [propertyId=2]"));
+        assertTrue(output.getOut().contains("/* WHERE L.PROPERTY_ID = ?1 */"));
+    }
+
+    @Test
+    void slowStatement_ShouldMaskPasswordParameters(CapturedOutput output) {
+        // When
+        userMapper.updatePassword("nobody", "$2a$10$secrethash");
+
+        // Then
+        assertTrue(output.getOut().contains("parameters: [password=******, username=nobody]"));
+        assertFalse(output.getOut().contains("secrethash"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.app.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * テンプレートに出力されるハッシュ付きURLと、そのURLで配信されるCSSのヘッダーを検証します。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:statictest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class StaticResourceConfigTest {
+
+    private static final Pattern STYLESHEET = Pattern.compile("href=\"(/css/main-[0-9a-f]{32}\\.css)\"");
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void templatesReferenceContentHashedUrl() throws Exception {
+        // When
+        String page = new String(get("/login", null).body(), StandardCharsets.UTF_8);
+
+        // Then
+        assertTrue(STYLESHEET.matcher(page).find(), "fingerprinted stylesheet link not found");
+    }
+
+    @Test
+    void fingerprintedAssetIsImmutable() throws Exception {
+        // Given
+        String url = stylesheetUrl();
+
+        // When
+        HttpResponse<byte[]> response = get(url, null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertArrayEquals(new ClassPathResource("static/css/main.css").getContentAsByteArray(), response.body());
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        assertTrue(cacheControl.contains("max-age=31536000"), cacheControl);
+        assertTrue(cacheControl.contains("public"), cacheControl);
+        assertTrue(cacheControl.contains("immutable"), cacheControl);
+    }
+
+    @Test
+    void unversionedAssetIsRevalidated() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/js/typeahead.js", null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        assertTrue(cacheControl.contains("no-cache"), cacheControl);
+        assertFalse(cacheControl.contains("immutable"), cacheControl);
+        assertTrue(response.headers().firstValue("Last-Modified").isPresent());
+    }
+
+    @Test
+    void precompressedVariantIsServedAsIs() throws Exception {
+        // Given
+        ClassPathResource gzipped = new ClassPathResource("static/css/main.css.gz");
+        assumeTrue(gzipped.exists(), "gzip was not available at build time");
+        String url = stylesheetUrl();
+
+        // When
+        HttpResponse<byte[]> response = get(url, "gzip");
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertArrayEquals(gzipped.getContentAsByteArray(), response.body());
+        assertTrue(response.headers().allValues("Vary").contains("Accept-Encoding"));
+    }
+
+    private String stylesheetUrl() throws IOException, InterruptedException {
+        Matcher matcher = STYLESHEET.matcher(new String(get("/login", null).body(), StandardCharsets.UTF_8));
+        assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -4,20 +4,21 @@ import com.example.app.model.User;
 import com.example.app.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
-
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -36,7 +37,10 @@ class AuthControllerTest {
     private UserService userService;
 
     @MockBean
-    private AuthenticationManager authenticationManager;
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityContextRepository securityContextRepository;
 
     private User testUser;
 
@@ -95,20 +99,13 @@ class AuthControllerTest {
         newUser.setPassword("password123");
         newUser.setEmail("newuser@example.com");
 
-        User registeredUser = new User();
-        registeredUser.setId(1L);
-        registeredUser.setUsername("newuser");
-        registeredUser.setPassword("hashedpassword");
-
-        Authentication mockAuthentication = new UsernamePasswordAuthenticationToken(
-                "newuser",
-                "password123",
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-        );
-
         doNothing().when(userService).register(any(User.class));
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mockAuthentication);
+        when(userDetailsService.loadUserByUsername("newuser")).thenReturn(
+                org.springframework.security.core.userdetails.User.withUsername("newuser")
+                        .password("{bcrypt}hashedpassword")
+                        .authorities("ROLE_USER")
+                        .build());
+        ArgumentCaptor<SecurityContext> context = ArgumentCaptor.forClass(SecurityContext.class);
 
         // When & Then
         mockMvc.perform(post("/register")
@@ -120,7 +117,10 @@ class AuthControllerTest {
                 .andExpect(flash().attribute("message", "ユーザー登録が完了し、ログインしました。"));
 
         verify(userService, times(1)).register(any(User.class));
-        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(securityContextRepository, times(1)).saveContext(context.capture(), any(), any());
+        assertTrue(context.getValue().getAuthentication().isAuthenticated());
+        assertEquals("newuser", context.getValue().getAuthentication().getName());
+        assertNull(context.getValue().getAuthentication().getCredentials());
     }
 
     @Test
@@ -133,7 +133,7 @@ class AuthControllerTest {
                 .andExpect(view().name("auth/register"));
 
         verify(userService, never()).register(any(User.class));
-        verify(authenticationManager, never()).authenticate(any());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
 
     @Test
@@ -151,15 +151,15 @@ class AuthControllerTest {
                 .andExpect(view().name("auth/register"));
 
         verify(userService, times(1)).register(any(User.class));
-        verify(authenticationManager, never()).authenticate(any());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
     }
 
     @Test
-    void register_WhenAuthenticationFails_ShouldReturnFormWithError() throws Exception {
+    void register_WhenRegisteredUserCannotBeLoaded_ShouldReturnFormWithError() throws Exception {
         // Given
         doNothing().when(userService).register(any(User.class));
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new org.springframework.security.authentication.BadCredentialsException("Bad credentials"));
+        when(userDetailsService.loadUserByUsername("newuser"))
+                .thenThrow(new UsernameNotFoundException("ユーザーが見つかりません: newuser"));
 
         // When & Then
         mockMvc.perform(post("/register")
@@ -170,7 +170,7 @@ class AuthControllerTest {
                 .andExpect(view().name("auth/register"));
 
         verify(userService, times(1)).register(any(User.class));
-        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(securityContextRepository, never()).saveContext(any(), any(), any());
     }
 }
 
@@ -0,0 +1,109 @@
+package com.example.app.controller;
+
+import com.example.app.model.AvailabilityResult;
+import com.example.app.model.AvailableProperty;
+import com.example.app.service.AvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AvailabilityController.class)
+class AvailabilityControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 10, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @Test
+    @WithMockUser
+    void search_ShouldShowAvailableProperties() throws Exception {
+        // Given
+        AvailabilityResult result = result();
+        when(availabilityService.search(FROM, TO, "2LDK", null, 100)).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(get("/properties/availability")
+                    .param("from", "2024-10-01").param("to", "2025-03-31").param("rooms", "2LDK").param("area", " "))
+                .andExpect(status().isOk())
+                .andExpect(view().name("properties/availability"))
+                .andExpect(model().attribute("result", result))
+                .andExpect(content().string(containsString("グリーンハイツ")))
+                .andExpect(content().string(containsString("港区")))
+                .andExpect(content().string(containsString("2024-10-01")));
+    }
+
+    @Test
+    @WithMockUser
+    void searchJson_ShouldReturnResultAsJson() throws Exception {
+        // Given
+        when(availabilityService.search(FROM, TO, null, "港区", 10)).thenReturn(result());
+
+        // When & Then
+        mockMvc.perform(get("/properties/availability").accept(MediaType.APPLICATION_JSON)
+                    .param("from", "2024-10-01").param("to", "2025-03-31").param("area", "港区").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.from").value("2024-10-01"))
+                .andExpect(jsonPath("$.properties[0].id").value(2))
+                .andExpect(jsonPath("$.properties[0].availableFrom").value("2024-10-01"))
+                .andExpect(jsonPath("$.matchedProperties").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void search_WhenPeriodIsInvalid_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(availabilityService.search(TO, FROM, null, null, 100))
+            .thenThrow(new IllegalArgumentException("from must not be after to"));
+
+        // When & Then
+        mockMvc.perform(get("/properties/availability").accept(MediaType.APPLICATION_JSON)
+                    .param("from", "2025-03-31").param("to", "2024-10-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void search_WhenLimitIsNotNumber_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/properties/availability").accept(MediaType.APPLICATION_JSON).param("limit", "all"))
+                .andExpect(status().isBadRequest());
+
+        verify(availabilityService, never()).search(any(), any(), any(), any(), anyInt());
+    }
+
+    private static AvailabilityResult result() {
+        AvailableProperty property = new AvailableProperty();
+        property.setId(2L);
+        property.setName("グリーンハイツ");
+        property.setAddress("東京都港区六本木4-5-6");
+        property.setArea("港区");
+        property.setRooms("2LDK");
+        property.setAvailableFrom(FROM);
+        AvailabilityResult result = new AvailabilityResult();
+        result.setFrom(FROM);
+        result.setTo(TO);
+        result.setProperties(List.of(property));
+        result.setMatchedProperties(1);
+        result.setScannedProperties(10);
+        return result;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.app.controller;
 
+import com.example.app.model.PortfolioSummary;
+import com.example.app.service.PortfolioService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,13 +20,42 @@ class HomeControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private PortfolioService portfolioService;
+
     @Test
     @WithMockUser
-    void index_ShouldRedirectToProperties() throws Exception {
+    void index_ShouldShowPortfolioSummary() throws Exception {
+        // Given
+        PortfolioSummary summary = new PortfolioSummary();
+        summary.setPropertyCount(10);
+        summary.setOccupiedPropertyCount(8);
+        summary.setCurrentLeaseCount(9);
+        summary.setNoticeLeaseCount(3);
+        summary.setMonthlyRent(1245000);
+        summary.setExpiringThisMonth(2);
+        when(portfolioService.getSummary()).thenReturn(summary);
+
         // When & Then
         mockMvc.perform(get("/"))
-                .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/properties"));
+                .andExpect(status().isOk())
+                .andExpect(view().name("home/dashboard"))
+                .andExpect(model().attribute("summary", summary))
+                .andExpect(content().string(containsString("1,245,000 円")))
+                .andExpect(content().string(containsString("80.0 %")));
+
+        verify(portfolioService, times(1)).getSummary();
     }
-}
 
+    @Test
+    @WithMockUser
+    void index_WhenThereAreNoProperties_ShouldShowZeroOccupancy() throws Exception {
+        // Given
+        when(portfolioService.getSummary()).thenReturn(new PortfolioSummary());
+
+        // When & Then
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0.0 %")));
+    }
+}
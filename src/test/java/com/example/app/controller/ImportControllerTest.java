@@ -0,0 +1,86 @@
+package com.example.app.controller;
+
+import com.example.app.model.ImportReport;
+import com.example.app.service.ImportEntityType;
+import com.example.app.service.ImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportService importService;
+
+    @Test
+    @WithMockUser
+    void form_ShouldReturnImportView() throws Exception {
+        mockMvc.perform(get("/imports"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("imports/form"))
+                .andExpect(model().attribute("type", ImportEntityType.PROPERTY));
+    }
+
+    @Test
+    @WithMockUser
+    void importCsv_WithFile_ShouldShowReport() throws Exception {
+        // Given
+        ImportReport report = new ImportReport();
+        report.setTotalRows(2);
+        report.setImportedRows(1);
+        report.addError(3, "物件名を入力してください");
+        when(importService.importCsv(eq(ImportEntityType.PROPERTY), any(InputStream.class))).thenReturn(report);
+        MockMultipartFile file = new MockMultipartFile("file", "properties.csv", "text/csv",
+                "name,address,area\nA,東京都,20\n,東京都,30\n".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        mockMvc.perform(multipart("/imports")
+                .file(file)
+                .param("type", "PROPERTY")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("imports/form"))
+                .andExpect(model().attribute("report", report))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("物件名を入力してください")));
+
+        verify(importService).importCsv(eq(ImportEntityType.PROPERTY), any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser
+    void importCsv_WithEmptyFile_ShouldShowError() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "empty.csv", "text/csv", new byte[0]);
+
+        // When & Then
+        mockMvc.perform(multipart("/imports")
+                .file(file)
+                .param("type", "TENANT")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("imports/form"))
+                .andExpect(model().attributeExists("error"))
+                .andExpect(model().attributeDoesNotExist("report"));
+
+        verifyNoInteractions(importService);
+    }
+}
@@ -11,14 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -70,23 +70,18 @@ class LeaseControllerTest {
     @Test
     @WithMockUser
     void newForm_ShouldReturnFormPage() throws Exception {
-        // Given
-        List<Property> properties = Arrays.asList(testProperty);
-        List<Tenant> tenants = Arrays.asList(testTenant);
-        when(propertyService.getAllProperties()).thenReturn(properties);
-        when(tenantService.getAllTenants()).thenReturn(tenants);
-
         // When & Then
         mockMvc.perform(get("/leases/new"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("leases/form"))
                 .andExpect(model().attributeExists("lease"))
-                .andExpect(model().attributeExists("properties"))
-                .andExpect(model().attributeExists("tenants"))
-                .andExpect(model().attributeExists("statusOptions"));
+                .andExpect(model().attributeDoesNotExist("properties", "tenants"))
+                .andExpect(model().attributeExists("statusOptions"))
+                .andExpect(content().string(containsString("data-typeahead=\"/properties/search\"")))
+                .andExpect(content().string(containsString("data-typeahead=\"/tenants/search\"")));
         
-        verify(propertyService, times(1)).getAllProperties();
-        verify(tenantService, times(1)).getAllTenants();
+        verify(propertyService, never()).getAllProperties();
+        verify(tenantService, never()).getAllTenants();
     }
 
     @Test
@@ -94,8 +89,6 @@ class LeaseControllerTest {
     void newForm_WithPropertyId_ShouldPreSelectProperty() throws Exception {
         // Given
         when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
-        when(propertyService.getAllProperties()).thenReturn(Arrays.asList(testProperty));
-        when(tenantService.getAllTenants()).thenReturn(Arrays.asList(testTenant));
 
         // When & Then
         mockMvc.perform(get("/leases/new")
@@ -111,18 +104,20 @@ class LeaseControllerTest {
     void editForm_WhenLeaseExists_ShouldReturnFormPage() throws Exception {
         // Given
         when(leaseService.getLeaseById(1L)).thenReturn(testLease);
-        when(propertyService.getAllProperties()).thenReturn(Arrays.asList(testProperty));
-        when(tenantService.getAllTenants()).thenReturn(Arrays.asList(testTenant));
 
         // When & Then
         mockMvc.perform(get("/leases/1/edit"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("leases/form"))
-                .andExpect(model().attribute("lease", testLease));
+                .andExpect(model().attribute("lease", testLease))
+                .andExpect(content().string(containsString("value=\"テスト物件\"")))
+                .andExpect(content().string(containsString("value=\"山田 太郎\"")));
         
         verify(leaseService, times(1)).getLeaseById(1L);
-        verify(propertyService, times(1)).getAllProperties();
-        verify(tenantService, times(1)).getAllTenants();
+        verify(propertyService, never()).getAllProperties();
+        verify(tenantService, never()).getAllTenants();
+        verify(propertyService, never()).getPropertyById(any());
+        verify(tenantService, never()).getTenantById(any());
     }
 
     @Test
@@ -142,8 +137,6 @@ class LeaseControllerTest {
     void save_WhenNewLease_ShouldCreateAndRedirect() throws Exception {
         // Given
         doNothing().when(leaseService).createLease(any(Lease.class));
-        when(propertyService.getAllProperties()).thenReturn(Arrays.asList(testProperty));
-        when(tenantService.getAllTenants()).thenReturn(Arrays.asList(testTenant));
 
         // When & Then
         mockMvc.perform(post("/leases")
@@ -167,8 +160,6 @@ class LeaseControllerTest {
     void save_WhenUpdateLease_ShouldUpdateAndRedirect() throws Exception {
         // Given
         doNothing().when(leaseService).updateLease(any(Lease.class));
-        when(propertyService.getAllProperties()).thenReturn(Arrays.asList(testProperty));
-        when(tenantService.getAllTenants()).thenReturn(Arrays.asList(testTenant));
 
         // When & Then
         mockMvc.perform(post("/leases")
@@ -190,11 +181,35 @@ class LeaseControllerTest {
 
     @Test
     @WithMockUser
-    void save_WhenValidationFails_ShouldReturnForm() throws Exception {
+    void save_WhenUpdatedByAnotherUser_ShouldShowConflict() throws Exception {
         // Given
-        when(propertyService.getAllProperties()).thenReturn(Arrays.asList(testProperty));
-        when(tenantService.getAllTenants()).thenReturn(Arrays.asList(testTenant));
+        testLease.setVersion(5);
+        doThrow(new OptimisticLockingFailureException("conflict"))
+            .when(leaseService).updateLease(any(Lease.class));
+        when(leaseService.getLeaseById(1L)).thenReturn(testLease);
+        when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
+        when(tenantService.getTenantById(1L)).thenReturn(testTenant);
+
+        // When & Then
+        mockMvc.perform(post("/leases")
+                .with(csrf())
+                .param("id", "1")
+                .param("version", "4")
+                .param("propertyId", "1")
+                .param("tenantId", "1")
+                .param("rent", "120000")
+                .param("startDate", "2023-01-01")
+                .param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("leases/form"))
+                .andExpect(model().attributeHasErrors("lease"))
+                .andExpect(content().string(containsString("name=\"version\" value=\"5\"")))
+                .andExpect(content().string(containsString("value=\"120000\"")));
+    }
 
+    @Test
+    @WithMockUser
+    void save_WhenValidationFails_ShouldReturnForm() throws Exception {
         // When & Then
         mockMvc.perform(post("/leases")
                 .with(csrf())
@@ -211,8 +226,7 @@ class LeaseControllerTest {
     @WithMockUser
     void delete_ShouldDeleteAndRedirect() throws Exception {
         // Given
-        when(leaseService.getLeaseById(1L)).thenReturn(testLease);
-        doNothing().when(leaseService).deleteLease(1L);
+        when(leaseService.deleteLease(1L)).thenReturn(testLease);
 
         // When & Then
         mockMvc.perform(post("/leases/1/delete")
@@ -221,24 +235,24 @@ class LeaseControllerTest {
                 .andExpect(redirectedUrl("/properties/1"))
                 .andExpect(flash().attributeExists("message"));
         
-        verify(leaseService, times(1)).getLeaseById(1L);
         verify(leaseService, times(1)).deleteLease(1L);
+        verify(leaseService, never()).getLeaseById(anyLong());
     }
 
     @Test
     @WithMockUser
     void delete_WhenLeaseDoesNotExist_ShouldRedirect() throws Exception {
         // Given
-        when(leaseService.getLeaseById(999L)).thenReturn(null);
+        when(leaseService.deleteLease(999L)).thenReturn(null);
 
         // When & Then
         mockMvc.perform(post("/leases/999/delete")
                 .with(csrf()))
                 .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/properties"));
+                .andExpect(redirectedUrl("/properties"))
+                .andExpect(flash().attributeCount(0));
         
-        verify(leaseService, times(1)).getLeaseById(999L);
-        verify(leaseService, never()).deleteLease(anyLong());
+        verify(leaseService, times(1)).deleteLease(999L);
     }
 }
 
@@ -0,0 +1,126 @@
+package com.example.app.controller;
+
+import com.example.app.model.LeaseExportFilter;
+import com.example.app.service.LeaseExportFormat;
+import com.example.app.service.LeaseExportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LeaseExportController.class)
+class LeaseExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LeaseExportService leaseExportService;
+
+    @Test
+    @WithMockUser
+    void export_AsCsv_ShouldStreamServiceOutput() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("lease_id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(leaseExportService).exportLeases(any(LeaseExportFilter.class), eq(LeaseExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/leases/export")
+                .param("status", "ACTIVE")
+                .param("from", "2023-01-01")
+                .param("to", "2023-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString(".csv")))
+                .andExpect(content().string("lease_id\r\n1\r\n"));
+
+        ArgumentCaptor<LeaseExportFilter> filter = ArgumentCaptor.forClass(LeaseExportFilter.class);
+        verify(leaseExportService, times(1)).exportLeases(filter.capture(), eq(LeaseExportFormat.CSV), any(OutputStream.class));
+        assertEquals("ACTIVE", filter.getValue().getStatus());
+        assertEquals(LocalDate.of(2023, 1, 1), filter.getValue().getFrom());
+        assertEquals(LocalDate.of(2023, 12, 31), filter.getValue().getTo());
+    }
+
+    @Test
+    @WithMockUser
+    void export_AsGzippedNdjson_ShouldCompressOutput() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"lease_id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(leaseExportService).exportLeases(any(LeaseExportFilter.class), eq(LeaseExportFormat.NDJSON), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/leases/export")
+                .param("format", "ndjson")
+                .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString(".ndjson.gz")))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"lease_id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void export_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/leases/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(leaseExportService, never()).exportLeases(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void export_WithUnknownStatus_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/leases/export").param("status", "DRAFT"))
+                .andExpect(status().isBadRequest());
+
+        verify(leaseExportService, never()).exportLeases(any(), any(), any());
+    }
+
+    @Test
+    void export_WhenNotAuthenticated_ShouldNotStream() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/leases/export"))
+                .andExpect(status().isUnauthorized());
+
+        verify(leaseExportService, never()).exportLeases(any(), any(), any());
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.app.controller;
 
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.LeaseSummary;
 import com.example.app.model.Property;
 import com.example.app.service.LeaseService;
 import com.example.app.service.PropertyService;
@@ -8,14 +11,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -46,6 +54,16 @@ class PropertyControllerTest {
         testProperty.setRooms("1K");
         testProperty.setCreatedAt(LocalDateTime.now());
         testProperty.setUpdatedAt(LocalDateTime.now());
+        when(propertyService.getListVersion()).thenReturn(version(10, 0));
+        when(propertyService.getDetailVersion(anyLong())).thenReturn(version(3, 2));
+    }
+
+    private static DataVersion version(long rowCount, long revisions) {
+        DataVersion version = new DataVersion();
+        version.setRowCount(rowCount);
+        version.setLastUpdated(LocalDateTime.of(2024, 4, 1, 10, 0));
+        version.setRevisions(revisions);
+        return version;
     }
 
     @Test
@@ -53,15 +71,67 @@ class PropertyControllerTest {
     void list_ShouldReturnPropertyListPage() throws Exception {
         // Given
         List<Property> properties = Arrays.asList(testProperty);
-        when(propertyService.getAllProperties()).thenReturn(properties);
+        when(propertyService.getPropertyPage(null, 20))
+                .thenReturn(KeysetPage.of(properties, 20, true, Property::getName));
 
         // When & Then
         mockMvc.perform(get("/properties"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("properties/list"))
-                .andExpect(model().attribute("properties", properties));
+                .andExpect(model().attribute("properties", properties))
+                .andExpect(model().attributeExists("page"));
         
-        verify(propertyService, times(1)).getAllProperties();
+        verify(propertyService, times(1)).getPropertyPage(null, 20);
+        verify(propertyService, never()).getAllProperties();
+    }
+
+    @Test
+    @WithMockUser
+    void list_WhenNotModified_ShouldReturn304WithoutLoadingProperties() throws Exception {
+        // Given
+        when(propertyService.getPropertyPage(null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(testProperty), 20, true, Property::getName));
+        String etag = mockMvc.perform(get("/properties"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        // When & Then
+        mockMvc.perform(get("/properties").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        verify(propertyService, times(2)).getListVersion();
+        verify(propertyService, times(1)).getPropertyPage(null, 20);
+    }
+
+    @Test
+    @WithMockUser
+    void list_WithFlashMessage_ShouldNotSetEtag() throws Exception {
+        // Given
+        when(propertyService.getPropertyPage(null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(testProperty), 20, true, Property::getName));
+
+        // When & Then
+        mockMvc.perform(get("/properties").flashAttr("message", "物件を登録しました"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @WithMockUser
+    void list_WithCursor_ShouldPassCursorToService() throws Exception {
+        // Given
+        when(propertyService.getPropertyPage("abc", 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(testProperty), 20, false, Property::getName));
+
+        // When & Then
+        mockMvc.perform(get("/properties").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("properties/list"));
+        
+        verify(propertyService, times(1)).getPropertyPage("abc", 20);
     }
 
     @Test
@@ -69,7 +139,8 @@ class PropertyControllerTest {
     void detail_WhenPropertyExists_ShouldReturnDetailPage() throws Exception {
         // Given
         when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
-        when(leaseService.getLeasesByPropertyId(1L)).thenReturn(Arrays.asList());
+        when(leaseService.getLeasePageByPropertyId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(), 20, true, lease -> null));
 
         // When & Then
         mockMvc.perform(get("/properties/1"))
@@ -78,7 +149,65 @@ class PropertyControllerTest {
                 .andExpect(model().attribute("property", testProperty));
         
         verify(propertyService, times(1)).getPropertyById(1L);
-        verify(leaseService, times(1)).getLeasesByPropertyId(1L);
+        verify(leaseService, times(1)).getLeasePageByPropertyId(1L, null, 20);
+    }
+
+    @Test
+    @WithMockUser
+    void detail_WhenNotModified_ShouldReturn304WithoutLoadingLeases() throws Exception {
+        // Given
+        when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
+        when(leaseService.getLeasePageByPropertyId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(), 20, true, lease -> null));
+        String etag = mockMvc.perform(get("/properties/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/properties/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        
+        verify(propertyService, times(1)).getPropertyById(1L);
+        verify(leaseService, times(1)).getLeasePageByPropertyId(1L, null, 20);
+    }
+
+    @Test
+    @WithMockUser
+    void detail_WhenLeaseChanged_ShouldRenderAgain() throws Exception {
+        // Given
+        when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
+        when(leaseService.getLeasePageByPropertyId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(), 20, true, lease -> null));
+        String etag = mockMvc.perform(get("/properties/1"))
+                .andReturn().getResponse().getHeader("ETag");
+        when(propertyService.getDetailVersion(1L)).thenReturn(version(3, 3));
+
+        // When & Then
+        mockMvc.perform(get("/properties/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("properties/detail"));
+        
+        verify(leaseService, times(2)).getLeasePageByPropertyId(1L, null, 20);
+    }
+
+    @Test
+    @WithMockUser
+    void detail_WithLeases_ShouldRenderTenantNameFromSummary() throws Exception {
+        // Given
+        LeaseSummary lease = new LeaseSummary();
+        lease.setId(1L);
+        lease.setStatus("ACTIVE");
+        lease.setRent(85000);
+        lease.setStartDate(LocalDate.of(2023, 4, 1));
+        lease.setTenantFullName("山田 太郎");
+        when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
+        when(leaseService.getLeasePageByPropertyId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(lease), 20, true, summary -> null));
+
+        // When & Then
+        mockMvc.perform(get("/properties/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("山田 太郎")));
     }
 
     @Test
@@ -179,6 +308,52 @@ class PropertyControllerTest {
         verify(propertyService, times(1)).updateProperty(any(Property.class));
     }
 
+    @Test
+    @WithMockUser
+    void save_WhenUpdatedByAnotherUser_ShouldKeepInputAndShowConflict() throws Exception {
+        // Given
+        testProperty.setVersion(4);
+        doThrow(new OptimisticLockingFailureException("conflict"))
+            .when(propertyService).updateProperty(any(Property.class));
+        when(propertyService.getPropertyById(1L)).thenReturn(testProperty);
+
+        // When & Then
+        mockMvc.perform(post("/properties")
+                .with(csrf())
+                .param("id", "1")
+                .param("version", "3")
+                .param("name", "更新された物件")
+                .param("address", "東京都渋谷区1-2-3")
+                .param("area", "25.5"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("properties/form"))
+                .andExpect(model().attributeHasErrors("property"))
+                .andExpect(content().string(containsString("他の利用者によって更新されました")))
+                .andExpect(content().string(containsString("value=\"更新された物件\"")))
+                .andExpect(content().string(containsString("name=\"version\" value=\"4\"")));
+    }
+
+    @Test
+    @WithMockUser
+    void save_WhenDeletedByAnotherUser_ShouldRedirectToList() throws Exception {
+        // Given
+        doThrow(new OptimisticLockingFailureException("conflict"))
+            .when(propertyService).updateProperty(any(Property.class));
+        when(propertyService.getPropertyById(1L)).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(post("/properties")
+                .with(csrf())
+                .param("id", "1")
+                .param("version", "3")
+                .param("name", "更新された物件")
+                .param("address", "東京都渋谷区1-2-3")
+                .param("area", "25.5"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/properties"))
+                .andExpect(flash().attribute("error", "物件は他の利用者によって削除されました"));
+    }
+
     @Test
     @WithMockUser
     void save_WhenValidationFails_ShouldReturnForm() throws Exception {
@@ -230,5 +405,14 @@ class PropertyControllerTest {
         verify(leaseService, times(1)).hasActiveLeases(1L);
         verify(propertyService, never()).deleteProperty(anyLong());
     }
-}
 
+    @Test
+    void setPageSize_WhenNotPositive_ShouldRejectConfiguration() {
+        // Given
+        PropertyController controller = new PropertyController(propertyService, leaseService);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> controller.setPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> controller.setPageSize(-1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.app.controller;
+
+import com.example.app.model.RentRollReport;
+import com.example.app.model.RentRollRow;
+import com.example.app.service.RentRollDimension;
+import com.example.app.service.RentRollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RentRollController.class)
+class RentRollControllerTest {
+
+    private static final YearMonth FROM = YearMonth.of(2024, 4);
+    private static final YearMonth TO = YearMonth.of(2025, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RentRollService rentRollService;
+
+    @Test
+    @WithMockUser
+    void report_ShouldShowRowsGroupedByArea() throws Exception {
+        // Given
+        RentRollReport report = report("area");
+        RentRollRow row = row(12, 1_020_000);
+        row.setArea("渋谷区");
+        report.getRows().add(row);
+        report.setTotal(row);
+        when(rentRollService.getReport(FROM, TO, EnumSet.of(RentRollDimension.AREA))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(get("/reports/rent-roll")
+                    .param("from", "2024-04").param("to", "2025-03").param("groupBy", "area"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("reports/rent-roll"))
+                .andExpect(model().attribute("report", report))
+                .andExpect(content().string(containsString("渋谷区")))
+                .andExpect(content().string(containsString("1,020,000")))
+                .andExpect(content().string(containsString("85,000")));
+    }
+
+    @Test
+    @WithMockUser
+    void reportJson_ShouldReturnReportAsJson() throws Exception {
+        // Given
+        RentRollReport report = report("rooms", "month");
+        RentRollRow row = row(2, 170_000);
+        row.setRooms("1K");
+        row.setMonth(FROM);
+        report.getRows().add(row);
+        report.setTotal(row);
+        when(rentRollService.getReport(FROM, TO, EnumSet.of(RentRollDimension.ROOMS, RentRollDimension.MONTH)))
+            .thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(get("/reports/rent-roll").accept(MediaType.APPLICATION_JSON)
+                    .param("from", "2024-04").param("to", "2025-03").param("groupBy", "rooms,month"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.from").value("2024-04"))
+                .andExpect(jsonPath("$.rows[0].rooms").value("1K"))
+                .andExpect(jsonPath("$.rows[0].month").value("2024-04"))
+                .andExpect(jsonPath("$.rows[0].averageRent").value(85000))
+                .andExpect(jsonPath("$.total.rentRoll").value(170000));
+    }
+
+    @Test
+    @WithMockUser
+    void report_WhenDimensionIsUnsupported_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/reports/rent-roll").accept(MediaType.APPLICATION_JSON).param("groupBy", "tenant"))
+                .andExpect(status().isBadRequest());
+
+        verify(rentRollService, never()).getReport(any(), any(), any());
+    }
+
+    private static RentRollReport report(String... groupBy) {
+        RentRollReport report = new RentRollReport();
+        report.setFrom(FROM);
+        report.setTo(TO);
+        report.setGroupBy(List.of(groupBy));
+        return report;
+    }
+
+    private static RentRollRow row(long leaseMonths, long rentRoll) {
+        RentRollRow row = new RentRollRow();
+        row.setLeaseMonths(leaseMonths);
+        row.setRentRoll(rentRoll);
+        return row;
+    }
+}
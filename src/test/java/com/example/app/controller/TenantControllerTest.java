@@ -1,5 +1,8 @@
 package com.example.app.controller;
 
+import com.example.app.model.DataVersion;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.LeaseSummary;
 import com.example.app.model.Tenant;
 import com.example.app.service.LeaseService;
 import com.example.app.service.TenantService;
@@ -8,13 +11,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -44,6 +50,10 @@ class TenantControllerTest {
         testTenant.setEmail("yamada@example.com");
         testTenant.setCreatedAt(LocalDateTime.now());
         testTenant.setUpdatedAt(LocalDateTime.now());
+        DataVersion version = new DataVersion();
+        version.setRowCount(10L);
+        version.setLastUpdated(LocalDateTime.of(2024, 4, 1, 10, 0));
+        when(tenantService.getListVersion()).thenReturn(version);
     }
 
     @Test
@@ -51,15 +61,35 @@ class TenantControllerTest {
     void list_ShouldReturnTenantListPage() throws Exception {
         // Given
         List<Tenant> tenants = Arrays.asList(testTenant);
-        when(tenantService.getAllTenants()).thenReturn(tenants);
+        when(tenantService.getTenantPage(null, 20))
+                .thenReturn(KeysetPage.of(tenants, 20, true, Tenant::getFullName));
 
         // When & Then
         mockMvc.perform(get("/tenants"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("tenants/list"))
-                .andExpect(model().attribute("tenants", tenants));
+                .andExpect(model().attribute("tenants", tenants))
+                .andExpect(model().attributeExists("page"));
         
-        verify(tenantService, times(1)).getAllTenants();
+        verify(tenantService, times(1)).getTenantPage(null, 20);
+        verify(tenantService, never()).getAllTenants();
+    }
+
+    @Test
+    @WithMockUser
+    void list_WhenNotModified_ShouldReturn304WithoutLoadingTenants() throws Exception {
+        // Given
+        when(tenantService.getTenantPage(null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(testTenant), 20, true, Tenant::getFullName));
+        String etag = mockMvc.perform(get("/tenants"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/tenants").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        
+        verify(tenantService, times(1)).getTenantPage(null, 20);
     }
 
     @Test
@@ -77,7 +107,8 @@ class TenantControllerTest {
     void editForm_WhenTenantExists_ShouldReturnFormPage() throws Exception {
         // Given
         when(tenantService.getTenantById(1L)).thenReturn(testTenant);
-        when(leaseService.getLeasesByTenantId(1L)).thenReturn(Arrays.asList());
+        when(leaseService.getLeasePageByTenantId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(), 20, true, lease -> null));
 
         // When & Then
         mockMvc.perform(get("/tenants/1/edit"))
@@ -86,7 +117,27 @@ class TenantControllerTest {
                 .andExpect(model().attribute("tenant", testTenant));
         
         verify(tenantService, times(1)).getTenantById(1L);
-        verify(leaseService, times(1)).getLeasesByTenantId(1L);
+        verify(leaseService, times(1)).getLeasePageByTenantId(1L, null, 20);
+    }
+
+    @Test
+    @WithMockUser
+    void editForm_WithLeases_ShouldRenderPropertyNameFromSummary() throws Exception {
+        // Given
+        LeaseSummary lease = new LeaseSummary();
+        lease.setId(1L);
+        lease.setStatus("ACTIVE");
+        lease.setRent(85000);
+        lease.setStartDate(LocalDate.of(2023, 4, 1));
+        lease.setPropertyName("サニーアパート 101号室");
+        when(tenantService.getTenantById(1L)).thenReturn(testTenant);
+        when(leaseService.getLeasePageByTenantId(1L, null, 20))
+                .thenReturn(KeysetPage.of(Arrays.asList(lease), 20, true, summary -> null));
+
+        // When & Then
+        mockMvc.perform(get("/tenants/1/edit"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("サニーアパート 101号室")));
     }
 
     @Test
@@ -140,6 +191,27 @@ class TenantControllerTest {
         verify(tenantService, times(1)).updateTenant(any(Tenant.class));
     }
 
+    @Test
+    @WithMockUser
+    void save_WhenUpdatedByAnotherUser_ShouldShowConflict() throws Exception {
+        // Given
+        testTenant.setVersion(2);
+        doThrow(new OptimisticLockingFailureException("conflict"))
+            .when(tenantService).updateTenant(any(Tenant.class));
+        when(tenantService.getTenantById(1L)).thenReturn(testTenant);
+
+        // When & Then
+        mockMvc.perform(post("/tenants")
+                .with(csrf())
+                .param("id", "1")
+                .param("version", "1")
+                .param("fullName", "更新された名前"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("tenants/form"))
+                .andExpect(model().attributeHasErrors("tenant"))
+                .andExpect(content().string(containsString("name=\"version\" value=\"2\"")));
+    }
+
     @Test
     @WithMockUser
     void save_WhenValidationFails_ShouldReturnForm() throws Exception {
@@ -159,7 +231,7 @@ class TenantControllerTest {
     @WithMockUser
     void delete_WhenNoLeases_ShouldDeleteAndRedirect() throws Exception {
         // Given
-        when(leaseService.getLeasesByTenantId(1L)).thenReturn(Arrays.asList());
+        when(leaseService.hasLeasesByTenantId(1L)).thenReturn(false);
         doNothing().when(tenantService).deleteTenant(1L);
 
         // When & Then
@@ -169,7 +241,7 @@ class TenantControllerTest {
                 .andExpect(redirectedUrl("/tenants"))
                 .andExpect(flash().attributeExists("message"));
         
-        verify(leaseService, times(1)).getLeasesByTenantId(1L);
+        verify(leaseService, times(1)).hasLeasesByTenantId(1L);
         verify(tenantService, times(1)).deleteTenant(1L);
     }
 
@@ -177,9 +249,7 @@ class TenantControllerTest {
     @WithMockUser
     void delete_WhenLeasesExist_ShouldNotDeleteAndShowError() throws Exception {
         // Given
-        com.example.app.model.Lease lease = new com.example.app.model.Lease();
-        lease.setId(1L);
-        when(leaseService.getLeasesByTenantId(1L)).thenReturn(Arrays.asList(lease));
+        when(leaseService.hasLeasesByTenantId(1L)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(post("/tenants/1/delete")
@@ -188,7 +258,7 @@ class TenantControllerTest {
                 .andExpect(redirectedUrl("/tenants"))
                 .andExpect(flash().attributeExists("error"));
         
-        verify(leaseService, times(1)).getLeasesByTenantId(1L);
+        verify(leaseService, times(1)).hasLeasesByTenantId(1L);
         verify(tenantService, never()).deleteTenant(anyLong());
     }
 }
@@ -0,0 +1,57 @@
+package com.example.app.controller;
+
+import com.example.app.model.Suggestion;
+import com.example.app.service.TypeaheadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TypeaheadController.class)
+class TypeaheadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TypeaheadService typeaheadService;
+
+    @Test
+    @WithMockUser
+    void searchProperties_ShouldReturnSuggestionsAsJson() throws Exception {
+        // Given
+        when(typeaheadService.searchProperties("グラン", 10))
+            .thenReturn(List.of(new Suggestion(1L, "グランメゾン渋谷")));
+
+        // When & Then
+        mockMvc.perform(get("/properties/search").param("q", "グラン"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].label").value("グランメゾン渋谷"));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTenants_ShouldCapLimit() throws Exception {
+        // Given
+        when(typeaheadService.searchTenants("山田", 50)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/tenants/search").param("q", "山田").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(typeaheadService, times(1)).searchTenants("山田", 50);
+    }
+
+}
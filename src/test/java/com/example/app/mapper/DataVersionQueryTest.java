@@ -0,0 +1,159 @@
+package com.example.app.mapper;
+
+import com.example.app.model.DataVersion;
+import com.example.app.model.Lease;
+import com.example.app.model.Property;
+import com.example.app.model.Tenant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 条件付きGETに使用する版の集計クエリが、画面の表示内容に関わる変更で変わることを検証します。
+ * 各テストはロールバックされるため、シードデータ（物件1には契約が2件）を前提にできます。
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:versiontest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@Transactional
+class DataVersionQueryTest {
+
+    @Autowired
+    private PropertyMapper propertyMapper;
+
+    @Autowired
+    private TenantMapper tenantMapper;
+
+    @Autowired
+    private LeaseMapper leaseMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findDetailVersion_ShouldCoverPropertyLeasesAndTheirTenants() {
+        // When
+        DataVersion version = propertyMapper.findDetailVersion(1L);
+
+        // Then
+        assertEquals(5L, version.getRowCount());
+        assertNotNull(version.getLastUpdated());
+        assertEquals(0L, version.getRevisions());
+    }
+
+    @Test
+    void findDetailVersion_ShouldChangeWhenLeaseIsCreatedEditedOrDeleted() {
+        // Given
+        String initial = propertyMapper.findDetailVersion(1L).token();
+        Lease lease = new Lease();
+        lease.setPropertyId(1L);
+        lease.setTenantId(4L);
+        lease.setRent(90000);
+        lease.setStartDate(LocalDate.of(2030, 4, 1));
+        lease.setStatus("ENDED");
+
+        // When & Then
+        leaseMapper.insert(lease);
+        String created = propertyMapper.findDetailVersion(1L).token();
+        assertNotEquals(initial, created);
+
+        lease.setVersion(0);
+        lease.setRent(95000);
+        assertNotNull(leaseMapper.updateReturningPrevious(lease));
+        String edited = propertyMapper.findDetailVersion(1L).token();
+        assertNotEquals(created, edited);
+
+        leaseMapper.deleteReturningPrevious(lease.getId());
+        String deleted = propertyMapper.findDetailVersion(1L).token();
+        assertNotEquals(edited, deleted);
+    }
+
+    @Test
+    void findDetailVersion_ShouldChangeWhenTenantOfLeaseIsRenamed() {
+        // Given
+        String initial = propertyMapper.findDetailVersion(1L).token();
+        Tenant tenant = tenantMapper.findById(10L);
+        tenant.setFullName("改名 後");
+
+        // When
+        tenantMapper.update(tenant);
+
+        // Then
+        assertNotEquals(initial, propertyMapper.findDetailVersion(1L).token());
+    }
+
+    @Test
+    void findDetailVersion_ShouldNotChangeForOtherProperties() {
+        // Given
+        String initial = propertyMapper.findDetailVersion(1L).token();
+        Property other = propertyMapper.findById(2L);
+        other.setName("別の物件");
+
+        // When
+        propertyMapper.update(other);
+
+        // Then
+        assertEquals(initial, propertyMapper.findDetailVersion(1L).token());
+    }
+
+    @Test
+    void findDetailVersion_WhenPropertyDoesNotExist_ShouldReturnZeroRows() {
+        // When
+        DataVersion version = propertyMapper.findDetailVersion(999L);
+
+        // Then
+        assertEquals(0L, version.getRowCount());
+        assertNull(version.getLastUpdated());
+    }
+
+    @Test
+    void findListVersion_ShouldChangeWhenRowIsAddedOrDeleted() {
+        // Given
+        String properties = propertyMapper.findListVersion().token();
+        String tenants = tenantMapper.findListVersion().token();
+        Property property = new Property();
+        property.setName("新規物件");
+        property.setAddress("東京都");
+        property.setArea("20.0");
+        Tenant tenant = new Tenant();
+        tenant.setFullName("新規 入居者");
+
+        // When
+        propertyMapper.insert(property);
+        tenantMapper.insert(tenant);
+
+        // Then
+        assertEquals(11L, propertyMapper.findListVersion().getRowCount());
+        assertNotEquals(properties, propertyMapper.findListVersion().token());
+        assertNotEquals(tenants, tenantMapper.findListVersion().token());
+
+        propertyMapper.delete(property.getId());
+        assertEquals(properties, propertyMapper.findListVersion().token());
+    }
+
+    @Test
+    void findListVersion_ShouldChangeWhenEditKeepsLatestUpdateTime() {
+        // Given
+        String properties = propertyMapper.findListVersion().token();
+        String tenants = tenantMapper.findListVersion().token();
+        Property property = propertyMapper.findById(2L);
+        property.setName("別の物件");
+        Tenant tenant = tenantMapper.findById(10L);
+        tenant.setFullName("改名 後");
+
+        // When
+        // 後から開始したトランザクションが先にコミットした場合と同じく、更新日時の最大値は変わらないものとします
+        propertyMapper.update(property);
+        tenantMapper.update(tenant);
+        jdbcTemplate.update("UPDATE properties SET updated_at = TIMESTAMP '2000-01-01 00:00:00' WHERE id = 2");
+        jdbcTemplate.update("UPDATE tenants SET updated_at = TIMESTAMP '2000-01-01 00:00:00' WHERE id = 10");
+
+        // Then
+        assertNotEquals(properties, propertyMapper.findListVersion().token());
+        assertNotEquals(tenants, tenantMapper.findListVersion().token());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.app.mapper;
+
+import com.example.app.model.Lease;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 契約の登録・更新・削除の文が、条件の確認と書き込みを1つの文で行うことを検証します。
+ * 各テストはロールバックされるため、シードデータ（物件1には有効な契約1と終了した契約10、物件10には有効な契約なし）を前提にできます。
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:leasewritetest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@Transactional
+class LeaseWriteStatementTest {
+
+    @Autowired
+    private LeaseMapper leaseMapper;
+
+    @Test
+    void insert_WhenPropertyHasActiveLease_ShouldNotInsertActiveLease() {
+        // Given
+        Lease occupied = newLease(1L, "ACTIVE");
+        Lease vacant = newLease(10L, "ACTIVE");
+
+        // When & Then
+        assertEquals(0, leaseMapper.insert(occupied));
+        assertEquals(1, leaseMapper.insert(vacant));
+        assertNotNull(vacant.getId());
+        assertEquals(1, leaseMapper.insert(newLease(1L, "ENDED")));
+    }
+
+    @Test
+    void updateReturningPrevious_ShouldReturnKeysBeforeUpdate() {
+        // Given
+        Lease lease = leaseMapper.findById(1L);
+        lease.setTenantId(10L);
+        lease.setRent(90000);
+
+        // When
+        Lease previous = leaseMapper.updateReturningPrevious(lease);
+
+        // Then
+        assertEquals(1L, previous.getPropertyId());
+        assertEquals(1L, previous.getTenantId());
+        assertEquals(10L, leaseMapper.findById(1L).getTenantId());
+        assertEquals(lease.getVersion() + 1, leaseMapper.findVersionById(1L));
+    }
+
+    @Test
+    void updateReturningPrevious_WhenAnotherActiveLeaseExists_ShouldNotUpdate() {
+        // Given
+        Lease lease = leaseMapper.findById(10L);
+        lease.setStatus("ACTIVE");
+        lease.setEndDate(null);
+
+        // When & Then
+        assertNull(leaseMapper.updateReturningPrevious(lease));
+        assertEquals("ENDED", leaseMapper.findById(10L).getStatus());
+    }
+
+    @Test
+    void updateReturningPrevious_WhenVersionIsStale_ShouldNotUpdate() {
+        // Given
+        Lease lease = leaseMapper.findById(1L);
+        lease.setVersion(lease.getVersion() + 1);
+        lease.setRent(90000);
+
+        // When & Then
+        assertNull(leaseMapper.updateReturningPrevious(lease));
+        assertEquals(85000, leaseMapper.findById(1L).getRent());
+    }
+
+    @Test
+    void deleteReturningPrevious_ShouldReturnKeysOfDeletedLease() {
+        // When
+        Lease deleted = leaseMapper.deleteReturningPrevious(10L);
+
+        // Then
+        assertEquals(1L, deleted.getPropertyId());
+        assertEquals(10L, deleted.getTenantId());
+        assertNull(leaseMapper.findVersionById(10L));
+        assertNull(leaseMapper.deleteReturningPrevious(10L));
+    }
+
+    private static Lease newLease(Long propertyId, String status) {
+        Lease lease = new Lease();
+        lease.setPropertyId(propertyId);
+        lease.setTenantId(4L);
+        lease.setRent(90000);
+        lease.setStartDate(LocalDate.of(2030, 4, 1));
+        lease.setStatus(status);
+        return lease;
+    }
+}
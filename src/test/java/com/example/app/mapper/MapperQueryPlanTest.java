@@ -0,0 +1,163 @@
+package com.example.app.mapper;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * mappers/*.xml の全ステートメントについてH2のEXPLAINで実行計画を取得し、
+ * テーブルの全件走査に退行していないことを検証します。
+ * インデックスの選択が件数に依存するため、専用のデータベースに大量の行を投入してから実行します。
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:plantest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MapperQueryPlanTest {
+
+    private static final int PROPERTIES = 20_000;
+    private static final int TENANTS = 20_000;
+    private static final int LEASES = 60_000;
+
+    /** 全件を読み出す・数え直すことが目的で、全件走査が正しい計画となるステートメント */
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+        "LeaseMapper.streamWithDetails",
+        "LeaseMapper.streamFacts",
+        "PropertyMapper.streamOccupancy",
+        "PortfolioMapper.countStats",
+        "PortfolioMapper.countExpirationDrift",
+        "PortfolioMapper.deleteExpirations",
+        "PortfolioMapper.insertCountedExpirations"
+    );
+
+    /** 特定のインデックスを使用すべきステートメントと、そのインデックス名 */
+    private static final Map<String, String> EXPECTED_INDEXES = Map.of(
+        "LeaseMapper.findPageByPropertyId", "IDX_LEASES_PROPERTY_START",
+        "LeaseMapper.findPageByTenantId", "IDX_LEASES_TENANT_START",
+        "LeaseMapper.findPropertyIdsWithActiveLease", "IDX_LEASES_PROPERTY_STATUS",
+        "LeaseMapper.existsActiveLeaseByPropertyId", "IDX_LEASES_PROPERTY_STATUS",
+        "PortfolioMapper.countCurrentLeasesByPropertyId", "IDX_LEASES_PROPERTY_STATUS",
+        "PropertyMapper.findPage", "IDX_PROPERTIES_NAME_ID",
+        "TenantMapper.findPage", "IDX_TENANTS_FULL_NAME_ID"
+    );
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO properties (name, address, area, rooms) "
+            + "SELECT 'Property ' || X, 'Address ' || X, '30.0', '1K' FROM SYSTEM_RANGE(1, ?)", PROPERTIES);
+        jdbcTemplate.update("INSERT INTO tenants (full_name, phone, email) "
+            + "SELECT 'Tenant ' || X, '090-0000-0000', 'tenant' || X || '@example.com' FROM SYSTEM_RANGE(1, ?)", TENANTS);
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status) "
+            + "SELECT MOD(X, ?) + 1, MOD(X * 7, ?) + 1, 100000, DATEADD('DAY', MOD(X, 3650), DATE '2015-01-01'), "
+            + "CASE MOD(X, 3) WHEN 0 THEN NULL ELSE DATEADD('DAY', MOD(X, 3650) + 730, DATE '2015-01-01') END, "
+            + "CASE MOD(X, 3) WHEN 0 THEN 'ACTIVE' WHEN 1 THEN 'NOTICE' ELSE 'ENDED' END "
+            + "FROM SYSTEM_RANGE(1, ?)", PROPERTIES, TENANTS, LEASES);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyMappedStatement_ShouldUseAnIndex() {
+        Map<String, MappedStatement> statements = new TreeMap<>();
+        for (Object candidate : sqlSessionFactory.getConfiguration().getMappedStatements()) {
+            if (candidate instanceof MappedStatement statement
+                    && statement.getId().startsWith(MapperQueryPlanTest.class.getPackageName() + ".")) {
+                statements.put(statement.getId().substring(statement.getId().indexOf("mapper.") + 7), statement);
+            }
+        }
+        assertFalse(statements.isEmpty());
+        return statements.entrySet().stream()
+            .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> assertPlan(entry.getKey(), entry.getValue())));
+    }
+
+    private void assertPlan(String name, MappedStatement statement) throws Exception {
+        Map<String, Object> parameters = sampleParameters();
+        BoundSql boundSql = statement.getBoundSql(parameters);
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, parameters, boundSql).setParameters(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                StringBuilder lines = new StringBuilder();
+                while (rs.next()) {
+                    lines.append(rs.getString(1)).append('\n');
+                }
+                plan = lines.toString();
+            }
+        }
+        if (FULL_SCAN_ALLOWED.contains(name)) {
+            return;
+        }
+        assertFalse(plan.contains(".tableScan"), () -> name + " scans a whole table:\n" + plan);
+        String expectedIndex = EXPECTED_INDEXES.get(name);
+        if (expectedIndex != null) {
+            assertTrue(plan.contains(expectedIndex), () -> name + " does not use " + expectedIndex + ":\n" + plan);
+        }
+    }
+
+    /**
+     * すべてのステートメントで共通に使用するパラメーター。
+     * 動的SQLの条件分岐はすべて有効になる値を設定します。
+     */
+    private static Map<String, Object> sampleParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", 42L);
+        parameters.put("ids", List.of(1L, 2L, 3L));
+        parameters.put("propertyId", 42L);
+        parameters.put("propertyIds", List.of(1L, 2L, 3L));
+        parameters.put("tenantId", 42L);
+        parameters.put("excludeLeaseId", 42L);
+        parameters.put("afterId", 42L);
+        parameters.put("afterName", "Property 42");
+        parameters.put("afterFullName", "Tenant 42");
+        parameters.put("afterStartDate", LocalDate.of(2020, 1, 1));
+        parameters.put("limit", 21);
+        parameters.put("today", LocalDate.of(2020, 1, 1));
+        parameters.put("status", "ACTIVE");
+        parameters.put("from", LocalDate.of(2020, 1, 1));
+        parameters.put("to", LocalDate.of(2020, 12, 31));
+        parameters.put("username", "admin");
+        parameters.put("name", "Property 42");
+        parameters.put("address", "Address 42");
+        parameters.put("area", "30.0");
+        parameters.put("rooms", "1K");
+        parameters.put("fullName", "Tenant 42");
+        parameters.put("phone", "090-0000-0000");
+        parameters.put("email", "tenant42@example.com");
+        parameters.put("password", "hash");
+        parameters.put("rent", 100000);
+        parameters.put("startDate", LocalDate.of(2020, 1, 1));
+        parameters.put("endDate", null);
+        parameters.put("deposit", null);
+        parameters.put("keymoney", null);
+        return parameters;
+    }
+}
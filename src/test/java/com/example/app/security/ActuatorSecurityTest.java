@@ -0,0 +1,72 @@
+package com.example.app.security;
+
+import com.example.app.model.User;
+import com.example.app.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * health以外の管理用エンドポイントが、app.security.admin-usernames に指定したユーザーのみに公開されることを検証します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:actuatorsecuritytest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.security.admin-usernames=opsadmin"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        for (String username : new String[] {"opsadmin", "plainuser"}) {
+            if (userService.findByUsername(username) == null) {
+                User user = new User();
+                user.setUsername(username);
+                user.setPassword("actuator-password");
+                userService.register(user);
+            }
+        }
+    }
+
+    @Test
+    void actuator_WhenRegularUser_ShouldBeForbidden() throws Exception {
+        // Given
+        var plainUser = user(userDetailsService.loadUserByUsername("plainuser"));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/statements").with(plainUser)).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/statements").with(plainUser).with(csrf())).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(plainUser)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health").with(plainUser)).andExpect(status().isOk());
+    }
+
+    @Test
+    void actuator_WhenAdmin_ShouldBeAvailable() throws Exception {
+        // Given
+        var admin = user(userDetailsService.loadUserByUsername("opsadmin"));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/statements").with(admin)).andExpect(status().isOk());
+        mockMvc.perform(delete("/actuator/statements").with(admin).with(csrf())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/metrics").with(admin)).andExpect(status().isOk());
+    }
+}
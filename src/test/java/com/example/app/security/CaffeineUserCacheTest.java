@@ -0,0 +1,53 @@
+package com.example.app.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineUserCacheTest {
+
+    private CaffeineUserCache userCache;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new CaffeineUserCache(100, Duration.ofMinutes(5));
+        user = User.withUsername("testuser").password("{bcrypt}$2a$10$hash").authorities("ROLE_USER").build();
+    }
+
+    @Test
+    void getUserFromCache_ShouldReturnStoredUserUntilRemoved() {
+        // Given
+        userCache.putUserInCache(user);
+
+        // When & Then
+        assertEquals("{bcrypt}$2a$10$hash", userCache.getUserFromCache("testuser").getPassword());
+        assertNull(userCache.getUserFromCache("other"));
+
+        userCache.removeUserFromCache("testuser");
+        assertNull(userCache.getUserFromCache("testuser"));
+    }
+
+    @Test
+    void getUserFromCache_WhenCredentialsOfAuthenticationAreErased_ShouldKeepPassword() {
+        // Given
+        userCache.putUserInCache(user);
+        UserDetails cached = userCache.getUserFromCache("testuser");
+        UsernamePasswordAuthenticationToken authentication =
+            UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+
+        // When
+        authentication.eraseCredentials();
+        ((User) user).eraseCredentials();
+
+        // Then
+        assertNull(cached.getPassword());
+        assertEquals("{bcrypt}$2a$10$hash", userCache.getUserFromCache("testuser").getPassword());
+    }
+}
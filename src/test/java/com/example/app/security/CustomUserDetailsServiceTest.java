@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -20,6 +21,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
@@ -77,5 +81,20 @@ class CustomUserDetailsServiceTest {
         assertEquals(1, userDetails.getAuthorities().size());
         assertEquals("ROLE_USER", userDetails.getAuthorities().iterator().next().getAuthority());
     }
-}
 
+    @Test
+    void updatePassword_ShouldStoreNewHashAndEvictCachedUser() {
+        // Given
+        when(userMapper.findByUsername("testuser")).thenReturn(testUser);
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testuser");
+
+        // When
+        UserDetails updated = userDetailsService.updatePassword(userDetails, "{bcrypt}$2a$12$newhash");
+
+        // Then
+        verify(userMapper, times(1)).updatePassword("testuser", "{bcrypt}$2a$12$newhash");
+        verify(userCache, times(1)).removeUserFromCache("testuser");
+        assertEquals("{bcrypt}$2a$12$newhash", updated.getPassword());
+        assertEquals(userDetails.getAuthorities(), updated.getAuthorities());
+    }
+}
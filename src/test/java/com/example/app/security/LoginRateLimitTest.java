@@ -0,0 +1,176 @@
+package com.example.app.security;
+
+import com.example.app.model.User;
+import com.example.app.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ログイン・ユーザー登録の試行回数の制限が、パスワードハッシュを計算する前に試行を拒否し、
+ * 総当たり攻撃中も他の利用者のページ表示が遅くならないことを検証します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ratelimittest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.security.password.bcrypt-strength=10",
+    "app.security.login-rate-limit.address.capacity=5",
+    "app.security.login-rate-limit.address.refill-interval=1h",
+    "app.security.login-rate-limit.username.capacity=3",
+    "app.security.login-rate-limit.username.refill-interval=1h"
+})
+@AutoConfigureMockMvc
+class LoginRateLimitTest {
+
+    private static final String USERNAME = "limituser";
+    private static final String PASSWORD = "limit-password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        if (userService.findByUsername(USERNAME) == null) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword(PASSWORD);
+            userService.register(user);
+        }
+    }
+
+    @Test
+    void login_WhenAddressLimitIsReached_ShouldRejectWith429() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/login").with(csrf()).with(from("203.0.113.10"))
+                    .param("username", "guess" + i)
+                    .param("password", "wrong"))
+                    .andExpect(redirectedUrl("/login?error=true"));
+        }
+
+        // When & Then
+        mockMvc.perform(post("/login").with(csrf()).with(from("203.0.113.10"))
+                .param("username", USERNAME)
+                .param("password", PASSWORD))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3600"));
+        mockMvc.perform(post("/register").with(csrf()).with(from("203.0.113.10"))
+                .param("username", "newcomer")
+                .param("password", "password123"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/login").with(csrf()).with(from("203.0.113.11"))
+                .param("username", USERNAME)
+                .param("password", PASSWORD))
+                .andExpect(redirectedUrl("/properties"));
+    }
+
+    @Test
+    void login_WhenUsernameLimitIsReached_ShouldRejectFromOtherAddresses() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/login").with(csrf()).with(from("198.51.100." + i))
+                    .param("username", "targeted")
+                    .param("password", "wrong"))
+                    .andExpect(redirectedUrl("/login?error=true"));
+        }
+
+        // When & Then
+        mockMvc.perform(post("/login").with(csrf()).with(from("198.51.100.99"))
+                .param("username", "targeted")
+                .param("password", "wrong"))
+                .andExpect(status().isTooManyRequests());
+        assertTrue(meterRegistry.get("auth.rate_limit").tag("outcome", "rejected").tag("limit", "username")
+            .functionCounter().count() >= 1);
+    }
+
+    @Test
+    void pages_DuringCredentialStuffing_ShouldKeepLatency() throws Exception {
+        // Given
+        medianPageMillis(10);
+        double baseline = medianPageMillis(25);
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService attackers = Executors.newFixedThreadPool(2);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        double underAttack;
+        try {
+            // 2スレッドから合計で毎秒100回程度の試行を続けます（制限がなければハッシュの計算だけでCPUを使い切る頻度です）
+            for (int t = 0; t < 2; t++) {
+                futures.add(attackers.submit(() -> {
+                    while (attacking.get()) {
+                        int status = mockMvc.perform(post("/login").with(csrf()).with(from("192.0.2.66"))
+                                .param("username", "victim" + attempts.incrementAndGet())
+                                .param("password", "password"))
+                                .andReturn().getResponse().getStatus();
+                        if (status == 429) {
+                            rejected.incrementAndGet();
+                        }
+                        Thread.sleep(20);
+                    }
+                    return null;
+                }));
+            }
+            underAttack = medianPageMillis(25);
+        } finally {
+            attacking.set(false);
+            attackers.shutdown();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // Then
+        // 接続元アドレスの容量（5回）を超えた試行はすべてハッシュを計算せずに拒否されます
+        assertEquals(attempts.get() - 5, rejected.get());
+        assertTrue(underAttack <= baseline * 2 + 20,
+            () -> "page latency rose from " + baseline + " ms to " + underAttack + " ms under attack");
+    }
+
+    private double medianPageMillis(int samples) throws Exception {
+        long[] elapsed = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long started = System.nanoTime();
+            mockMvc.perform(get("/properties").with(user(USERNAME)))
+                    .andExpect(status().isOk());
+            elapsed[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[samples / 2] / 1_000_000.0;
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.app.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private MutableClock clock;
+    private LoginRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        rateLimiter = new LoginRateLimiter(4, Duration.ofSeconds(1), 2, Duration.ofSeconds(10), 1000, clock);
+    }
+
+    @Test
+    void tryAcquire_WhenAddressCapacityIsUsed_ShouldRejectUntilRefilled() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            assertNull(rateLimiter.tryAcquire("203.0.113.7", "user" + i));
+        }
+
+        // When & Then
+        assertEquals(LoginRateLimiter.Limit.ADDRESS, rateLimiter.tryAcquire("203.0.113.7", "user9"));
+        assertNull(rateLimiter.tryAcquire("198.51.100.1", "user9"));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(rateLimiter.tryAcquire("203.0.113.7", "user9"));
+        assertEquals(LoginRateLimiter.Limit.ADDRESS, rateLimiter.tryAcquire("203.0.113.7", "user8"));
+        assertEquals(Duration.ofSeconds(1), rateLimiter.retryAfter(LoginRateLimiter.Limit.ADDRESS));
+    }
+
+    @Test
+    void tryAcquire_WhenUsernameCapacityIsUsed_ShouldRejectFromAnyAddress() {
+        // Given
+        assertNull(rateLimiter.tryAcquire("203.0.113.1", "victim"));
+        assertNull(rateLimiter.tryAcquire("203.0.113.2", "Victim "));
+
+        // When & Then
+        assertEquals(LoginRateLimiter.Limit.USERNAME, rateLimiter.tryAcquire("203.0.113.3", "VICTIM"));
+        assertNull(rateLimiter.tryAcquire("203.0.113.3", "other"));
+        assertNull(rateLimiter.tryAcquire("203.0.113.3", null));
+
+        clock.advance(Duration.ofSeconds(10));
+        assertNull(rateLimiter.tryAcquire("203.0.113.4", "victim"));
+    }
+
+    @Test
+    void tryAcquire_AfterIdlePeriod_ShouldNotAccumulateMoreThanCapacity() {
+        // Given
+        clock.advance(Duration.ofHours(1));
+
+        // When
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (rateLimiter.tryAcquire("203.0.113.7", null) == null) {
+                allowed++;
+            }
+        }
+
+        // Then
+        assertEquals(4, allowed);
+    }
+
+    @Test
+    void tryAcquire_WhenCalledConcurrently_ShouldAllowExactlyCapacity() throws Exception {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(
+            100, Duration.ofHours(1), 100, Duration.ofHours(1), 1000, clock);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("203.0.113.7", null) == null) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(100, allowed.get());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-04-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
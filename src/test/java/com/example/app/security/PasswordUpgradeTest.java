@@ -0,0 +1,65 @@
+package com.example.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 接頭辞のない既存のハッシュや低いコストのハッシュが、ログイン成功時に現在の設定で保存し直されることを検証します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:passwordupgradetest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.security.password.bcrypt-strength=5"
+})
+class PasswordUpgradeTest {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void authenticate_WithLegacyHash_ShouldRehashWithPrefixAndCurrentStrength() {
+        // Given
+        jdbcTemplate.update("INSERT INTO users (username, password) VALUES (?, ?)",
+            "legacyuser", BCrypt.hashpw("legacy-password", BCrypt.gensalt(4)));
+
+        // When
+        Authentication authentication = authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated("legacyuser", "legacy-password"));
+
+        // Then
+        assertTrue(authentication.isAuthenticated());
+        String stored = storedHash("legacyuser");
+        assertTrue(stored.startsWith("{bcrypt}$2a$05$"), stored);
+
+        // 保存し直したハッシュで再度ログインでき、ハッシュは変わりません
+        authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated("legacyuser", "legacy-password"));
+        assertEquals(stored, storedHash("legacyuser"));
+    }
+
+    @Test
+    void authenticate_WithWrongPassword_ShouldNotRehash() {
+        // Given
+        String legacy = BCrypt.hashpw("right-password", BCrypt.gensalt(4));
+        jdbcTemplate.update("INSERT INTO users (username, password) VALUES (?, ?)", "wronguser", legacy);
+
+        // When & Then
+        assertThrows(Exception.class, () -> authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated("wronguser", "wrong-password")));
+        assertEquals(legacy, storedHash("wronguser"));
+    }
+
+    private String storedHash(String username) {
+        return jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = ?", String.class, username);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.app.security;
+
+import com.example.app.model.User;
+import com.example.app.service.UserService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 認証情報をCookieに保持する構成で、フォームログイン・ページ表示・ログアウトが
+ * HttpSessionを作成せずに行えることを検証します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cookielogintest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.security.context-store=cookie",
+    "app.security.token-cookie.keys=k1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="
+})
+@AutoConfigureMockMvc
+class SignedCookieLoginTest {
+
+    private static final String USERNAME = "cookieuser";
+    private static final String PASSWORD = "cookie-password";
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        if (userService.findByUsername(USERNAME) == null) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword(PASSWORD);
+            userService.register(user);
+        }
+    }
+
+    @Test
+    void login_ShouldIssueCookieWithoutSession() throws Exception {
+        // Given
+        MvcResult page = mockMvc.perform(get("/login")).andReturn();
+        Cookie csrfCookie = page.getResponse().getCookie("XSRF-TOKEN");
+
+        // When
+        MvcResult result = mockMvc.perform(post("/login")
+                .cookie(csrfCookie)
+                .param("username", USERNAME)
+                .param("password", PASSWORD)
+                .param("_csrf", csrfToken(page)))
+                .andExpect(redirectedUrl("/properties"))
+                .andReturn();
+
+        // Then
+        Cookie auth = result.getResponse().getCookie("AUTH");
+        assertNotNull(auth);
+        assertTrue(auth.isHttpOnly());
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void cookie_ShouldAuthenticateRequestWithoutSession() throws Exception {
+        // Given
+        Cookie auth = login();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/properties").cookie(auth))
+                .andExpect(status().isOk())
+                .andExpect(view().name("properties/list"))
+                .andReturn();
+
+        // Then
+        assertNull(result.getRequest().getSession(false));
+        mockMvc.perform(get("/properties"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void logout_ShouldExpireCookie() throws Exception {
+        // Given
+        Cookie auth = login();
+        MvcResult page = mockMvc.perform(get("/properties").cookie(auth)).andReturn();
+
+        // When & Then
+        mockMvc.perform(post("/logout")
+                .cookie(auth, page.getResponse().getCookie("XSRF-TOKEN"))
+                .param("_csrf", csrfToken(page)))
+                .andExpect(redirectedUrl("/login?logout=true"))
+                .andExpect(cookie().maxAge("AUTH", 0));
+    }
+
+    /**
+     * 実際のブラウザと同様に、ログイン画面で受け取ったCSRFトークンのCookieとフォームの値でログインします。
+     * （csrf()はテスト用のリポジトリに差し替えてトークンをセッションに保存するため、このクラスでは使用しません）
+     */
+    private Cookie login() throws Exception {
+        MvcResult page = mockMvc.perform(get("/login")).andReturn();
+        return mockMvc.perform(post("/login")
+                .cookie(page.getResponse().getCookie("XSRF-TOKEN"))
+                .param("username", USERNAME)
+                .param("password", PASSWORD)
+                .param("_csrf", csrfToken(page)))
+                .andReturn().getResponse().getCookie("AUTH");
+    }
+
+    private static String csrfToken(MvcResult page) throws Exception {
+        Matcher matcher = CSRF.matcher(page.getResponse().getContentAsString());
+        assertTrue(matcher.find(), "CSRF token not found on the login page");
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.app.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedCookieSecurityContextRepositoryTest {
+
+    private static final String KEY_A = "a:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String KEY_B = "b:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+    private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+    private SignedCookieSecurityContextRepository repository;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        repository = repository(List.of(KEY_A), NOW);
+        authentication = UsernamePasswordAuthenticationToken.authenticated(
+            "testuser", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    private static SignedCookieSecurityContextRepository repository(List<String> keys, Instant now) {
+        return new SignedCookieSecurityContextRepository(keys, Duration.ofHours(8), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void saveContext_ShouldWriteHttpOnlyCookieThatLoadsBack() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        repository.saveContext(new SecurityContextImpl(authentication), new MockHttpServletRequest(), response);
+
+        // Then
+        Cookie cookie = response.getCookie("AUTH");
+        assertNotNull(cookie);
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(8 * 60 * 60, cookie.getMaxAge());
+        assertTrue(cookie.getValue().startsWith("a."));
+        assertFalse(cookie.getValue().contains("testuser"));
+
+        Authentication loaded = load(repository, cookie.getValue()).getAuthentication();
+        assertNotNull(loaded);
+        assertTrue(loaded.isAuthenticated());
+        assertEquals("testuser", loaded.getName());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"), List.copyOf(loaded.getAuthorities()));
+    }
+
+    @Test
+    void loadContext_WhenTampered_ShouldReturnEmptyContext() {
+        // Given
+        String token = repository.issue(authentication);
+        byte[] bytes = Base64.getUrlDecoder().decode(token.substring(2));
+        bytes[bytes.length - 1] ^= 1;
+        String tampered = "a." + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // When & Then
+        assertNull(load(repository, tampered).getAuthentication());
+        assertNull(load(repository, "a.not-base64!").getAuthentication());
+        assertNull(load(repository, "garbage").getAuthentication());
+    }
+
+    @Test
+    void loadContext_WhenEncodingIsNotCanonical_ShouldReturnEmptyContext() {
+        // Given
+        String token = repository.issue(authentication);
+        String encoded = token.substring(2);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        int last = alphabet.indexOf(encoded.charAt(encoded.length() - 1));
+        String variant = "a." + encoded.substring(0, encoded.length() - 1) + alphabet.charAt(last ^ 1);
+
+        // When & Then
+        assertArrayEquals(Base64.getUrlDecoder().decode(encoded), Base64.getUrlDecoder().decode(variant.substring(2)));
+        assertNull(load(repository, variant).getAuthentication());
+    }
+
+    @Test
+    void loadContext_WhenExpired_ShouldReturnEmptyContext() {
+        // Given
+        String token = repository.issue(authentication);
+
+        // When & Then
+        assertNotNull(load(repository(List.of(KEY_A), NOW.plus(Duration.ofHours(7))), token).getAuthentication());
+        assertNull(load(repository(List.of(KEY_A), NOW.plus(Duration.ofHours(8))), token).getAuthentication());
+    }
+
+    @Test
+    void loadContext_AfterKeyRotation_ShouldAcceptOldKeyAndIssueWithNewKey() {
+        // Given
+        String oldToken = repository.issue(authentication);
+        SignedCookieSecurityContextRepository rotated = repository(List.of(KEY_B, KEY_A), NOW);
+
+        // When
+        String newToken = rotated.issue(authentication);
+
+        // Then
+        assertNotNull(load(rotated, oldToken).getAuthentication());
+        assertTrue(newToken.startsWith("b."));
+        assertNull(load(repository, newToken).getAuthentication());
+    }
+
+    @Test
+    void loadContext_WhenKeyIdIsSwapped_ShouldReturnEmptyContext() {
+        // Given
+        SignedCookieSecurityContextRepository both = repository(List.of(KEY_A, KEY_B), NOW);
+        String token = both.issue(authentication);
+
+        // When & Then
+        assertNull(load(both, "b" + token.substring(1)).getAuthentication());
+    }
+
+    @Test
+    void saveContext_WhenAnonymous_ShouldExpireExistingCookie() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("AUTH", repository.issue(authentication)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Authentication anonymous = new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        // When
+        repository.saveContext(new SecurityContextImpl(anonymous), request, response);
+
+        // Then
+        Cookie cookie = response.getCookie("AUTH");
+        assertNotNull(cookie);
+        assertEquals(0, cookie.getMaxAge());
+        assertEquals("", cookie.getValue());
+    }
+
+    @Test
+    void constructor_WhenKeyIsInvalid_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> repository(List.of(), NOW));
+        assertThrows(IllegalArgumentException.class, () -> repository(List.of("MDEyMzQ1Njc4OWFiY2RlZg=="), NOW));
+        assertThrows(IllegalArgumentException.class, () -> repository(List.of("a:c2hvcnQ="), NOW));
+        assertThrows(IllegalArgumentException.class, () -> repository(List.of(KEY_A, KEY_A), NOW));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static SecurityContext load(SignedCookieSecurityContextRepository repository, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("AUTH", token));
+        return repository.loadContext(new HttpRequestResponseHolder(request, new MockHttpServletResponse()));
+    }
+}
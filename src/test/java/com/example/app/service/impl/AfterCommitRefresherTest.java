@@ -0,0 +1,100 @@
+package com.example.app.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AfterCommitRefresherTest {
+
+    private final List<List<Long>> refreshed = new CopyOnWriteArrayList<>();
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    private AfterCommitRefresher refresher;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        refresher.shutdown();
+    }
+
+    @Test
+    void propertyChanged_InTransaction_ShouldRefreshOnceOnAnotherThreadAfterCommit() {
+        // Given
+        List<String> threads = new CopyOnWriteArrayList<>();
+        refresher = new AfterCommitRefresher("test", reloads::incrementAndGet, ids -> {
+            threads.add(Thread.currentThread().getName());
+            refreshed.add(ids);
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        refresher.propertyChanged(1L);
+        refresher.propertyChanged(2L);
+        refresher.propertyChanged(1L);
+        refresher.awaitIdle();
+        assertTrue(refreshed.isEmpty());
+
+        // When
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        refresher.awaitIdle();
+
+        // Then
+        assertEquals(1, refreshed.size());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(refreshed.get(0)));
+        assertEquals(List.of("test-refresh"), threads);
+        assertNull(TransactionSynchronizationManager.getResource(refresher));
+    }
+
+    @Test
+    void propertyChanged_WhenRolledBack_ShouldNotRefresh() {
+        // Given
+        refresher = new AfterCommitRefresher("test", reloads::incrementAndGet, refreshed::add);
+        TransactionSynchronizationManager.initSynchronization();
+        refresher.propertyChanged(1L);
+
+        // When
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        refresher.awaitIdle();
+
+        // Then
+        assertTrue(refreshed.isEmpty());
+        assertNull(TransactionSynchronizationManager.getResource(refresher));
+    }
+
+    @Test
+    void propertyChanged_WhenRefreshFails_ShouldCountFailureAndReload() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        refresher = new AfterCommitRefresher("test", reloads::incrementAndGet, ids -> {
+            throw new IllegalStateException("Connection is not available");
+        });
+        refresher.bindTo(registry);
+
+        // When
+        refresher.propertyChanged(1L);
+        refresher.awaitIdle();
+
+        // Then
+        assertEquals(1, reloads.get());
+        assertEquals(1.0, registry.get("table.refresh.failures").tag("table", "test").functionCounter().count());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
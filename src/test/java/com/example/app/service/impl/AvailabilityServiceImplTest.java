@@ -0,0 +1,103 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.AvailabilityResult;
+import com.example.app.model.AvailableProperty;
+import com.example.app.model.Lease;
+import com.example.app.service.AvailabilityService;
+import com.example.app.service.LeaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 起動時に読み込んだ空室検索用の表が、契約の書き込みのコミット後に反映されることを検証します。
+ * 書き込みをコミットする必要があるため、各テストは変更を元に戻して終了します。
+ * 読み直しが書き込みと同時に2つ目の接続を使わないことを確かめるため、接続プールの接続数を1にしています。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:availabilitytest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.datasource.hikari.maximum-pool-size=1"
+})
+class AvailabilityServiceImplTest {
+
+    // 初期データの解約予告中の契約（物件4・6・8）は、いずれも5か月後までに終了します
+    private static final LocalDate FROM = LocalDate.now().plusMonths(6);
+    private static final LocalDate TO = FROM.plusYears(1).minusDays(1);
+
+    @Autowired
+    private AvailabilityServiceImpl availabilityService;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Test
+    void search_AfterStartup_ShouldReflectSeedData() {
+        // When
+        AvailabilityResult result = availabilityService.search(FROM, TO, null, null, 100);
+
+        // Then
+        assertEquals(10, result.getScannedProperties());
+        assertEquals(List.of(4L, 6L, 8L, 10L), ids(result));
+        AvailableProperty vacant = result.getProperties().get(3);
+        assertEquals("中央区", vacant.getArea());
+        assertEquals(LocalDate.of(2023, 9, 1), vacant.getAvailableFrom());
+        assertNull(vacant.getAvailableUntil());
+    }
+
+    @Test
+    void search_ShouldFilterByRoomsAndArea() {
+        // When
+        AvailabilityResult twoRooms = availabilityService.search(FROM, TO, "2LDK", null, 100);
+        AvailabilityResult chuo = availabilityService.search(FROM, TO, null, "中央区", 100);
+        AvailabilityResult now = availabilityService.search(LocalDate.now(), LocalDate.now(), null, null, 100);
+
+        // Then
+        assertEquals(List.of(8L), ids(twoRooms));
+        assertEquals(List.of(10L), ids(chuo));
+        assertEquals(List.of(10L), ids(now));
+    }
+
+    @Test
+    void leaseWrites_ShouldBeReflectedAfterCommit() {
+        // Given
+        Lease lease = new Lease();
+        lease.setPropertyId(10L);
+        lease.setTenantId(4L);
+        lease.setRent(100000);
+        lease.setStartDate(FROM.plusMonths(1));
+        lease.setStatus("ACTIVE");
+        lease.setVersion(0);
+
+        // When & Then
+        leaseService.createLease(lease);
+        availabilityService.awaitRefresh();
+        try {
+            AvailabilityResult result = availabilityService.search(FROM, TO, null, null, 100);
+            assertEquals(List.of(4L, 6L, 8L), ids(result));
+            AvailabilityResult before = availabilityService.search(FROM, FROM, null, "中央区", 100);
+            assertEquals(FROM.plusMonths(1).minusDays(1), before.getProperties().get(0).getAvailableUntil());
+        } finally {
+            leaseService.deleteLease(lease.getId());
+            availabilityService.awaitRefresh();
+        }
+        assertEquals(List.of(4L, 6L, 8L, 10L), ids(availabilityService.search(FROM, TO, null, null, 100)));
+    }
+
+    @Test
+    void search_WhenParametersAreInvalid_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.search(TO, FROM, null, null, 100));
+        assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.search(FROM, TO, null, null, AvailabilityService.MAX_LIMIT + 1));
+    }
+
+    private static List<Long> ids(AvailabilityResult result) {
+        return result.getProperties().stream().map(AvailableProperty::getId).toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.mapper.TenantMapper;
+import com.example.app.model.ImportReport;
+import com.example.app.model.ImportRowError;
+import com.example.app.model.Property;
+import com.example.app.model.Suggestion;
+import com.example.app.service.ImportEntityType;
+import com.example.app.service.TypeaheadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * BATCH実行モードとチャンク単位のトランザクションを検証するため、
+ * 専用のインメモリデータベースに対して実行します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:importtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.import.chunk-size=2"
+})
+class ImportServiceImplTest {
+
+    @Autowired
+    private ImportServiceImpl importService;
+
+    @Autowired
+    private PropertyMapper propertyMapper;
+
+    @Autowired
+    private TenantMapper tenantMapper;
+
+    @Autowired
+    private LeaseMapper leaseMapper;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @SpyBean
+    private LeasePeriodIndex leasePeriodIndex;
+
+    @Test
+    void importCsv_Properties_ShouldInsertValidRowsAndReportInvalidOnes() throws IOException {
+        // Given
+        String csv = "\uFEFFname,address,area,rooms\r\n"
+                + "取込テスト A,東京都港区1-1,20.5,1K\r\n"
+                + "\"取込テスト, B\",東京都港区1-2,30.0,\r\n"
+                + ",東京都港区1-3,25.0,1R\r\n"
+                + "\r\n"
+                + "取込テスト C,東京都港区1-4,40.0,2LDK\r\n";
+        int before = propertyMapper.findAll().size();
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.PROPERTY, stream(csv));
+
+        // Then
+        assertEquals(4, report.getTotalRows());
+        assertEquals(3, report.getImportedRows());
+        assertEquals(1, report.getFailedRows());
+        assertEquals(List.of(new ImportRowError(4, "物件名を入力してください")), report.getErrors());
+        List<Property> properties = propertyMapper.findAll();
+        assertEquals(before + 3, properties.size());
+        assertTrue(properties.stream().anyMatch(p -> "取込テスト, B".equals(p.getName()) && p.getRooms() == null));
+        List<Suggestion> suggestions = typeaheadService.searchProperties("取込テスト", 10);
+        assertEquals(3, suggestions.size());
+        assertTrue(suggestions.stream().allMatch(s -> s.getId() != null));
+    }
+
+    @Test
+    void importCsv_WithLineBreakInQuotedField_ShouldReadWholeRecord() throws IOException {
+        // Given
+        // 契約のエクスポートと同じく、改行を含むフィールドはダブルクォートで囲まれます
+        String csv = "name,address,area,rooms\r\n"
+                + "\"改行テスト\r\n\"\"別館\"\"\",東京都港区2-1,20.0,1K\r\n"
+                + ",東京都港区2-2,20.0,1K\r\n";
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.PROPERTY, stream(csv));
+
+        // Then
+        assertEquals(2, report.getTotalRows());
+        assertEquals(1, report.getImportedRows());
+        assertEquals(List.of(new ImportRowError(4, "物件名を入力してください")), report.getErrors());
+        assertTrue(propertyMapper.findAll().stream().anyMatch(p -> "改行テスト\n\"別館\"".equals(p.getName())));
+    }
+
+    @Test
+    void importCsv_Tenants_ShouldValidateEmail() throws IOException {
+        // Given
+        String csv = "full_name,phone,email\n"
+                + "取込 一郎,090-0000-0001,ichiro@example.com\n"
+                + "取込 二郎,,not-an-email\n";
+        int before = tenantMapper.findAll().size();
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.TENANT, stream(csv));
+
+        // Then
+        assertEquals(1, report.getImportedRows());
+        assertEquals(List.of(new ImportRowError(3, "有効なメールアドレスを入力してください")), report.getErrors());
+        assertEquals(before + 1, tenantMapper.findAll().size());
+    }
+
+    @Test
+    void importCsv_Leases_ShouldApplyActiveLeaseRuleInBulk() throws IOException {
+        // Given
+        // 物件1は既存の有効な契約あり、物件4と6は解約予告中のため有効な契約なし（解約予告中の契約は4か月後までに終了）
+        LocalDate start = LocalDate.now().plusMonths(5).withDayOfMonth(1);
+        String csv = "property_id,tenant_id,rent,start_date,end_date,status,deposit,keymoney\n"
+                + "1,10,90000,2024-04-01,,ACTIVE,180000,90000\n"
+                + "4,10,230000," + start + ",,ACTIVE,,\n"
+                + "4,9,230000," + start.plusMonths(1) + ",,ACTIVE,,\n"
+                + "6,9,140000," + start + ",,ACTIVE,,\n"
+                + "9999,1,50000,2024-01-01,,ENDED,,\n"
+                + "1,1,abc,2024-01-01,,ENDED,,\n"
+                + "1,1,50000,2024/01/01,,ENDED,,\n"
+                + "1,1,50000,2024-01-01,,UNKNOWN,,\n"
+                + "1,10,80000,2020-01-01,2021-03-31,ENDED,,\n";
+        int leasesOfProperty4 = leaseMapper.findByPropertyId(4L).size();
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.LEASE, stream(csv));
+
+        // Then
+        assertEquals(9, report.getTotalRows());
+        assertEquals(3, report.getImportedRows());
+        List<Long> failedRows = report.getErrors().stream().map(ImportRowError::getRowNumber).toList();
+        assertEquals(List.of(2L, 4L, 6L, 7L, 8L, 9L), failedRows);
+        assertEquals("物件には既に有効な賃貸契約があります", report.getErrors().get(0).getMessage());
+        assertEquals("物件には既に有効な賃貸契約があります", report.getErrors().get(1).getMessage());
+        assertEquals("物件が存在しません: 9999", report.getErrors().get(2).getMessage());
+        assertEquals(leasesOfProperty4 + 1, leaseMapper.findByPropertyId(4L).size());
+        assertEquals(1, leaseMapper.findActiveLeasesByPropertyId(6L).size());
+    }
+
+    @Test
+    void importCsv_Leases_ShouldRejectOverlappingPeriods() throws IOException {
+        // Given
+        // 物件4には解約予告中の契約（ID 7）があり、物件10には終了済みの契約のみがあります
+        String csv = "property_id,tenant_id,rent,start_date,end_date,status,deposit,keymoney\n"
+                + "10,1,280000,2030-01-01,2030-12-31,ACTIVE,,\n"
+                + "10,2,280000,2030-06-01,2031-05-31,ENDED,,\n"
+                + "4,10,230000,2025-01-01,,ACTIVE,,\n"
+                + "10,2,280000,2030-12-31,2031-05-31,ENDED,,\n"
+                + "10,2,280000,2031-01-01,2031-12-31,ENDED,,\n";
+        int leasesOfProperty10 = leaseMapper.findByPropertyId(10L).size();
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.LEASE, stream(csv));
+
+        // Then
+        assertEquals(5, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        List<Long> failedRows = report.getErrors().stream().map(ImportRowError::getRowNumber).toList();
+        // チャンクは2行ずつのため、3行目は同じチャンクの2行目と、5行目は前のチャンクで登録した2行目と重なります
+        assertEquals(List.of(3L, 4L, 5L), failedRows);
+        assertEquals("契約期間が2行目の契約と重なっています", report.getErrors().get(0).getMessage());
+        assertTrue(report.getErrors().get(1).getMessage().startsWith("契約期間が登録済みの契約 7（2022-01-15〜"));
+        assertTrue(report.getErrors().get(2).getMessage().startsWith("契約期間が登録済みの契約 "));
+        assertTrue(report.getErrors().get(2).getMessage().endsWith("（2030-01-01〜2030-12-31）と重なっています"));
+        assertEquals(leasesOfProperty10 + 2, leaseMapper.findByPropertyId(10L).size());
+    }
+
+    @Test
+    void importCsv_WhenCheckFailsPartway_ShouldReportEachRowOnce() throws IOException {
+        // Given
+        doThrow(new QueryTimeoutException("Statement was canceled"))
+            .when(leasePeriodIndex).findImportOverlap(any(), any());
+        String csv = "property_id,tenant_id,rent,start_date,end_date,status,deposit,keymoney\n"
+                + "9999,1,50000,2030-01-01,,ENDED,,\n"
+                + "10,1,280000,2030-01-01,2030-12-31,ENDED,,\n";
+        int leasesOfProperty10 = leaseMapper.findByPropertyId(10L).size();
+
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.LEASE, stream(csv));
+
+        // Then
+        assertEquals(2, report.getTotalRows());
+        assertEquals(0, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertEquals(List.of(new ImportRowError(2, "物件が存在しません: 9999"),
+            new ImportRowError(3, "登録に失敗しました: Statement was canceled")), report.getErrors());
+        assertEquals(leasesOfProperty10, leaseMapper.findByPropertyId(10L).size());
+    }
+
+    @Test
+    void importCsv_WithMissingColumns_ShouldRejectFile() throws IOException {
+        // When
+        ImportReport report = importService.importCsv(ImportEntityType.LEASE, stream("property_id,tenant_id\n1,1\n"));
+
+        // Then
+        assertEquals(0, report.getTotalRows());
+        assertEquals(1, report.getFailedRows());
+        assertEquals(1, report.getErrors().get(0).getRowNumber());
+        assertTrue(report.getErrors().get(0).getMessage().contains("rent, start_date, status"));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.PortfolioSummary;
+import com.example.app.service.LeaseExpiryService;
+import com.example.app.service.LeaseService;
+import com.example.app.service.PortfolioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 終了日を過ぎた契約が一定件数ずつENDEDになり、ダッシュボードの集計値と有効な契約の判定に反映されることを検証します。
+ * 1回に更新する件数を2件にして、複数回に分けて更新される場合を確認します。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:leaseexpirytest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.lease-expiry.chunk-size=2"
+})
+@Transactional
+class LeaseExpiryServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private LeaseExpiryService leaseExpiryService;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // 物件10（空室）に昨日終了した有効な契約、物件1に先月終了した解約予告中の契約と本日終了する契約を追加し、
+        // サービスを経由しない書き込みを集計値に反映しておきます
+        insertLease(10L, "ACTIVE", TODAY.minusDays(1));
+        insertLease(1L, "NOTICE", TODAY.minusMonths(1));
+        insertLease(1L, "ACTIVE", TODAY.minusYears(1));
+        insertLease(1L, "ACTIVE", TODAY);
+        portfolioService.reconcile();
+    }
+
+    @Test
+    void expireLeases_ShouldEndExpiredLeasesInChunks() {
+        // Given
+        PortfolioSummary before = portfolioService.getSummary();
+        double transitions = meterRegistry.get("lease.expiry.transitions").functionCounter().count();
+        assertTrue(leaseService.hasActiveLeases(10L));
+
+        // When
+        int ended = leaseExpiryService.expireLeases(TODAY);
+
+        // Then
+        assertEquals(3, ended);
+        assertEquals(3, meterRegistry.get("lease.expiry.transitions").functionCounter().count() - transitions);
+        assertEquals(List.of("ACTIVE"), jdbcTemplate.queryForList(
+            "SELECT status FROM leases WHERE end_date >= ? AND property_id IN (1, 10)", String.class, TODAY));
+        assertFalse(leaseService.hasActiveLeases(10L));
+        assertTrue(leaseService.hasActiveLeases(1L));
+
+        PortfolioSummary after = portfolioService.getSummary();
+        assertEquals(before.getCurrentLeaseCount() - 3, after.getCurrentLeaseCount());
+        assertEquals(before.getNoticeLeaseCount() - 1, after.getNoticeLeaseCount());
+        assertEquals(before.getOccupiedPropertyCount() - 1, after.getOccupiedPropertyCount());
+        assertEquals(before.getMonthlyRent() - 150_000, after.getMonthlyRent());
+        assertFalse(portfolioService.reconcile());
+    }
+
+    @Test
+    void expireLeases_WhenRunAgain_ShouldNotChangeAnything() {
+        // Given
+        leaseExpiryService.expireLeases(TODAY);
+        PortfolioSummary before = portfolioService.getSummary();
+
+        // When
+        int ended = leaseExpiryService.expireLeases(TODAY);
+
+        // Then
+        assertEquals(0, ended);
+        assertEquals(before, portfolioService.getSummary());
+        assertTrue(meterRegistry.get("lease.expiry.runs").functionTimer().count() >= 2);
+    }
+
+    private void insertLease(Long propertyId, String status, LocalDate endDate) {
+        jdbcTemplate.update("INSERT INTO leases (property_id, tenant_id, rent, start_date, end_date, status) "
+            + "VALUES (?, 10, 50000, ?, ?, ?)", propertyId, endDate.minusYears(2), endDate, status);
+    }
+}
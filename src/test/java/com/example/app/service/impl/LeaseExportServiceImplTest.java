@@ -0,0 +1,171 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import com.example.app.model.LeaseExportFilter;
+import com.example.app.model.Property;
+import com.example.app.model.Tenant;
+import com.example.app.service.LeaseExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaseExportServiceImplTest {
+
+    @Mock
+    private LeaseMapper leaseMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private LeaseExportServiceImpl leaseExportService;
+
+    private Lease testLease;
+    private LeaseExportFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Property property = new Property();
+        property.setId(1L);
+        property.setName("サニーアパート, 101号室");
+        property.setAddress("東京都渋谷区神南1-2-3");
+        property.setArea("25.5");
+        property.setRooms("1K");
+
+        Tenant tenant = new Tenant();
+        tenant.setId(2L);
+        tenant.setFullName("山田 \"タロウ\" 太郎");
+        tenant.setEmail("yamada@example.com");
+
+        testLease = new Lease();
+        testLease.setId(10L);
+        testLease.setPropertyId(1L);
+        testLease.setTenantId(2L);
+        testLease.setRent(85000);
+        testLease.setStartDate(LocalDate.of(2023, 4, 1));
+        testLease.setStatus("ACTIVE");
+        testLease.setDeposit(170000);
+        testLease.setProperty(property);
+        testLease.setTenant(tenant);
+
+        filter = new LeaseExportFilter();
+    }
+
+    @Test
+    void exportLeases_AsCsv_ShouldWriteHeaderAndEscapedRows() throws Exception {
+        // Given
+        FakeCursor cursor = new FakeCursor(List.of(testLease));
+        when(leaseMapper.streamWithDetails(filter)).thenReturn(cursor);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = leaseExportService.exportLeases(filter, LeaseExportFormat.CSV, out);
+
+        // Then
+        assertEquals(1, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("\uFEFFlease_id,status,rent"));
+        assertEquals("10,ACTIVE,85000,170000,,2023-04-01,,1,\"サニーアパート, 101号室\",東京都渋谷区神南1-2-3,25.5,1K,"
+                + "2,\"山田 \"\"タロウ\"\" 太郎\",,yamada@example.com", lines[1]);
+        assertTrue(cursor.closed);
+    }
+
+    @Test
+    void exportLeases_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // Given
+        Lease second = new Lease();
+        second.setId(11L);
+        second.setStatus("ENDED");
+        second.setStartDate(LocalDate.of(2021, 4, 1));
+        second.setEndDate(LocalDate.of(2023, 3, 31));
+        FakeCursor cursor = new FakeCursor(List.of(testLease, second));
+        when(leaseMapper.streamWithDetails(filter)).thenReturn(cursor);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = leaseExportService.exportLeases(filter, LeaseExportFormat.NDJSON, out);
+
+        // Then
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(10, first.get("lease_id").asLong());
+        assertEquals(85000, first.get("rent").asInt());
+        assertEquals("サニーアパート, 101号室", first.get("property_name").asText());
+        assertTrue(first.get("end_date").isNull());
+        JsonNode last = objectMapper.readTree(lines[1]);
+        assertEquals("2023-03-31", last.get("end_date").asText());
+        assertTrue(last.get("property_name").isNull());
+        assertTrue(cursor.closed);
+    }
+
+    @Test
+    void exportLeases_ShouldNotCloseTargetStream() throws Exception {
+        // Given
+        when(leaseMapper.streamWithDetails(filter)).thenReturn(new FakeCursor(List.of(testLease)));
+        ByteArrayOutputStream out = spy(new ByteArrayOutputStream());
+
+        // When
+        leaseExportService.exportLeases(filter, LeaseExportFormat.NDJSON, out);
+
+        // Then
+        verify(out, never()).close();
+    }
+
+    /**
+     * リストの内容を順に返すテスト用のCursor実装。
+     */
+    private static class FakeCursor implements Cursor<Lease> {
+        private final List<Lease> rows;
+        private boolean closed;
+
+        FakeCursor(List<Lease> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return false;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public Iterator<Lease> iterator() {
+            return rows.iterator();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.LeaseFact;
+import com.example.app.model.RentRollReport;
+import com.example.app.model.RentRollRow;
+import com.example.app.service.RentRollDimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaseFactTableTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final YearMonth JUNE = YearMonth.of(2024, 6);
+
+    private LeaseFactTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new LeaseFactTable();
+        // 4月〜5月の契約、5月開始の終了日未定の契約、終了日未定で終了済みの契約、期間外の契約
+        table.add(fact(1L, 100000, "2024-04-10", "2024-05-31", "NOTICE", "東京都渋谷区神南1-2-3", "1K"));
+        table.add(fact(2L, 200000, "2024-05-01", null, "ACTIVE", "東京都港区六本木4-5-6", "2LDK"));
+        table.add(fact(3L, 300000, "2023-01-01", null, "ENDED", "東京都港区六本木4-5-6", "2LDK"));
+        table.add(fact(4L, 400000, "2022-01-01", "2024-03-31", "ENDED", "東京都渋谷区神南1-2-3", "1K"));
+    }
+
+    @Test
+    void aggregate_ByMonth_ShouldCountLeaseMonthsAndNewLeases() {
+        // When
+        RentRollReport report = table.aggregate(APRIL, JUNE, EnumSet.of(RentRollDimension.MONTH), 1);
+
+        // Then
+        assertEquals(List.of(APRIL, APRIL.plusMonths(1), JUNE),
+            report.getRows().stream().map(RentRollRow::getMonth).toList());
+        RentRollRow april = report.getRows().get(0);
+        assertEquals(1, april.getLeaseMonths());
+        assertEquals(100000, april.getRentRoll());
+        assertEquals(1, april.getNewLeases());
+        assertEquals(2000, april.getDepositTotal());
+        RentRollRow may = report.getRows().get(1);
+        assertEquals(2, may.getLeaseMonths());
+        assertEquals(300000, may.getRentRoll());
+        assertEquals(150000, may.getAverageRent());
+        RentRollRow june = report.getRows().get(2);
+        assertEquals(1, june.getLeaseMonths());
+        assertEquals(0, june.getNewLeases());
+
+        assertEquals(4, report.getTotal().getLeaseMonths());
+        assertEquals(600000, report.getTotal().getRentRoll());
+        assertEquals(2, report.getTotal().getNewLeases());
+        assertEquals(4, report.getScannedLeases());
+    }
+
+    @Test
+    void aggregate_ByAreaAndRooms_ShouldDeriveWardFromAddress() {
+        // When
+        RentRollReport report = table.aggregate(APRIL, JUNE,
+            EnumSet.of(RentRollDimension.AREA, RentRollDimension.ROOMS), 1);
+
+        // Then
+        assertEquals(2, report.getRows().size());
+        RentRollRow shibuya = report.getRows().get(0);
+        assertEquals("渋谷区", shibuya.getArea());
+        assertEquals("1K", shibuya.getRooms());
+        assertNull(shibuya.getMonth());
+        assertEquals(2, shibuya.getLeaseMonths());
+        RentRollRow minato = report.getRows().get(1);
+        assertEquals("港区", minato.getArea());
+        assertEquals("2LDK", minato.getRooms());
+        assertEquals(2, minato.getLeaseMonths());
+        assertEquals(List.of("area", "rooms"), report.getGroupBy());
+    }
+
+    @Test
+    void replaceProperties_ShouldReplaceOnlyGivenPropertiesRows() {
+        // Given
+        LeaseFact moved = fact(1L, 120000, "2024-04-10", null, "ACTIVE", "大阪府大阪市北区梅田1-1-1", null);
+
+        // When
+        table.replaceProperties(List.of(1L, 4L), List.of(moved));
+
+        // Then
+        RentRollReport report = table.aggregate(APRIL, JUNE, EnumSet.of(RentRollDimension.AREA), 1);
+        assertEquals(3, table.size());
+        assertEquals(List.of("大阪市", "港区"), report.getRows().stream().map(RentRollRow::getArea).toList());
+        assertEquals(360000, report.getRows().get(0).getRentRoll());
+    }
+
+    @Test
+    void aggregate_WhenScannedInParallel_ShouldMatchSequentialScan() {
+        // Given
+        LeaseFactTable large = new LeaseFactTable();
+        String[] addresses = {"東京都渋谷区1", "東京都港区2", "神奈川県横浜市3", "住所不明"};
+        String[] rooms = {"1K", "1LDK", "2LDK", null};
+        int rows = LeaseFactTable.MIN_ROWS_PER_TASK * 4 + 7;
+        for (int i = 0; i < rows; i++) {
+            LocalDate start = LocalDate.of(2020, 1, 1).plusDays(i % 1500);
+            LeaseFact fact = fact((long) i % 500, 50000 + i % 1000, start.toString(),
+                i % 3 == 0 ? null : start.plusDays(365 + i % 400).toString(),
+                i % 5 == 0 ? "ENDED" : "ACTIVE", addresses[i % 4], rooms[i % 4]);
+            large.add(fact);
+        }
+        Set<RentRollDimension> all = EnumSet.allOf(RentRollDimension.class);
+
+        // When
+        RentRollReport sequential = large.aggregate(YearMonth.of(2020, 1), YearMonth.of(2024, 12), all, 1);
+        RentRollReport parallel = large.aggregate(YearMonth.of(2020, 1), YearMonth.of(2024, 12), all, 4);
+
+        // Then
+        assertEquals(sequential.getRows(), parallel.getRows());
+        assertEquals(sequential.getTotal(), parallel.getTotal());
+        assertTrue(sequential.getRows().stream().anyMatch(row -> LeaseFactTable.UNKNOWN.equals(row.getArea())));
+    }
+
+    private static LeaseFact fact(Long propertyId, int rent, String start, String end, String status,
+                                  String address, String rooms) {
+        LeaseFact fact = new LeaseFact();
+        fact.setPropertyId(propertyId);
+        fact.setRent(rent);
+        fact.setDeposit(rent / 50);
+        fact.setKeymoney(rent / 100);
+        fact.setStartDate(LocalDate.parse(start));
+        fact.setEndDate(end == null ? null : LocalDate.parse(end));
+        fact.setStatus(status);
+        fact.setAddress(address);
+        fact.setRooms(rooms);
+        return fact;
+    }
+}
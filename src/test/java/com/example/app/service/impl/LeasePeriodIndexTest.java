@@ -0,0 +1,142 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * トランザクションの外で呼び出し、書き込みと削除がその場で索引に反映される場合の判定を検証します。
+ */
+@ExtendWith(MockitoExtension.class)
+class LeasePeriodIndexTest {
+
+    @Mock
+    private LeaseMapper leaseMapper;
+
+    private LeasePeriodIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LeasePeriodIndex(leaseMapper);
+    }
+
+    @Test
+    void findOverlap_ShouldLoadPropertyOnceAndReflectWrites() {
+        // Given
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of());
+        Lease current = lease(10L, 1L, "ACTIVE", LocalDate.of(2024, 4, 1), LocalDate.of(2025, 3, 31));
+        assertNull(index.findOverlap(current));
+        index.leaseWritten(null, current);
+
+        // When
+        LeasePeriodIndex.Period overlap = index.findOverlap(
+            lease(null, 1L, "ACTIVE", LocalDate.of(2025, 3, 31), null));
+        LeasePeriodIndex.Period next = index.findOverlap(
+            lease(null, 1L, "ACTIVE", LocalDate.of(2025, 4, 1), null));
+
+        // Then
+        assertEquals(new LeasePeriodIndex.Period(10L, LocalDate.of(2024, 4, 1), LocalDate.of(2025, 3, 31)), overlap);
+        assertNull(next);
+        verify(leaseMapper, times(1)).findPeriodsByPropertyId(1L);
+    }
+
+    @Test
+    void findOverlap_WhenLeaseHasNoEndDate_ShouldTreatItAsOpenEnded() {
+        // Given
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(
+            lease(1L, 1L, "ACTIVE", LocalDate.of(2023, 4, 1), null)));
+
+        // When
+        LeasePeriodIndex.Period overlap = index.findOverlap(
+            lease(null, 1L, "NOTICE", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31)));
+        LeasePeriodIndex.Period earlier = index.findOverlap(
+            lease(null, 1L, "ENDED", LocalDate.of(2021, 4, 1), LocalDate.of(2023, 3, 31)));
+
+        // Then
+        assertEquals(1L, overlap.leaseId());
+        assertNull(earlier);
+    }
+
+    @Test
+    void findOverlap_WhenEndedLeaseHasNoEndDate_ShouldNotCheck() {
+        // When
+        LeasePeriodIndex.Period overlap = index.findOverlap(
+            lease(null, 1L, "ENDED", LocalDate.of(2023, 6, 1), null));
+
+        // Then
+        assertNull(overlap);
+        verify(leaseMapper, never()).findPeriodsByPropertyId(1L);
+    }
+
+    @Test
+    void findOverlap_WhenEarlierLeaseSpansLaterLeases_ShouldStillFindIt() {
+        // Given
+        // 索引の導入前に登録された、互いに重なる契約
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(
+            lease(1L, 1L, "ACTIVE", LocalDate.of(2020, 1, 1), LocalDate.of(2030, 12, 31)),
+            lease(2L, 1L, "ENDED", LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31)),
+            lease(3L, 1L, "ENDED", LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31))));
+
+        // When
+        LeasePeriodIndex.Period overlap = index.findOverlap(
+            lease(null, 1L, "NOTICE", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+
+        // Then
+        assertEquals(1L, overlap.leaseId());
+    }
+
+    @Test
+    void leaseDeleted_ShouldRemovePeriod() {
+        // Given
+        Lease current = lease(1L, 1L, "ACTIVE", LocalDate.of(2023, 4, 1), null);
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(current));
+        Lease next = lease(null, 1L, "ACTIVE", LocalDate.of(2025, 4, 1), null);
+        assertNotNull(index.findOverlap(next));
+
+        // When
+        index.leaseDeleted(current);
+
+        // Then
+        assertNull(index.findOverlap(next));
+        verify(leaseMapper, times(1)).findPeriodsByPropertyId(1L);
+    }
+
+    @Test
+    void leaseWritten_WhenMovedToAnotherProperty_ShouldRemovePeriodFromPreviousProperty() {
+        // Given
+        Lease current = lease(1L, 1L, "ACTIVE", LocalDate.of(2023, 4, 1), null);
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(current));
+        when(leaseMapper.findPeriodsByPropertyId(2L)).thenReturn(List.of());
+        Lease next = lease(null, 1L, "ACTIVE", LocalDate.of(2025, 4, 1), null);
+        assertNotNull(index.findOverlap(next));
+        Lease moved = lease(1L, 2L, "ACTIVE", LocalDate.of(2023, 4, 1), null);
+        assertNull(index.findOverlap(moved));
+
+        // When
+        index.leaseWritten(current, moved);
+
+        // Then
+        assertNull(index.findOverlap(next));
+        assertEquals(1L, index.findOverlap(lease(null, 2L, "ACTIVE", LocalDate.of(2025, 4, 1), null)).leaseId());
+    }
+
+    private static Lease lease(Long id, Long propertyId, String status, LocalDate startDate, LocalDate endDate) {
+        Lease lease = new Lease();
+        lease.setId(id);
+        lease.setPropertyId(propertyId);
+        lease.setStatus(status);
+        lease.setStartDate(startDate);
+        lease.setEndDate(endDate);
+        return lease;
+    }
+}
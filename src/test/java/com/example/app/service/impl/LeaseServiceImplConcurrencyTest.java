@@ -0,0 +1,114 @@
+package com.example.app.service.impl;
+
+import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.Lease;
+import com.example.app.service.LeaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 同じ物件への有効な契約の同時登録が直列化されることと、
+ * 古い編集画面からの更新が拒否されることを、実際のトランザクションとロックを使って検証します。
+ */
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:leaselocktest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class LeaseServiceImplConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private LeaseMapper leaseMapper;
+
+    @Test
+    void createLease_WhenSubmittedConcurrentlyForSameProperty_ShouldCreateOnlyOneActiveLease() throws Exception {
+        // Given
+        // 物件10はシードデータで終了済みの契約のみを持ちます
+        Long propertyId = 10L;
+        assertFalse(leaseMapper.existsActiveLeaseByPropertyId(propertyId, null));
+
+        // When
+        List<Future<Boolean>> results = submitConcurrently(propertyId);
+
+        // Then
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                created++;
+            }
+        }
+        assertEquals(1, created);
+        assertEquals(1, leaseMapper.findActiveLeasesByPropertyId(propertyId).size());
+    }
+
+    @Test
+    void updateLease_WhenEditedFromStaleForm_ShouldRejectLaterWriter() {
+        // Given
+        // 2人の利用者が同じ契約の編集画面を開いた状態
+        Lease first = leaseMapper.findById(4L);
+        Lease second = leaseMapper.findById(4L);
+        int version = first.getVersion();
+        first.setRent(first.getRent() + 1000);
+        second.setRent(second.getRent() + 2000);
+
+        // When
+        leaseService.updateLease(first);
+
+        // Then
+        assertThrows(OptimisticLockingFailureException.class, () -> leaseService.updateLease(second));
+        Lease stored = leaseMapper.findById(4L);
+        assertEquals(first.getRent(), stored.getRent());
+        assertEquals(version + 1, stored.getVersion());
+    }
+
+    private List<Future<Boolean>> submitConcurrently(Long propertyId) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                long tenantId = i + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        leaseService.createLease(activeLease(propertyId, tenantId));
+                        return true;
+                    } catch (IllegalStateException e) {
+                        // 後続の登録は、先に登録された契約との期間の重なりとして拒否されます
+                        assertTrue(e.getMessage().startsWith("Cannot create lease: Lease period overlaps lease "));
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    private static Lease activeLease(Long propertyId, Long tenantId) {
+        Lease lease = new Lease();
+        lease.setPropertyId(propertyId);
+        lease.setTenantId(tenantId);
+        lease.setRent(280000);
+        lease.setStartDate(LocalDate.of(2024, 4, 1));
+        lease.setStatus("ACTIVE");
+        return lease;
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.LeaseChangedEvent;
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.event.TenantChangedEvent;
 import com.example.app.mapper.LeaseMapper;
+import com.example.app.model.KeysetPage;
 import com.example.app.model.Lease;
+import com.example.app.model.LeaseSummary;
+import com.example.app.model.PageCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,7 +32,10 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,13 +44,23 @@ class LeaseServiceImplTest {
     @Mock
     private LeaseMapper leaseMapper;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PortfolioCounters portfolioCounters;
+
     private LeaseServiceImpl leaseService;
 
     private Lease testLease;
 
+    private LeaseSummary testSummary;
+
     @BeforeEach
     void setUp() {
+        leaseService = new LeaseServiceImpl(leaseMapper, eventPublisher, portfolioCounters,
+            new LeasePeriodIndex(leaseMapper), 1000, Duration.ofMinutes(10));
+
         testLease = new Lease();
         testLease.setId(1L);
         testLease.setPropertyId(1L);
@@ -42,8 +70,17 @@ class LeaseServiceImplTest {
         testLease.setStatus("ACTIVE");
         testLease.setDeposit(200000);
         testLease.setKeymoney(100000);
+        testLease.setVersion(0);
         testLease.setCreatedAt(LocalDateTime.now());
         testLease.setUpdatedAt(LocalDateTime.now());
+
+        testSummary = new LeaseSummary();
+        testSummary.setId(1L);
+        testSummary.setPropertyId(1L);
+        testSummary.setTenantId(1L);
+        testSummary.setRent(100000);
+        testSummary.setStartDate(LocalDate.of(2023, 1, 1));
+        testSummary.setStatus("ACTIVE");
     }
 
     @Test
@@ -105,141 +142,563 @@ class LeaseServiceImplTest {
         verify(leaseMapper, times(1)).findByTenantId(1L);
     }
 
+    @Test
+    void getLeasePageByPropertyId_WhenMoreRowsThanPageSize_ShouldReturnStartDateCursor() {
+        // Given
+        LeaseSummary older = new LeaseSummary();
+        older.setId(2L);
+        older.setStartDate(LocalDate.of(2021, 4, 1));
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 2)).thenReturn(Arrays.asList(testSummary, older));
+
+        // When
+        KeysetPage<LeaseSummary> page = leaseService.getLeasePageByPropertyId(1L, null, 1);
+
+        // Then
+        assertEquals(Arrays.asList(testSummary), page.getItems());
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals("2023-01-01", next.getKey());
+        assertEquals(1L, next.getId());
+    }
+
+    @Test
+    void getLeasePageByPropertyId_WithCursor_ShouldSeekBeforeCursorDate() {
+        // Given
+        String cursor = PageCursor.encode("2023-01-01", 1L);
+        when(leaseMapper.findPageByPropertyId(1L, LocalDate.of(2023, 1, 1), 1L, 21)).thenReturn(Arrays.asList());
+
+        // When
+        KeysetPage<LeaseSummary> page = leaseService.getLeasePageByPropertyId(1L, cursor, 20);
+
+        // Then
+        assertFalse(page.isFirst());
+        assertFalse(page.hasNext());
+        verify(leaseMapper, times(1)).findPageByPropertyId(1L, LocalDate.of(2023, 1, 1), 1L, 21);
+    }
+
+    @Test
+    void getLeasePageByTenantId_WithNonDateCursor_ShouldReturnFirstPage() {
+        // Given
+        String cursor = PageCursor.encode("not-a-date", 1L);
+        when(leaseMapper.findPageByTenantId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        KeysetPage<LeaseSummary> page = leaseService.getLeasePageByTenantId(1L, cursor, 20);
+
+        // Then
+        assertTrue(page.isFirst());
+        assertEquals(1, page.getItems().size());
+        verify(leaseMapper, times(1)).findPageByTenantId(1L, null, null, 21);
+    }
+
     @Test
     void createLease_WhenNoActiveLeaseExists_ShouldCreateLease() {
         // Given
         testLease.setId(null); // New lease
-        when(leaseMapper.findActiveLeasesByPropertyId(1L)).thenReturn(new ArrayList<>());
-        doNothing().when(leaseMapper).insert(any(Lease.class));
+        when(leaseMapper.insert(testLease)).thenReturn(1);
 
         // When
         leaseService.createLease(testLease);
 
         // Then
-        verify(leaseMapper, times(1)).findActiveLeasesByPropertyId(1L);
-        verify(leaseMapper, times(1)).insert(testLease);
+        InOrder inOrder = inOrder(leaseMapper);
+        inOrder.verify(leaseMapper).lockProperty(1L);
+        inOrder.verify(leaseMapper).insert(testLease);
+        verify(leaseMapper, never()).existsActiveLeaseByPropertyId(anyLong(), any());
+        verify(portfolioCounters, times(1)).leaseChanged(null, testLease);
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(1L, 1L));
     }
 
     @Test
     void createLease_WhenActiveLeaseExists_ShouldThrowException() {
         // Given
         testLease.setId(null); // New lease
-        Lease existingLease = new Lease();
-        existingLease.setId(2L);
-        when(leaseMapper.findActiveLeasesByPropertyId(1L)).thenReturn(Arrays.asList(existingLease));
+        when(leaseMapper.insert(testLease)).thenReturn(0);
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
             leaseService.createLease(testLease);
         });
         assertEquals("Cannot create lease: Property already has an active lease", exception.getMessage());
-        verify(leaseMapper, times(1)).findActiveLeasesByPropertyId(1L);
-        verify(leaseMapper, never()).insert(any(Lease.class));
+        verify(portfolioCounters, never()).leaseChanged(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void createLease_WhenStatusIsNotActive_ShouldCreateLease() {
+    void createLease_WhenStatusIsNotActive_ShouldLockPropertyAndCreateLease() {
         // Given
         testLease.setId(null); // New lease
         testLease.setStatus("ENDED");
-        doNothing().when(leaseMapper).insert(any(Lease.class));
+        when(leaseMapper.insert(testLease)).thenReturn(1);
+
+        // When
+        leaseService.createLease(testLease);
+
+        // Then
+        InOrder inOrder = inOrder(leaseMapper);
+        inOrder.verify(leaseMapper).lockProperty(1L);
+        inOrder.verify(leaseMapper).insert(testLease);
+    }
+
+    @Test
+    void createLease_WhenPeriodOverlapsFutureLease_ShouldThrowException() {
+        // Given
+        // 物件1には来年度の契約が登録済み
+        testLease.setId(null); // New lease
+        testLease.setStatus("NOTICE");
+        testLease.setStartDate(LocalDate.of(2025, 10, 1));
+        testLease.setEndDate(LocalDate.of(2026, 9, 30));
+        when(leaseMapper.lockProperty(1L)).thenReturn(1L);
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(
+            period(5L, LocalDate.of(2023, 1, 1), LocalDate.of(2025, 3, 31)),
+            period(7L, LocalDate.of(2025, 4, 1), LocalDate.of(2026, 3, 31))));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            leaseService.createLease(testLease);
+        });
+        assertEquals("Cannot create lease: Lease period overlaps lease 7 (2025-04-01 to 2026-03-31)",
+            exception.getMessage());
+        verify(leaseMapper, never()).insert(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createLease_WhenPeriodStartsAfterExistingLeaseEnds_ShouldCreateLease() {
+        // Given
+        testLease.setId(null); // New lease
+        when(leaseMapper.lockProperty(1L)).thenReturn(1L);
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(
+            period(5L, LocalDate.of(2021, 1, 1), LocalDate.of(2022, 12, 31))));
+        when(leaseMapper.insert(testLease)).thenReturn(1);
 
         // When
         leaseService.createLease(testLease);
 
         // Then
-        verify(leaseMapper, never()).findActiveLeasesByPropertyId(anyLong());
         verify(leaseMapper, times(1)).insert(testLease);
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void createLease_WhenEndDateIsBeforeStartDate_ShouldThrowException() {
+        // Given
+        testLease.setId(null); // New lease
+        testLease.setEndDate(testLease.getStartDate().minusDays(1));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            leaseService.createLease(testLease);
+        });
+        assertEquals("Lease end date must not be before start date", exception.getMessage());
+        verify(leaseMapper, never()).lockProperty(anyLong());
+        verify(leaseMapper, never()).insert(any());
+    }
+
+    @Test
+    void createLease_WhenPropertyDoesNotExist_ShouldThrowException() {
+        // Given
+        testLease.setId(null); // New lease
+        when(leaseMapper.insert(testLease)).thenThrow(new DataIntegrityViolationException("FK_LEASES_PROPERTY",
+            new SQLException("Referential integrity constraint violation", "23506")));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            leaseService.createLease(testLease);
+        });
+        assertEquals("Property or tenant not found", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createLease_WhenOtherConstraintIsViolated_ShouldPropagateException() {
+        // Given
+        testLease.setId(null); // New lease
+        when(leaseMapper.insert(testLease)).thenThrow(new DataIntegrityViolationException("NULL not allowed",
+            new SQLException("NULL not allowed for column \"RENT\"", "23502")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            leaseService.createLease(testLease);
+        });
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateLease_WhenLeaseExists_ShouldUpdateLease() {
         // Given
-        when(leaseMapper.findById(1L)).thenReturn(testLease);
-        doNothing().when(leaseMapper).update(any(Lease.class));
+        Lease previous = previous(1L, 1L);
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(previous);
 
         // When
         leaseService.updateLease(testLease);
 
         // Then
-        verify(leaseMapper, times(1)).findById(1L);
-        verify(leaseMapper, times(1)).update(testLease);
+        InOrder inOrder = inOrder(leaseMapper);
+        inOrder.verify(leaseMapper).lockProperty(1L);
+        inOrder.verify(leaseMapper).updateReturningPrevious(testLease);
+        verify(portfolioCounters, times(1)).leaseChanged(previous, testLease);
+        verify(leaseMapper, never()).findById(anyLong());
+        verify(leaseMapper, never()).findVersionById(anyLong());
+        assertEquals(1, testLease.getVersion());
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void updateLease_WhenVersionIsStale_ShouldThrowAndCountConflict() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        leaseService.bindTo(registry);
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(null);
+        when(leaseMapper.findVersionById(1L)).thenReturn(1);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> leaseService.updateLease(testLease));
+        verify(portfolioCounters, never()).leaseChanged(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(1.0, registry.get("entity.updates").tags("entity", "lease", "outcome", "conflict")
+            .functionCounter().count());
+        assertEquals(0.0, registry.get("entity.updates").tags("entity", "lease", "outcome", "success")
+            .functionCounter().count());
+    }
+
+    @Test
+    void updateLease_WhenPropertyChanged_ShouldPublishEventsForBothProperties() {
+        // Given
+        testLease.setStatus("ENDED");
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(previous(2L, 1L));
+
+        // When
+        leaseService.updateLease(testLease);
+
+        // Then
+        verify(leaseMapper, times(1)).lockProperty(1L);
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(2L, 1L));
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void updateLease_WhenOnlyOwnPeriodOverlaps_ShouldUpdateLease() {
+        // Given
+        // 終了日を延長しても、更新前の自身の期間とは重なりとして扱いません
+        testLease.setEndDate(LocalDate.of(2026, 12, 31));
+        when(leaseMapper.lockProperty(1L)).thenReturn(1L);
+        when(leaseMapper.findPeriodsByPropertyId(1L)).thenReturn(List.of(
+            period(1L, LocalDate.of(2023, 1, 1), LocalDate.of(2025, 12, 31)),
+            period(8L, LocalDate.of(2027, 1, 1), null)));
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(previous(1L, 1L));
+
+        // When
+        leaseService.updateLease(testLease);
+
+        // Then
+        verify(leaseMapper, times(1)).updateReturningPrevious(testLease);
+        assertEquals(1, testLease.getVersion());
     }
 
     @Test
     void updateLease_WhenLeaseDoesNotExist_ShouldThrowException() {
         // Given
-        when(leaseMapper.findById(1L)).thenReturn(null);
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(null);
+        when(leaseMapper.findVersionById(1L)).thenReturn(null);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             leaseService.updateLease(testLease);
         });
         assertEquals("Lease not found", exception.getMessage());
-        verify(leaseMapper, times(1)).findById(1L);
-        verify(leaseMapper, never()).update(any(Lease.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateLease_WhenPropertyChangedAndActiveLeaseExists_ShouldThrowException() {
         // Given
-        Lease existingLease = new Lease();
-        existingLease.setId(1L);
-        existingLease.setPropertyId(1L);
-        existingLease.setStatus("ACTIVE");
-        when(leaseMapper.findById(1L)).thenReturn(existingLease);
-        
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        leaseService.bindTo(registry);
         testLease.setPropertyId(2L); // Changed property
         testLease.setStatus("ACTIVE");
-        Lease conflictingLease = new Lease();
-        conflictingLease.setId(3L);
-        when(leaseMapper.findActiveLeasesByPropertyId(2L)).thenReturn(Arrays.asList(conflictingLease));
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(null);
+        when(leaseMapper.findVersionById(1L)).thenReturn(0);
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
             leaseService.updateLease(testLease);
         });
         assertEquals("Cannot update lease: Property already has an active lease", exception.getMessage());
-        verify(leaseMapper, never()).update(any(Lease.class));
+        verify(leaseMapper, times(1)).lockProperty(2L);
+        assertEquals(0.0, registry.get("entity.updates").tags("entity", "lease", "outcome", "conflict")
+            .functionCounter().count());
+    }
+
+    @Test
+    void deleteLease_WhenLeaseDoesNotExist_ShouldNotPublishEvent() {
+        // Given
+        when(leaseMapper.deleteReturningPrevious(1L)).thenReturn(null);
+
+        // When
+        Lease deleted = leaseService.deleteLease(1L);
+
+        // Then
+        assertNull(deleted);
+        verify(portfolioCounters, never()).leaseChanged(any(), any());
+        verify(leaseMapper, never()).findById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteLease_WhenLeaseExists_ShouldPublishEvent() {
+        // Given
+        when(leaseMapper.deleteReturningPrevious(1L)).thenReturn(previous(1L, 1L));
+
+        // When
+        Lease deleted = leaseService.deleteLease(1L);
+
+        // Then
+        assertEquals(1L, deleted.getPropertyId());
+        verify(portfolioCounters, times(1)).leaseChanged(deleted, null);
+        verify(leaseMapper, never()).findById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(new LeaseChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void getLeasePageByPropertyId_FirstPage_ShouldBeServedFromCache() {
+        // Given
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        KeysetPage<LeaseSummary> page = leaseService.getLeasePageByPropertyId(1L, null, 20);
+
+        // Then
+        assertEquals(Arrays.asList(testSummary), page.getItems());
+        verify(leaseMapper, times(1)).findPageByPropertyId(1L, null, null, 21);
+    }
+
+    @Test
+    void getLeasePageByPropertyId_WithDifferentSize_ShouldReloadFirstPage() {
+        // Given
+        when(leaseMapper.findPageByPropertyId(eq(1L), isNull(), isNull(), anyInt())).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        leaseService.getLeasePageByPropertyId(1L, null, 10);
+
+        // Then
+        verify(leaseMapper, times(1)).findPageByPropertyId(1L, null, null, 21);
+        verify(leaseMapper, times(1)).findPageByPropertyId(1L, null, null, 11);
+    }
+
+    @Test
+    void onLeaseChanged_ShouldEvictPropertyAndTenantPages() {
+        // Given
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        when(leaseMapper.findPageByTenantId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        when(leaseMapper.findPageByPropertyId(2L, null, null, 21)).thenReturn(Arrays.asList());
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+        leaseService.getLeasePageByPropertyId(2L, null, 20);
+
+        // When
+        leaseService.onLeaseChanged(new LeaseChangedEvent(1L, 1L));
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+        leaseService.getLeasePageByPropertyId(2L, null, 20);
+
+        // Then
+        verify(leaseMapper, times(2)).findPageByPropertyId(1L, null, null, 21);
+        verify(leaseMapper, times(2)).findPageByTenantId(1L, null, null, 21);
+        verify(leaseMapper, times(1)).findPageByPropertyId(2L, null, null, 21);
+    }
+
+    @Test
+    void onPropertyChanged_ShouldEvictTenantPagesContainingProperty() {
+        // Given
+        LeaseSummary otherLease = new LeaseSummary();
+        otherLease.setId(2L);
+        otherLease.setPropertyId(2L);
+        otherLease.setTenantId(2L);
+        otherLease.setStartDate(LocalDate.of(2022, 1, 1));
+        when(leaseMapper.findPageByTenantId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        when(leaseMapper.findPageByTenantId(2L, null, null, 21)).thenReturn(Arrays.asList(otherLease));
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+        leaseService.getLeasePageByTenantId(2L, null, 20);
+
+        // When
+        leaseService.onPropertyChanged(new PropertyChangedEvent(1L, null));
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+        leaseService.getLeasePageByTenantId(2L, null, 20);
+
+        // Then
+        verify(leaseMapper, times(2)).findPageByTenantId(1L, null, null, 21);
+        verify(leaseMapper, times(1)).findPageByTenantId(2L, null, null, 21);
+    }
+
+    @Test
+    void onTenantChanged_ShouldEvictPropertyPagesContainingTenant() {
+        // Given
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+
+        // When
+        leaseService.onTenantChanged(new TenantChangedEvent(1L, null));
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+
+        // Then
+        verify(leaseMapper, times(2)).findPageByPropertyId(1L, null, null, 21);
     }
 
     @Test
-    void deleteLease_ShouldCallMapperDelete() {
+    void onPropertyChanged_InTransaction_ShouldEvictOnceAfterCommit() {
         // Given
-        Long leaseId = 1L;
-        doNothing().when(leaseMapper).delete(anyLong());
+        when(leaseMapper.findPageByTenantId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (long propertyId = 1; propertyId <= 100; propertyId++) {
+                leaseService.onPropertyChanged(new PropertyChangedEvent(propertyId, null));
+            }
+            leaseService.onTenantChanged(new TenantChangedEvent(5L, null));
+            leaseService.getLeasePageByTenantId(1L, null, 20);
+            verify(leaseMapper, times(1)).findPageByTenantId(1L, null, null, 21);
+
+            // When
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+        leaseService.getLeasePageByTenantId(1L, null, 20);
+
+        // Then
+        verify(leaseMapper, times(2)).findPageByTenantId(1L, null, null, 21);
+        assertNull(TransactionSynchronizationManager.getResource(leaseService));
+    }
+
+    @Test
+    void onTenantChanged_WhenRolledBack_ShouldKeepCache() {
+        // Given
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaseService.onTenantChanged(new TenantChangedEvent(1L, null));
+
+            // When
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+
+        // Then
+        verify(leaseMapper, times(1)).findPageByPropertyId(1L, null, null, 21);
+        assertNull(TransactionSynchronizationManager.getResource(leaseService));
+    }
+
+    @Test
+    void bindTo_ShouldExposeCacheMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(leaseMapper.findPageByPropertyId(1L, null, null, 21)).thenReturn(Arrays.asList(testSummary));
 
         // When
-        leaseService.deleteLease(leaseId);
+        leaseService.bindTo(registry);
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
+        leaseService.getLeasePageByPropertyId(1L, null, 20);
 
         // Then
-        verify(leaseMapper, times(1)).delete(leaseId);
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "leasePagesByProperty", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "leasePagesByProperty", "result", "miss")
+                .functionCounter().count());
     }
 
     @Test
     void hasActiveLeases_WhenActiveLeasesExist_ShouldReturnTrue() {
         // Given
-        when(leaseMapper.findActiveLeasesByPropertyId(1L)).thenReturn(Arrays.asList(testLease));
+        when(leaseMapper.existsActiveLeaseByPropertyId(1L, null)).thenReturn(true);
 
         // When
         boolean result = leaseService.hasActiveLeases(1L);
 
         // Then
         assertTrue(result);
-        verify(leaseMapper, times(1)).findActiveLeasesByPropertyId(1L);
+        verify(leaseMapper, times(1)).existsActiveLeaseByPropertyId(1L, null);
+        verify(leaseMapper, never()).findActiveLeasesByPropertyId(anyLong());
     }
 
     @Test
     void hasActiveLeases_WhenNoActiveLeasesExist_ShouldReturnFalse() {
         // Given
-        when(leaseMapper.findActiveLeasesByPropertyId(1L)).thenReturn(new ArrayList<>());
+        when(leaseMapper.existsActiveLeaseByPropertyId(1L, null)).thenReturn(false);
 
         // When
         boolean result = leaseService.hasActiveLeases(1L);
 
         // Then
         assertFalse(result);
-        verify(leaseMapper, times(1)).findActiveLeasesByPropertyId(1L);
+        verify(leaseMapper, times(1)).existsActiveLeaseByPropertyId(1L, null);
     }
-}
 
+    @Test
+    void updateLease_WhenStatusChangedToActive_ShouldLockPropertyBeforeUpdate() {
+        // Given
+        when(leaseMapper.updateReturningPrevious(testLease)).thenReturn(previous(1L, 1L));
+
+        // When
+        leaseService.updateLease(testLease);
+
+        // Then
+        InOrder inOrder = inOrder(leaseMapper);
+        inOrder.verify(leaseMapper).lockProperty(1L);
+        inOrder.verify(leaseMapper).updateReturningPrevious(testLease);
+        verify(leaseMapper, never()).existsActiveLeaseByPropertyId(anyLong(), any());
+    }
+
+    @Test
+    void hasLeasesByTenantId_ShouldUseExistenceProbe() {
+        // Given
+        when(leaseMapper.existsByTenantId(1L)).thenReturn(true);
+
+        // When
+        boolean result = leaseService.hasLeasesByTenantId(1L);
+
+        // Then
+        assertTrue(result);
+        verify(leaseMapper, never()).findByTenantId(anyLong());
+    }
+
+    /**
+     * 物件1の契約期間として返す、期間のみを持つ契約を作成します。
+     */
+    private static Lease period(Long id, LocalDate startDate, LocalDate endDate) {
+        Lease lease = new Lease();
+        lease.setId(id);
+        lease.setPropertyId(1L);
+        lease.setStartDate(startDate);
+        lease.setEndDate(endDate);
+        return lease;
+    }
+
+    /**
+     * 更新・削除前の契約として返す、物件と入居者のみを持つ契約を作成します。
+     */
+    private static Lease previous(Long propertyId, Long tenantId) {
+        Lease lease = new Lease();
+        lease.setId(1L);
+        lease.setPropertyId(propertyId);
+        lease.setTenantId(tenantId);
+        return lease;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
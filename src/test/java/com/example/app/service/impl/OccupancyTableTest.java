@@ -0,0 +1,143 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.AvailabilityResult;
+import com.example.app.model.AvailableProperty;
+import com.example.app.model.OccupancyFact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTableTest {
+
+    private static final LocalDate OCTOBER = LocalDate.of(2024, 10, 1);
+    private static final LocalDate MARCH_END = LocalDate.of(2025, 3, 31);
+
+    private OccupancyTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new OccupancyTable();
+        // 連続する2件の契約で入居中の物件、9月末で退去し4月から次の契約がある物件、契約のない物件、
+        // 住所・間取りが未入力で過去に契約があった物件
+        table.put(List.of(
+            fact(1L, "東京都渋谷区神南1-2-3", "1K", "2021-04-01", "2023-03-31"),
+            fact(1L, "東京都渋谷区神南1-2-3", "1K", "2023-04-01", null)));
+        table.put(List.of(
+            fact(2L, "東京都港区六本木4-5-6", "2LDK", "2022-01-01", "2024-09-30"),
+            fact(2L, "東京都港区六本木4-5-6", "2LDK", "2025-04-01", "2026-03-31")));
+        table.put(List.of(fact(3L, "東京都港区六本木4-5-7", "2LDK", null, null)));
+        table.put(List.of(fact(4L, null, null, "2022-01-01", "2022-12-31")));
+    }
+
+    @Test
+    void search_ShouldReturnPropertiesWithoutOverlappingLeases() {
+        // When
+        AvailabilityResult result = table.search(OCTOBER, MARCH_END, null, null, 100, 1);
+
+        // Then
+        assertEquals(4, result.getScannedProperties());
+        assertEquals(3, result.getMatchedProperties());
+        assertEquals(List.of(2L, 3L, 4L), result.getProperties().stream().map(AvailableProperty::getId).toList());
+        AvailableProperty between = result.getProperties().get(0);
+        assertEquals("港区", between.getArea());
+        assertEquals("2LDK", between.getRooms());
+        assertEquals(OCTOBER, between.getAvailableFrom());
+        assertEquals(MARCH_END, between.getAvailableUntil());
+        AvailableProperty neverLeased = result.getProperties().get(1);
+        assertNull(neverLeased.getAvailableFrom());
+        assertNull(neverLeased.getAvailableUntil());
+    }
+
+    @Test
+    void search_ShouldTreatBothEndsOfTheWindowAsInclusive() {
+        // When
+        AvailabilityResult fromLastDay = table.search(LocalDate.of(2024, 9, 30), MARCH_END, null, null, 100, 1);
+        AvailabilityResult toFirstDay = table.search(OCTOBER, LocalDate.of(2025, 4, 1), null, null, 100, 1);
+
+        // Then
+        assertEquals(List.of(3L, 4L), fromLastDay.getProperties().stream().map(AvailableProperty::getId).toList());
+        assertEquals(List.of(3L, 4L), toFirstDay.getProperties().stream().map(AvailableProperty::getId).toList());
+    }
+
+    @Test
+    void search_ShouldFilterByRoomsAndArea() {
+        // When
+        AvailabilityResult twoRooms = table.search(OCTOBER, MARCH_END, "2LDK", "港区", 100, 1);
+        AvailabilityResult unknownArea = table.search(OCTOBER, MARCH_END, null, OccupancyTableTest.unknown(), 100, 1);
+        AvailabilityResult noSuchRooms = table.search(OCTOBER, MARCH_END, "5LDK", null, 100, 1);
+
+        // Then
+        assertEquals(List.of(2L, 3L), twoRooms.getProperties().stream().map(AvailableProperty::getId).toList());
+        assertEquals(List.of(4L), unknownArea.getProperties().stream().map(AvailableProperty::getId).toList());
+        assertEquals(0, noSuchRooms.getMatchedProperties());
+        assertEquals(4, noSuchRooms.getScannedProperties());
+    }
+
+    @Test
+    void replaceProperties_ShouldUpdateAddAndRemoveProperties() {
+        // Given
+        // 物件3に契約を登録し、物件4を削除し、物件0を追加
+        List<Long> ids = List.of(0L, 3L, 4L);
+        List<OccupancyFact> facts = List.of(
+            fact(0L, "東京都中央区銀座2-8-9", "4LDK", null, null),
+            fact(3L, "東京都港区六本木4-5-7", "2LDK", "2024-12-01", null));
+
+        // When
+        table.replaceProperties(ids, facts);
+
+        // Then
+        AvailabilityResult result = table.search(OCTOBER, MARCH_END, null, null, 1, 1);
+        assertEquals(4, result.getScannedProperties());
+        assertEquals(2, result.getMatchedProperties());
+        assertEquals(List.of(0L), result.getProperties().stream().map(AvailableProperty::getId).toList());
+        assertEquals(List.of(0L, 2L), table.search(OCTOBER, MARCH_END, null, null, 100, 1).getProperties().stream()
+            .map(AvailableProperty::getId).toList());
+    }
+
+    @Test
+    void search_WhenScannedInParallel_ShouldMatchSequentialScan() {
+        // Given
+        OccupancyTable large = new OccupancyTable();
+        int properties = OccupancyTable.MIN_ROWS_PER_TASK * 3;
+        for (long id = 1; id <= properties; id++) {
+            List<OccupancyFact> facts = new ArrayList<>();
+            facts.add(fact(id, "東京都渋谷区神南" + id, id % 2 == 0 ? "1K" : "2LDK", "2020-01-01", "2024-09-30"));
+            if (id % 3 == 0) {
+                facts.add(fact(id, "東京都渋谷区神南" + id, id % 2 == 0 ? "1K" : "2LDK", "2025-01-01", null));
+            }
+            large.put(facts);
+        }
+
+        // When
+        AvailabilityResult sequential = large.search(OCTOBER, MARCH_END, "1K", null, 10, 1);
+        AvailabilityResult parallel = large.search(OCTOBER, MARCH_END, "1K", null, 10, 4);
+
+        // Then
+        assertEquals(properties / 2 - properties / 6, sequential.getMatchedProperties());
+        assertEquals(sequential.getMatchedProperties(), parallel.getMatchedProperties());
+        assertEquals(sequential.getProperties(), parallel.getProperties());
+        assertEquals(List.of(2L, 4L, 8L), parallel.getProperties().subList(0, 3).stream()
+            .map(AvailableProperty::getId).toList());
+    }
+
+    private static String unknown() {
+        return Dictionary.UNKNOWN;
+    }
+
+    private static OccupancyFact fact(Long propertyId, String address, String rooms, String startDate, String endDate) {
+        OccupancyFact fact = new OccupancyFact();
+        fact.setPropertyId(propertyId);
+        fact.setName("物件" + propertyId);
+        fact.setAddress(address);
+        fact.setArea("30.0");
+        fact.setRooms(rooms);
+        fact.setStartDate(startDate == null ? null : LocalDate.parse(startDate));
+        fact.setEndDate(endDate == null ? null : LocalDate.parse(endDate));
+        return fact;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.Lease;
+import com.example.app.model.PortfolioSummary;
+import com.example.app.model.Property;
+import com.example.app.service.LeaseService;
+import com.example.app.service.PortfolioService;
+import com.example.app.service.PropertyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 契約・物件の書き込みで増減させたダッシュボードの集計値が、全件を数え直した値と一致することを検証します。
+ * 各テストはロールバックされるため、シードデータ（物件10件、物件1〜9に現在の契約が1件ずつ、物件10は空室）を前提にできます。
+ */
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:portfoliotest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@Transactional
+class PortfolioCountersTest {
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getSummary_AfterStartup_ShouldReflectSeedData() {
+        // When
+        PortfolioSummary summary = portfolioService.getSummary();
+
+        // Then
+        assertEquals(10, summary.getPropertyCount());
+        assertEquals(9, summary.getOccupiedPropertyCount());
+        assertEquals(1, summary.getVacantPropertyCount());
+        assertEquals(9, summary.getCurrentLeaseCount());
+        assertEquals(3, summary.getNoticeLeaseCount());
+        assertEquals(1_150_000, summary.getMonthlyRent());
+        assertNotNull(summary.getReconciledAt());
+    }
+
+    @Test
+    void leaseWrites_ShouldKeepCountersEqualToFullRecount() {
+        // Given
+        LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
+
+        // When & Then
+        Lease active = newLease(10L, 4L, "ACTIVE", endOfMonth);
+        leaseService.createLease(active);
+        PortfolioSummary summary = portfolioService.getSummary();
+        assertEquals(10, summary.getOccupiedPropertyCount());
+        assertEquals(1_250_000, summary.getMonthlyRent());
+        assertEquals(1, summary.getExpiringThisMonth());
+        assertFalse(portfolioService.reconcile());
+
+        // 同じ物件の契約は期間が重ならないよう、翌月から始まる契約を追加します
+        Lease notice = newLease(10L, 5L, "NOTICE", YearMonth.now().plusMonths(1).atEndOfMonth());
+        notice.setStartDate(endOfMonth.plusDays(1));
+        leaseService.createLease(notice);
+        summary = portfolioService.getSummary();
+        assertEquals(10, summary.getOccupiedPropertyCount());
+        assertEquals(4, summary.getNoticeLeaseCount());
+        assertEquals(1, summary.getExpiringThisMonth());
+        assertFalse(portfolioService.reconcile());
+
+        active.setStatus("ENDED");
+        leaseService.updateLease(active);
+        assertEquals(10, portfolioService.getSummary().getOccupiedPropertyCount());
+        assertFalse(portfolioService.reconcile());
+
+        leaseService.deleteLease(notice.getId());
+        summary = portfolioService.getSummary();
+        assertEquals(9, summary.getOccupiedPropertyCount());
+        assertEquals(0, summary.getExpiringThisMonth());
+        assertFalse(portfolioService.reconcile());
+
+        Lease moved = leaseService.getLeaseById(1L);
+        moved.setPropertyId(10L);
+        moved.setStartDate(endOfMonth.plusDays(1));
+        leaseService.updateLease(moved);
+        assertEquals(9, portfolioService.getSummary().getOccupiedPropertyCount());
+        assertFalse(portfolioService.reconcile());
+    }
+
+    @Test
+    void propertyWrites_ShouldUpdatePropertyCount() {
+        // Given
+        Property property = new Property();
+        property.setName("新規物件");
+        property.setAddress("東京都新宿区1-1-1");
+        property.setArea("30.0");
+
+        // When & Then
+        propertyService.createProperty(property);
+        assertEquals(11, portfolioService.getSummary().getPropertyCount());
+        assertEquals(2, portfolioService.getSummary().getVacantPropertyCount());
+
+        propertyService.deleteProperty(property.getId());
+        assertEquals(10, portfolioService.getSummary().getPropertyCount());
+        assertFalse(portfolioService.reconcile());
+    }
+
+    @Test
+    void reconcile_WhenLeasesAreWrittenOutsideTheService_ShouldCorrectCounters() {
+        // Given
+        jdbcTemplate.update("UPDATE leases SET status = 'ENDED' WHERE property_id = 1");
+
+        // When
+        boolean corrected = portfolioService.reconcile();
+
+        // Then
+        assertTrue(corrected);
+        PortfolioSummary summary = portfolioService.getSummary();
+        assertEquals(8, summary.getOccupiedPropertyCount());
+        assertEquals(1_065_000, summary.getMonthlyRent());
+        assertFalse(portfolioService.reconcile());
+    }
+
+    private static Lease newLease(Long propertyId, Long tenantId, String status, LocalDate endDate) {
+        Lease lease = new Lease();
+        lease.setPropertyId(propertyId);
+        lease.setTenantId(tenantId);
+        lease.setRent(100000);
+        lease.setStartDate(LocalDate.of(2024, 4, 1));
+        lease.setEndDate(endDate);
+        lease.setStatus(status);
+        lease.setVersion(0);
+        return lease;
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.PropertyChangedEvent;
 import com.example.app.mapper.PropertyMapper;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.PageCursor;
 import com.example.app.model.Property;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -24,6 +30,12 @@ class PropertyServiceImplTest {
     @Mock
     private PropertyMapper propertyMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PortfolioCounters portfolioCounters;
+
     @InjectMocks
     private PropertyServiceImpl propertyService;
 
@@ -37,10 +49,60 @@ class PropertyServiceImplTest {
         testProperty.setAddress("東京都渋谷区1-2-3");
         testProperty.setArea("25.5");
         testProperty.setRooms("1K");
+        testProperty.setVersion(0);
         testProperty.setCreatedAt(LocalDateTime.now());
         testProperty.setUpdatedAt(LocalDateTime.now());
     }
 
+    @Test
+    void getPropertyPage_WhenMoreRowsThanPageSize_ShouldTrimAndReturnNextCursor() {
+        // Given
+        Property property2 = new Property();
+        property2.setId(2L);
+        property2.setName("テスト物件2");
+        when(propertyMapper.findPage(null, null, 2)).thenReturn(Arrays.asList(testProperty, property2));
+
+        // When
+        KeysetPage<Property> page = propertyService.getPropertyPage(null, 1);
+
+        // Then
+        assertEquals(Arrays.asList(testProperty), page.getItems());
+        assertTrue(page.isFirst());
+        assertTrue(page.hasNext());
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals("テスト物件", next.getKey());
+        assertEquals(1L, next.getId());
+    }
+
+    @Test
+    void getPropertyPage_WithCursor_ShouldSeekAfterCursorPosition() {
+        // Given
+        String cursor = PageCursor.encode("テスト物件", 1L);
+        when(propertyMapper.findPage("テスト物件", 1L, 21)).thenReturn(Arrays.asList(testProperty));
+
+        // When
+        KeysetPage<Property> page = propertyService.getPropertyPage(cursor, 20);
+
+        // Then
+        assertFalse(page.isFirst());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+        verify(propertyMapper, times(1)).findPage("テスト物件", 1L, 21);
+    }
+
+    @Test
+    void getPropertyPage_WithMalformedCursor_ShouldReturnFirstPage() {
+        // Given
+        when(propertyMapper.findPage(null, null, 21)).thenReturn(Arrays.asList(testProperty));
+
+        // When
+        KeysetPage<Property> page = propertyService.getPropertyPage("%%%not-a-cursor", 20);
+
+        // Then
+        assertTrue(page.isFirst());
+        verify(propertyMapper, times(1)).findPage(null, null, 21);
+    }
+
     @Test
     void getAllProperties_ShouldReturnAllProperties() {
         // Given
@@ -103,32 +165,57 @@ class PropertyServiceImplTest {
 
         // Then
         verify(propertyMapper, times(1)).insert(newProperty);
+        verify(portfolioCounters, times(1)).propertiesChanged(1);
+        verify(eventPublisher, times(1)).publishEvent(new PropertyChangedEvent(null, newProperty));
     }
 
     @Test
     void updateProperty_ShouldCallMapperUpdate() {
         // Given
         testProperty.setName("更新された物件名");
-        doNothing().when(propertyMapper).update(any(Property.class));
+        when(propertyMapper.update(testProperty)).thenReturn(1);
 
         // When
         propertyService.updateProperty(testProperty);
 
         // Then
         verify(propertyMapper, times(1)).update(testProperty);
+        verify(eventPublisher, times(1)).publishEvent(new PropertyChangedEvent(1L, testProperty));
+        assertEquals(1, testProperty.getVersion());
+    }
+
+    @Test
+    void updateProperty_WhenVersionIsStale_ShouldThrowAndCountConflict() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        propertyService.bindTo(registry);
+        when(propertyMapper.update(testProperty)).thenReturn(1, 0);
+
+        // When
+        propertyService.updateProperty(testProperty);
+        assertThrows(OptimisticLockingFailureException.class, () -> propertyService.updateProperty(testProperty));
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(any(PropertyChangedEvent.class));
+        assertEquals(1.0, registry.get("entity.updates").tags("entity", "property", "outcome", "success")
+            .functionCounter().count());
+        assertEquals(1.0, registry.get("entity.updates").tags("entity", "property", "outcome", "conflict")
+            .functionCounter().count());
     }
 
     @Test
     void deleteProperty_ShouldCallMapperDelete() {
         // Given
         Long propertyId = 1L;
-        doNothing().when(propertyMapper).delete(anyLong());
+        when(propertyMapper.delete(propertyId)).thenReturn(1);
 
         // When
         propertyService.deleteProperty(propertyId);
 
         // Then
         verify(propertyMapper, times(1)).delete(propertyId);
+        verify(portfolioCounters, times(1)).propertiesChanged(-1);
+        verify(eventPublisher, times(1)).publishEvent(new PropertyChangedEvent(propertyId, null));
     }
 }
 
@@ -0,0 +1,127 @@
+package com.example.app.service.impl;
+
+import com.example.app.model.Lease;
+import com.example.app.model.Property;
+import com.example.app.model.RentRollReport;
+import com.example.app.model.RentRollRow;
+import com.example.app.service.LeaseService;
+import com.example.app.service.PropertyService;
+import com.example.app.service.RentRollDimension;
+import com.example.app.service.RentRollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 起動時に読み込んだ賃料集計用の表が、契約・物件の書き込みのコミット後に反映されることを検証します。
+ * 書き込みをコミットする必要があるため、各テストは変更を元に戻して終了します。
+ * 読み直しが書き込みと同時に2つ目の接続を使わないことを確かめるため、接続プールの接続数を1にしています。
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rentrolltest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.datasource.hikari.maximum-pool-size=1"
+})
+class RentRollServiceImplTest {
+
+    private static final YearMonth APRIL_2024 = YearMonth.of(2024, 4);
+
+    @Autowired
+    private RentRollServiceImpl rentRollService;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Test
+    void getReport_AfterStartup_ShouldReflectSeedData() {
+        // When
+        RentRollReport report = rentRollService.getReport(YearMonth.of(2023, 4), APRIL_2024,
+            EnumSet.of(RentRollDimension.MONTH));
+
+        // Then
+        assertEquals(13, report.getScannedLeases());
+        RentRollRow april2023 = report.getRows().get(0);
+        assertEquals(YearMonth.of(2023, 4), april2023.getMonth());
+        assertEquals(7, april2023.getLeaseMonths());
+        assertEquals(1_215_000, april2023.getRentRoll());
+        assertEquals(1, april2023.getNewLeases());
+        assertEquals(170_000, april2023.getDepositTotal());
+        RentRollRow april2024 = report.getRows().get(report.getRows().size() - 1);
+        assertEquals(APRIL_2024, april2024.getMonth());
+        assertEquals(9, april2024.getLeaseMonths());
+        assertEquals(1_150_000, april2024.getRentRoll());
+    }
+
+    @Test
+    void leaseWrites_ShouldBeReflectedAfterCommit() {
+        // Given
+        Lease lease = new Lease();
+        lease.setPropertyId(10L);
+        lease.setTenantId(4L);
+        lease.setRent(100000);
+        lease.setStartDate(LocalDate.of(2024, 4, 1));
+        lease.setStatus("ACTIVE");
+        lease.setVersion(0);
+
+        // When & Then
+        leaseService.createLease(lease);
+        rentRollService.awaitRefresh();
+        try {
+            RentRollRow total = rentRollService.getReport(APRIL_2024, APRIL_2024, EnumSet.noneOf(RentRollDimension.class))
+                .getTotal();
+            assertEquals(10, total.getLeaseMonths());
+            assertEquals(1_250_000, total.getRentRoll());
+        } finally {
+            leaseService.deleteLease(lease.getId());
+            rentRollService.awaitRefresh();
+        }
+        RentRollRow total = rentRollService.getReport(APRIL_2024, APRIL_2024, EnumSet.noneOf(RentRollDimension.class))
+            .getTotal();
+        assertEquals(9, total.getLeaseMonths());
+        assertEquals(1_150_000, total.getRentRoll());
+    }
+
+    @Test
+    void propertyUpdate_ShouldRegroupItsLeases() {
+        // Given
+        // 物件10（中央区、4LDK）には2022年3月〜2023年8月の終了済みの契約があります
+        YearMonth august2023 = YearMonth.of(2023, 8);
+        Property property = propertyService.getPropertyById(10L);
+        String rooms = property.getRooms();
+        property.setRooms("5LDK");
+
+        // When & Then
+        propertyService.updateProperty(property);
+        rentRollService.awaitRefresh();
+        try {
+            List<RentRollRow> rows = rentRollService.getReport(august2023, august2023,
+                EnumSet.of(RentRollDimension.AREA, RentRollDimension.ROOMS)).getRows();
+            assertTrue(rows.stream().anyMatch(row -> "中央区".equals(row.getArea()) && "5LDK".equals(row.getRooms())));
+            assertTrue(rows.stream().noneMatch(row -> "4LDK".equals(row.getRooms())));
+        } finally {
+            Property restored = propertyService.getPropertyById(10L);
+            restored.setRooms(rooms);
+            propertyService.updateProperty(restored);
+            rentRollService.awaitRefresh();
+        }
+    }
+
+    @Test
+    void getReport_WhenPeriodIsInvalid_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> rentRollService.getReport(APRIL_2024, APRIL_2024.minusMonths(1), EnumSet.noneOf(RentRollDimension.class)));
+        assertThrows(IllegalArgumentException.class,
+            () -> rentRollService.getReport(APRIL_2024, APRIL_2024.plusMonths(RentRollService.MAX_MONTHS),
+                EnumSet.noneOf(RentRollDimension.class)));
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.app.service.impl;
 
+import com.example.app.event.TenantChangedEvent;
 import com.example.app.mapper.TenantMapper;
+import com.example.app.model.KeysetPage;
+import com.example.app.model.PageCursor;
 import com.example.app.model.Tenant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -23,6 +28,9 @@ class TenantServiceImplTest {
     @Mock
     private TenantMapper tenantMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TenantServiceImpl tenantService;
 
@@ -35,10 +43,44 @@ class TenantServiceImplTest {
         testTenant.setFullName("山田 太郎");
         testTenant.setPhone("090-1234-5678");
         testTenant.setEmail("yamada@example.com");
+        testTenant.setVersion(0);
         testTenant.setCreatedAt(LocalDateTime.now());
         testTenant.setUpdatedAt(LocalDateTime.now());
     }
 
+    @Test
+    void getTenantPage_WhenMoreRowsThanPageSize_ShouldTrimAndReturnNextCursor() {
+        // Given
+        Tenant tenant2 = new Tenant();
+        tenant2.setId(2L);
+        tenant2.setFullName("佐藤 花子");
+        when(tenantMapper.findPage(null, null, 2)).thenReturn(Arrays.asList(testTenant, tenant2));
+
+        // When
+        KeysetPage<Tenant> page = tenantService.getTenantPage(null, 1);
+
+        // Then
+        assertEquals(Arrays.asList(testTenant), page.getItems());
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals("山田 太郎", next.getKey());
+        assertEquals(1L, next.getId());
+    }
+
+    @Test
+    void getTenantPage_WithCursor_ShouldSeekAfterCursorPosition() {
+        // Given
+        String cursor = PageCursor.encode("山田 太郎", 1L);
+        when(tenantMapper.findPage("山田 太郎", 1L, 21)).thenReturn(Arrays.asList());
+
+        // When
+        KeysetPage<Tenant> page = tenantService.getTenantPage(cursor, 20);
+
+        // Then
+        assertFalse(page.isFirst());
+        assertFalse(page.hasNext());
+        assertTrue(page.getItems().isEmpty());
+    }
+
     @Test
     void getAllTenants_ShouldReturnAllTenants() {
         // Given
@@ -100,19 +142,33 @@ class TenantServiceImplTest {
 
         // Then
         verify(tenantMapper, times(1)).insert(newTenant);
+        verify(eventPublisher, times(1)).publishEvent(new TenantChangedEvent(null, newTenant));
     }
 
     @Test
     void updateTenant_ShouldCallMapperUpdate() {
         // Given
         testTenant.setFullName("更新された名前");
-        doNothing().when(tenantMapper).update(any(Tenant.class));
+        when(tenantMapper.update(testTenant)).thenReturn(1);
 
         // When
         tenantService.updateTenant(testTenant);
 
         // Then
         verify(tenantMapper, times(1)).update(testTenant);
+        verify(eventPublisher, times(1)).publishEvent(new TenantChangedEvent(1L, testTenant));
+        assertEquals(1, testTenant.getVersion());
+    }
+
+    @Test
+    void updateTenant_WhenVersionIsStale_ShouldThrowWithoutPublishingEvent() {
+        // Given
+        when(tenantMapper.update(testTenant)).thenReturn(0);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> tenantService.updateTenant(testTenant));
+        assertEquals(0, testTenant.getVersion());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -126,6 +182,7 @@ class TenantServiceImplTest {
 
         // Then
         verify(tenantMapper, times(1)).delete(tenantId);
+        verify(eventPublisher, times(1)).publishEvent(new TenantChangedEvent(tenantId, null));
     }
 }
 
@@ -0,0 +1,159 @@
+package com.example.app.service.impl;
+
+import com.example.app.event.PropertyChangedEvent;
+import com.example.app.event.TenantChangedEvent;
+import com.example.app.mapper.PropertyMapper;
+import com.example.app.mapper.TenantMapper;
+import com.example.app.model.Property;
+import com.example.app.model.Suggestion;
+import com.example.app.model.Tenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TypeaheadServiceImplTest {
+
+    @Mock
+    private PropertyMapper propertyMapper;
+
+    @Mock
+    private TenantMapper tenantMapper;
+
+    @InjectMocks
+    private TypeaheadServiceImpl typeaheadService;
+
+    @BeforeEach
+    void setUp() {
+        when(propertyMapper.findAll()).thenReturn(Arrays.asList(
+            property(1L, "グランメゾン渋谷"),
+            property(2L, "ＡＢＣハイツ 101"),
+            property(3L, "グランメゾン新宿")));
+        when(tenantMapper.findAll()).thenReturn(Arrays.asList(
+            tenant(1L, "山田 太郎"),
+            tenant(2L, "佐藤 花子")));
+        typeaheadService.rebuild();
+    }
+
+    @Test
+    void searchProperties_ShouldMatchPrefixInOrder() {
+        // When
+        List<Suggestion> suggestions = typeaheadService.searchProperties("グランメゾン", 10);
+
+        // Then
+        assertEquals(List.of(new Suggestion(3L, "グランメゾン新宿"), new Suggestion(1L, "グランメゾン渋谷")),
+            suggestions);
+    }
+
+    @Test
+    void searchProperties_ShouldIgnoreWidthAndCase() {
+        // When
+        List<Suggestion> suggestions = typeaheadService.searchProperties("abc", 10);
+
+        // Then
+        assertEquals(List.of(new Suggestion(2L, "ＡＢＣハイツ 101")), suggestions);
+    }
+
+    @Test
+    void searchProperties_ShouldRespectLimitAndIgnoreBlankQuery() {
+        // When & Then
+        assertEquals(1, typeaheadService.searchProperties("グラン", 1).size());
+        assertTrue(typeaheadService.searchProperties("  ", 10).isEmpty());
+        assertTrue(typeaheadService.searchProperties(null, 10).isEmpty());
+    }
+
+    @Test
+    void searchTenants_ShouldMatchGivenName() {
+        // When
+        List<Suggestion> suggestions = typeaheadService.searchTenants("花", 10);
+
+        // Then
+        assertEquals(List.of(new Suggestion(2L, "佐藤 花子")), suggestions);
+        verify(tenantMapper, times(1)).findAll();
+    }
+
+    @Test
+    void onPropertyChanged_ShouldReplaceAndRemoveEntries() {
+        // When
+        typeaheadService.onPropertyChanged(new PropertyChangedEvent(1L, property(1L, "パークサイド渋谷")));
+        typeaheadService.onPropertyChanged(new PropertyChangedEvent(4L, property(4L, "グランメゾン池袋")));
+        typeaheadService.onPropertyChanged(new PropertyChangedEvent(3L, null));
+
+        // Then
+        assertEquals(List.of(new Suggestion(4L, "グランメゾン池袋")),
+            typeaheadService.searchProperties("グランメゾン", 10));
+        assertEquals(List.of(new Suggestion(1L, "パークサイド渋谷")),
+            typeaheadService.searchProperties("パーク", 10));
+    }
+
+    @Test
+    void onTenantChanged_ShouldReplaceAndRemoveEntries() {
+        // When
+        typeaheadService.onTenantChanged(new TenantChangedEvent(1L, tenant(1L, "山田 次郎")));
+        typeaheadService.onTenantChanged(new TenantChangedEvent(2L, null));
+
+        // Then
+        assertEquals(List.of(new Suggestion(1L, "山田 次郎")), typeaheadService.searchTenants("次郎", 10));
+        assertTrue(typeaheadService.searchTenants("太郎", 10).isEmpty());
+        assertTrue(typeaheadService.searchTenants("佐藤", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesReceivedDuringRebuild() {
+        // Given
+        when(tenantMapper.findAll()).thenAnswer(invocation -> {
+            typeaheadService.onPropertyChanged(new PropertyChangedEvent(1L, property(1L, "パークサイド渋谷")));
+            typeaheadService.onTenantChanged(new TenantChangedEvent(2L, null));
+            assertEquals(List.of(new Suggestion(1L, "パークサイド渋谷")),
+                typeaheadService.searchProperties("パーク", 10));
+            return Arrays.asList(tenant(1L, "山田 太郎"), tenant(2L, "佐藤 花子"));
+        });
+
+        // When
+        typeaheadService.rebuild();
+
+        // Then
+        assertEquals(List.of(new Suggestion(1L, "パークサイド渋谷")),
+            typeaheadService.searchProperties("パーク", 10));
+        assertEquals(List.of(new Suggestion(3L, "グランメゾン新宿")),
+            typeaheadService.searchProperties("グランメゾン", 10));
+        assertTrue(typeaheadService.searchTenants("佐藤", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_WhenLoadFails_ShouldKeepCurrentIndex() {
+        // Given
+        when(tenantMapper.findAll()).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> typeaheadService.rebuild());
+        typeaheadService.onPropertyChanged(new PropertyChangedEvent(4L, property(4L, "グランメゾン池袋")));
+
+        // Then
+        assertEquals(3, typeaheadService.searchProperties("グランメゾン", 10).size());
+        assertEquals(List.of(new Suggestion(2L, "佐藤 花子")), typeaheadService.searchTenants("花", 10));
+    }
+
+    private static Property property(Long id, String name) {
+        Property property = new Property();
+        property.setId(id);
+        property.setName(name);
+        return property;
+    }
+
+    private static Tenant tenant(Long id, String fullName) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setFullName(fullName);
+        return tenant;
+    }
+}
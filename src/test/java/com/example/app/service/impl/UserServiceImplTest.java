@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,15 +42,13 @@ class UserServiceImplTest {
     @Test
     void register_WhenUsernameDoesNotExist_ShouldHashPasswordAndInsert() {
         // Given
-        when(userMapper.existsByUsername("testuser")).thenReturn(false);
         when(passwordEncoder.encode("plainpassword")).thenReturn("hashedpassword");
-        doNothing().when(userMapper).insert(any(User.class));
+        when(userMapper.insert(testUser)).thenReturn(1);
 
         // When
         userService.register(testUser);
 
         // Then
-        verify(userMapper, times(1)).existsByUsername("testuser");
         verify(passwordEncoder, times(1)).encode("plainpassword");
         verify(userMapper, times(1)).insert(testUser);
         assertEquals("hashedpassword", testUser.getPassword());
@@ -58,7 +57,22 @@ class UserServiceImplTest {
     @Test
     void register_WhenUsernameAlreadyExists_ShouldThrowException() {
         // Given
-        when(userMapper.existsByUsername("testuser")).thenReturn(true);
+        when(passwordEncoder.encode("plainpassword")).thenReturn("hashedpassword");
+        when(userMapper.insert(testUser)).thenReturn(0);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            userService.register(testUser);
+        });
+
+        assertEquals("ユーザー名は既に使用されています", exception.getMessage());
+    }
+
+    @Test
+    void register_WhenUsernameIsRegisteredConcurrently_ShouldThrowException() {
+        // Given
+        when(passwordEncoder.encode("plainpassword")).thenReturn("hashedpassword");
+        when(userMapper.insert(testUser)).thenThrow(new DuplicateKeyException("users.username"));
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
@@ -66,9 +80,6 @@ class UserServiceImplTest {
         });
 
         assertEquals("ユーザー名は既に使用されています", exception.getMessage());
-        verify(userMapper, times(1)).existsByUsername("testuser");
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userMapper, never()).insert(any(User.class));
     }
 
     @Test